@@ -98,6 +98,10 @@ public class DbSchedulerAutoConfiguration {
         // Polling
         builder.pollingInterval(config.getPollingInterval());
         config.getPollingLimit().ifPresent(builder::pollingLimit);
+        builder.pollingStrategy(config.getPollingStrategy());
+        if (config.isAdaptivePollingEnabled()) {
+            builder.enableAdaptivePolling();
+        }
 
         builder.heartbeatInterval(config.getHeartbeatInterval());
 
@@ -118,6 +122,18 @@ public class DbSchedulerAutoConfiguration {
             builder.enableImmediateExecution();
         }
 
+        if (config.isLookAheadEnabled()) {
+            builder.enableLookAhead();
+        }
+
+        if (config.isPriorityEnabled()) {
+            if (config.getPriorityAgingAfter() != null) {
+                builder.enablePriority(config.getPriorityAgingAfter());
+            } else {
+                builder.enablePriority();
+            }
+        }
+
         // Use custom executor service if provided
         customizer.executorService().ifPresent(builder::executorService);
 
@@ -16,6 +16,7 @@
 package com.github.kagkarlsson.scheduler.boot.config;
 
 import com.github.kagkarlsson.scheduler.JdbcTaskRepository;
+import com.github.kagkarlsson.scheduler.PollingStrategy;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -72,6 +73,26 @@ public class DbSchedulerProperties {
      */
     private boolean immediateExecutionEnabled = false;
 
+    /**
+     * <p>If this is enabled, the scheduler will also fetch executions due within the next polling
+     * interval, and execute them at their execution-time instead of at the next poll. Requires the
+     * polling-strategy {@code FETCH_AND_LOCK_ON_EXECUTE}.
+     */
+    private boolean lookAheadEnabled = false;
+
+    /**
+     * <p>If this is enabled, due executions are ordered by priority, highest first. Requires the
+     * column {@code priority} in the executions-table.
+     */
+    private boolean priorityEnabled = false;
+
+    /**
+     * <p>Executions due for longer than this are ordered before all others regardless of priority,
+     * so low-priority executions are not starved. Only used when priority is enabled.
+     */
+    @DurationUnit(SECONDS)
+    private Duration priorityAgingAfter;
+
     /**
      * <p>How often the scheduler checks the database for due executions.
      */
@@ -84,6 +105,19 @@ public class DbSchedulerProperties {
      */
     private Optional<Integer> pollingLimit = Optional.empty();
 
+    /**
+     * <p>How due executions are fetched and picked. {@code LOCK_AND_FETCH} requires a database supporting
+     * {@code SELECT ... FOR UPDATE SKIP LOCKED} (or equivalent).
+     */
+    @NotNull
+    private PollingStrategy pollingStrategy = PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE;
+
+    /**
+     * <p>If this is enabled, the polling interval and limit are adapted to the observed load. The
+     * interval varies between 1/10 and 10 times the configured polling interval.
+     */
+    private boolean adaptivePollingEnabled = false;
+
     /**
      * <p>Whether to start the scheduler when the application context has been loaded or as soon as
      * possible.
@@ -145,6 +179,30 @@ public class DbSchedulerProperties {
         this.immediateExecutionEnabled = immediateExecutionEnabled;
     }
 
+    public boolean isLookAheadEnabled() {
+        return lookAheadEnabled;
+    }
+
+    public void setLookAheadEnabled(boolean lookAheadEnabled) {
+        this.lookAheadEnabled = lookAheadEnabled;
+    }
+
+    public boolean isPriorityEnabled() {
+        return priorityEnabled;
+    }
+
+    public void setPriorityEnabled(boolean priorityEnabled) {
+        this.priorityEnabled = priorityEnabled;
+    }
+
+    public Duration getPriorityAgingAfter() {
+        return priorityAgingAfter;
+    }
+
+    public void setPriorityAgingAfter(Duration priorityAgingAfter) {
+        this.priorityAgingAfter = priorityAgingAfter;
+    }
+
     public Duration getPollingInterval() {
         return pollingInterval;
     }
@@ -161,6 +219,22 @@ public class DbSchedulerProperties {
         this.pollingLimit = pollingLimit;
     }
 
+    public PollingStrategy getPollingStrategy() {
+        return pollingStrategy;
+    }
+
+    public void setPollingStrategy(final PollingStrategy pollingStrategy) {
+        this.pollingStrategy = pollingStrategy;
+    }
+
+    public boolean isAdaptivePollingEnabled() {
+        return adaptivePollingEnabled;
+    }
+
+    public void setAdaptivePollingEnabled(boolean adaptivePollingEnabled) {
+        this.adaptivePollingEnabled = adaptivePollingEnabled;
+    }
+
     public boolean isDelayStartupUntilContextReady() {
         return delayStartupUntilContextReady;
     }
@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Tunes polling-interval and polling-limit based on the outcome of recent polls:
+ * <ul>
+ *     <li>a full batch halves the interval, down to {@code minPollingInterval}, since there probably is a backlog</li>
+ *     <li>an empty batch doubles the interval, up to {@code maxPollingInterval}</li>
+ *     <li>a partial batch resets the interval to the configured polling-interval</li>
+ *     <li>a high ratio of candidates already picked by other schedulers lowers the polling-limit, a low ratio
+ *     raises it again up to the configured polling-limit</li>
+ * </ul>
+ * The polling-limit is lowered as a fraction of the limit passed to {@link #pollingLimit(int)}, so the same
+ * adjustment applies to the default thread pool and to each executor-group.
+ * Each wait is randomized by {@link #JITTER}, see {@link #withJitter(Duration)}, to keep the schedulers of a cluster
+ * from polling in lockstep.
+ */
+public class AdaptivePollingController implements PollingController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptivePollingController.class);
+    static final double JITTER = 0.1;
+    static final double HIGH_ALREADY_PICKED_RATIO = 0.5;
+    static final double LOW_ALREADY_PICKED_RATIO = 0.1;
+    static final int MIN_CANDIDATES_FOR_RATIO = 10;
+    static final double MIN_POLLING_LIMIT_FRACTION = 1.0 / 128;
+
+    private final Duration pollingInterval;
+    private final Duration minPollingInterval;
+    private final Duration maxPollingInterval;
+    private final Random random;
+    private Duration currentPollingInterval;
+    private double pollingLimitFraction = 1.0;
+    private int candidatesPicked = 0;
+    private int candidatesAlreadyPicked = 0;
+
+    public AdaptivePollingController(Duration pollingInterval, Duration minPollingInterval, Duration maxPollingInterval) {
+        this(pollingInterval, minPollingInterval, maxPollingInterval, new Random());
+    }
+
+    AdaptivePollingController(Duration pollingInterval, Duration minPollingInterval, Duration maxPollingInterval, Random random) {
+        if (minPollingInterval.compareTo(maxPollingInterval) > 0) {
+            throw new IllegalArgumentException("minPollingInterval must not be greater than maxPollingInterval");
+        }
+        this.pollingInterval = clamp(pollingInterval, minPollingInterval, maxPollingInterval);
+        this.minPollingInterval = minPollingInterval;
+        this.maxPollingInterval = maxPollingInterval;
+        this.random = random;
+        this.currentPollingInterval = this.pollingInterval;
+    }
+
+    /**
+     * @return the time to wait until the next check for due executions, including jitter
+     */
+    public Duration nextPollingInterval() {
+        return withJitter(getCurrentPollingInterval());
+    }
+
+    /**
+     * @return the polling-interval as adapted by the last completed poll, without jitter
+     */
+    public synchronized Duration getCurrentPollingInterval() {
+        return currentPollingInterval;
+    }
+
+    public synchronized Duration withJitter(Duration interval) {
+        final double jitterFactor = 1 + (random.nextDouble() * 2 - 1) * JITTER;
+        return Duration.ofMillis((long) (interval.toMillis() * jitterFactor));
+    }
+
+    @Override
+    public synchronized int pollingLimit(int configuredPollingLimit) {
+        if (configuredPollingLimit <= 0) {
+            return configuredPollingLimit;
+        }
+        return Math.max(1, (int) Math.round(configuredPollingLimit * pollingLimitFraction));
+    }
+
+    @Override
+    public synchronized void pollCompleted(int fetched, int pollingLimit) {
+        if (fetched == 0) {
+            currentPollingInterval = clamp(currentPollingInterval.multipliedBy(2), minPollingInterval, maxPollingInterval);
+        } else if (fetched >= pollingLimit) {
+            currentPollingInterval = clamp(currentPollingInterval.dividedBy(2), minPollingInterval, maxPollingInterval);
+        } else {
+            currentPollingInterval = pollingInterval;
+        }
+
+        final int candidates = candidatesPicked + candidatesAlreadyPicked;
+        if (candidates >= MIN_CANDIDATES_FOR_RATIO) {
+            final double alreadyPickedRatio = (double) candidatesAlreadyPicked / candidates;
+            if (alreadyPickedRatio >= HIGH_ALREADY_PICKED_RATIO) {
+                pollingLimitFraction = Math.max(MIN_POLLING_LIMIT_FRACTION, pollingLimitFraction / 2);
+            } else if (alreadyPickedRatio <= LOW_ALREADY_PICKED_RATIO) {
+                pollingLimitFraction = Math.min(1.0, pollingLimitFraction * 2);
+            }
+            candidatesPicked = 0;
+            candidatesAlreadyPicked = 0;
+        }
+
+        LOG.trace("Adapted polling: fetched={}, limit={}, next-interval={}, next-limit-fraction={}", fetched, pollingLimit, currentPollingInterval, pollingLimitFraction);
+    }
+
+    @Override
+    public synchronized void candidatePicked() {
+        candidatesPicked++;
+    }
+
+    @Override
+    public synchronized void candidateAlreadyPicked() {
+        candidatesAlreadyPicked++;
+    }
+
+    private static Duration clamp(Duration duration, Duration min, Duration max) {
+        if (duration.compareTo(min) < 0) {
+            return min;
+        }
+        return duration.compareTo(max) > 0 ? max : duration;
+    }
+}
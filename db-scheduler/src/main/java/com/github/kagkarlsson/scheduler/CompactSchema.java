@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+/**
+ * A narrower layout of the executions-table. The column {@code task_name} holds an integer id, interned in a
+ * separate table of task-names, and the columns {@code execution_time}, {@code last_heartbeat}, {@code last_success}
+ * and {@code last_failure} hold epoch-milliseconds as {@code BIGINT}. This shrinks the primary key and every index
+ * repeating the task-name, and avoids timestamp conversions when reading and writing executions.
+ *
+ * <p>The tables can be created using {@link com.github.kagkarlsson.scheduler.jdbc.SchemaManager}, and existing
+ * executions copied using {@link com.github.kagkarlsson.scheduler.jdbc.CompactSchemaMigration}. A future-table or
+ * task-data-table used with the compact schema must also store task-names as ids.
+ */
+public class CompactSchema {
+
+    public static final String DEFAULT_TASK_NAMES_TABLE_NAME = "scheduled_task_names";
+    public static final CompactSchema DISABLED = new CompactSchema(null);
+
+    private final String taskNamesTableName;
+
+    private CompactSchema(String taskNamesTableName) {
+        this.taskNamesTableName = taskNamesTableName;
+    }
+
+    public static CompactSchema enabled() {
+        return of(DEFAULT_TASK_NAMES_TABLE_NAME);
+    }
+
+    public static CompactSchema of(String taskNamesTableName) {
+        if (taskNamesTableName == null || taskNamesTableName.isEmpty()) {
+            throw new IllegalArgumentException("taskNamesTableName must be set");
+        }
+        return new CompactSchema(taskNamesTableName);
+    }
+
+    public boolean isEnabled() {
+        return taskNamesTableName != null;
+    }
+
+    public String getTaskNamesTableName() {
+        return taskNamesTableName;
+    }
+
+    @Override
+    public String toString() {
+        return isEnabled() ? "CompactSchema{task-names=" + taskNamesTableName + "}" : "CompactSchema{disabled}";
+    }
+}
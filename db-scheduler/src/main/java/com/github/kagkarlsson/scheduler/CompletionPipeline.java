@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.scheduler.stats.StatsRegistry;
+import com.github.kagkarlsson.scheduler.stats.StatsRegistry.SchedulerStatsEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.kagkarlsson.scheduler.ExecutorUtils.defaultThreadFactoryWithPrefix;
+
+/**
+ * Hands the writes completing executions (remove or reschedule) to a dedicated writer-thread, which applies them in
+ * JDBC batches. A batch is written when it reaches {@code maxBatchSize}, or {@code flushInterval} after its first
+ * write was submitted. Writes are applied in the order submitted, and a batch never contains more than one write for
+ * the same execution.
+ *
+ * <p>Failed writes are logged and registered as {@link SchedulerStatsEvent#COMPLETIONHANDLER_ERROR}. As with
+ * completion-handlers failing, the execution then remains picked and is eventually detected as dead.
+ *
+ * <p>An execution is released by the scheduler, freeing its thread and no longer having its heartbeat updated, when
+ * its completion-handler returns, before the queued write is committed. Until then, the execution remains picked in
+ * the database. If the scheduler dies in that window, or the write is delayed beyond the dead-execution threshold,
+ * the execution is detected as dead and the dead-execution handler may run it again, so completion is at-least-once.
+ * Stopping the scheduler waits for queued writes.
+ */
+public class CompletionPipeline {
+    private static final Logger LOG = LoggerFactory.getLogger(CompletionPipeline.class);
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(10);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final TaskRepository taskRepository;
+    private final StatsRegistry statsRegistry;
+    private final Duration flushInterval;
+    private final int maxBatchSize;
+    private final BlockingQueue<CompletionWrite> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService writer;
+    private volatile boolean stopping = false;
+
+    public CompletionPipeline(TaskRepository taskRepository, StatsRegistry statsRegistry, Duration flushInterval, int maxBatchSize) {
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be a positive integer");
+        }
+        this.taskRepository = taskRepository;
+        this.statsRegistry = statsRegistry;
+        this.flushInterval = flushInterval;
+        this.maxBatchSize = maxBatchSize;
+        this.writer = Executors.newSingleThreadExecutor(defaultThreadFactoryWithPrefix(Scheduler.THREAD_PREFIX + "-completion-writer-"));
+    }
+
+    void start() {
+        writer.submit(this::writeUntilStopped);
+    }
+
+    /**
+     * Writes submitted when the pipeline is stopping are applied directly on the calling thread.
+     */
+    public void submit(CompletionWrite write) {
+        if (stopping) {
+            writeIndividually(write);
+            return;
+        }
+        queue.add(write);
+    }
+
+    /**
+     * Stops accepting writes to the queue, and waits for queued writes to be applied.
+     */
+    boolean stop(Duration timeout) {
+        stopping = true;
+        final boolean terminated = ExecutorUtils.shutdownAndAwaitTermination(writer, timeout);
+        // writes queued while the writer was finishing
+        final List<CompletionWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+        return terminated;
+    }
+
+    private void writeUntilStopped() {
+        while (!stopping || !queue.isEmpty()) {
+            final List<CompletionWrite> batch = new ArrayList<>();
+            try {
+                final CompletionWrite first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                final long flushAt = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    final long remainingNanos = flushAt - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+                        break;
+                    }
+                    final CompletionWrite next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                LOG.info("Completion-writer interrupted. Writing {} collected completions before exiting.", batch.size());
+                flush(batch);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(List<CompletionWrite> writes) {
+        List<CompletionWrite> round = new ArrayList<>();
+        final Set<String> executionsInRound = new HashSet<>();
+        for (CompletionWrite write : writes) {
+            if (!executionsInRound.add(write.getExecution().taskInstance.getTaskAndInstance())) {
+                // a later write for the same execution goes in the next batch to keep the order
+                writeBatch(round);
+                round = new ArrayList<>();
+                executionsInRound.clear();
+                executionsInRound.add(write.getExecution().taskInstance.getTaskAndInstance());
+            }
+            round.add(write);
+        }
+        writeBatch(round);
+    }
+
+    private void writeBatch(List<CompletionWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        try {
+            LOG.trace("Writing {} completions.", writes.size());
+            taskRepository.writeCompletions(writes).forEach(write -> failed(write, null));
+        } catch (Throwable e) {
+            LOG.warn("Failed while writing {} completions in batch. Writing them one by one.", writes.size(), e);
+            writes.forEach(this::writeIndividually);
+        }
+    }
+
+    private void writeIndividually(CompletionWrite write) {
+        try {
+            write.applyTo(taskRepository);
+        } catch (Throwable e) {
+            failed(write, e);
+        }
+    }
+
+    private void failed(CompletionWrite write, Throwable cause) {
+        statsRegistry.register(SchedulerStatsEvent.COMPLETIONHANDLER_ERROR);
+        statsRegistry.register(SchedulerStatsEvent.UNEXPECTED_ERROR);
+        LOG.error("Failed to write completion {}. Execution will likely remain scheduled and locked/picked, and be detected as dead.", write, cause);
+    }
+}
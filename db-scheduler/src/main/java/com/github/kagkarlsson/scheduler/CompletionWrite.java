@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.scheduler.task.Execution;
+
+import java.time.Instant;
+
+/**
+ * A pending write completing an execution, either removing or rescheduling it.
+ */
+public final class CompletionWrite {
+
+    public enum Type {
+        REMOVE,
+        RESCHEDULE
+    }
+
+    private final Type type;
+    private final Execution execution;
+    private final Instant nextExecutionTime;
+    private final boolean hasNewData;
+    private final Object newData;
+    private final Instant lastSuccess;
+    private final Instant lastFailure;
+    private final int consecutiveFailures;
+
+    private CompletionWrite(Type type, Execution execution, Instant nextExecutionTime, boolean hasNewData, Object newData, Instant lastSuccess, Instant lastFailure, int consecutiveFailures) {
+        this.type = type;
+        this.execution = execution;
+        this.nextExecutionTime = nextExecutionTime;
+        this.hasNewData = hasNewData;
+        this.newData = newData;
+        this.lastSuccess = lastSuccess;
+        this.lastFailure = lastFailure;
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    public static CompletionWrite remove(Execution execution) {
+        return new CompletionWrite(Type.REMOVE, execution, null, false, null, null, null, 0);
+    }
+
+    public static CompletionWrite reschedule(Execution execution, Instant nextExecutionTime, Instant lastSuccess, Instant lastFailure, int consecutiveFailures) {
+        return new CompletionWrite(Type.RESCHEDULE, execution, nextExecutionTime, false, null, lastSuccess, lastFailure, consecutiveFailures);
+    }
+
+    public static CompletionWrite reschedule(Execution execution, Instant nextExecutionTime, Object newData, Instant lastSuccess, Instant lastFailure, int consecutiveFailures) {
+        return new CompletionWrite(Type.RESCHEDULE, execution, nextExecutionTime, true, newData, lastSuccess, lastFailure, consecutiveFailures);
+    }
+
+    /**
+     * Applies the write using a single statement, throwing if it did not complete the execution.
+     */
+    void applyTo(TaskRepository taskRepository) {
+        if (type == Type.REMOVE) {
+            taskRepository.remove(execution);
+        } else if (hasNewData) {
+            taskRepository.reschedule(execution, nextExecutionTime, newData, lastSuccess, lastFailure, consecutiveFailures);
+        } else {
+            taskRepository.reschedule(execution, nextExecutionTime, lastSuccess, lastFailure, consecutiveFailures);
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Execution getExecution() {
+        return execution;
+    }
+
+    public Instant getNextExecutionTime() {
+        return nextExecutionTime;
+    }
+
+    public boolean hasNewData() {
+        return hasNewData;
+    }
+
+    public Object getNewData() {
+        return newData;
+    }
+
+    public Instant getLastSuccess() {
+        return lastSuccess;
+    }
+
+    public Instant getLastFailure() {
+        return lastFailure;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + execution;
+    }
+}
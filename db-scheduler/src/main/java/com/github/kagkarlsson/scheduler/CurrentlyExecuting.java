@@ -27,11 +27,14 @@ public class CurrentlyExecuting {
     private final Execution execution;
     private final Clock clock;
     private final Instant startTime;
+    private volatile Instant lastHeartbeat;
 
     public CurrentlyExecuting(Execution execution, Clock clock) {
         this.execution = execution;
         this.clock = clock;
         this.startTime = clock.now();
+        // picking sets the heartbeat, and it is never later than the start of the execution
+        this.lastHeartbeat = execution.lastHeartbeat != null ? execution.lastHeartbeat : startTime;
     }
 
     public Duration getDuration() {
@@ -42,4 +45,15 @@ public class CurrentlyExecuting {
         return execution.taskInstance;
     }
 
+    /**
+     * The last heartbeat persisted for the execution by this scheduler.
+     */
+    public Instant getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+
+    void heartbeatPersisted(Instant heartbeatTime) {
+        this.lastHeartbeat = heartbeatTime;
+    }
+
 }
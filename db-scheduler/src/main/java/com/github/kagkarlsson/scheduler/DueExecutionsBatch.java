@@ -26,18 +26,31 @@ class DueExecutionsBatch {
     private static final Logger LOG = LoggerFactory.getLogger(DueExecutionsBatch.class);
     private final int generationNumber;
     private final AtomicInteger executionsLeftInBatch;
-    private int threadpoolSize;
+    private final double triggerCheckWhenLeftInBatch;
     private boolean possiblyMoreExecutionsInDb;
     private boolean stale = false;
     private boolean triggeredExecuteDue;
 
     public DueExecutionsBatch(int threadpoolSize, int generationNumber, int executionsAdded, boolean possiblyMoreExecutionsInDb) {
-        this.threadpoolSize = threadpoolSize;
+        this(threadpoolSize * Scheduler.TRIGGER_NEXT_BATCH_WHEN_AVAILABLE_THREADS_RATIO, generationNumber, executionsAdded, possiblyMoreExecutionsInDb);
+    }
+
+    private DueExecutionsBatch(double triggerCheckWhenLeftInBatch, int generationNumber, int executionsAdded, boolean possiblyMoreExecutionsInDb) {
+        this.triggerCheckWhenLeftInBatch = triggerCheckWhenLeftInBatch;
         this.generationNumber = generationNumber;
         this.possiblyMoreExecutionsInDb = possiblyMoreExecutionsInDb;
         this.executionsLeftInBatch = new AtomicInteger(executionsAdded);
     }
 
+    /**
+     * For executors starting a thread per execution (i.e. virtual threads), where executions never wait in a queue
+     * for a free thread. The next batch is fetched when half of this batch is done, rather than based on the number
+     * of threads, which is typically far higher than the batch-size.
+     */
+    static DueExecutionsBatch forThreadPerExecution(int generationNumber, int executionsAdded, boolean possiblyMoreExecutionsInDb) {
+        return new DueExecutionsBatch(executionsAdded * Scheduler.TRIGGER_NEXT_BATCH_WHEN_AVAILABLE_THREADS_RATIO, generationNumber, executionsAdded, possiblyMoreExecutionsInDb);
+    }
+
     public void markBatchAsStale() {
         this.stale = true;
     }
@@ -49,11 +62,11 @@ class DueExecutionsBatch {
         executionsLeftInBatch.decrementAndGet();
 
         LOG.trace("Batch state: stale:{}, triggeredExecuteDue:{}, possiblyMoreExecutionsInDb:{}, executionsLeftInBatch:{}, ratio-trigger:{}",
-            stale, triggeredExecuteDue, possiblyMoreExecutionsInDb, executionsLeftInBatch.get(), (threadpoolSize * Scheduler.TRIGGER_NEXT_BATCH_WHEN_AVAILABLE_THREADS_RATIO));
+            stale, triggeredExecuteDue, possiblyMoreExecutionsInDb, executionsLeftInBatch.get(), triggerCheckWhenLeftInBatch);
         if (!stale
             && !triggeredExecuteDue
             && possiblyMoreExecutionsInDb
-            && executionsLeftInBatch.get() <= (threadpoolSize * Scheduler.TRIGGER_NEXT_BATCH_WHEN_AVAILABLE_THREADS_RATIO)) {
+            && executionsLeftInBatch.get() <= triggerCheckWhenLeftInBatch) {
             triggeredExecuteDue = triggerCheckForNewBatch.get();
         }
     }
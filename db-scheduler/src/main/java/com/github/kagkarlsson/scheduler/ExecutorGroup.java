@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import java.util.Objects;
+
+/**
+ * A named group of tasks executed on a dedicated thread pool, isolating them from tasks in other groups. Tasks
+ * declare their group using {@link com.github.kagkarlsson.scheduler.task.Task#getExecutorGroup()}; tasks not
+ * declaring a group are executed on the scheduler's default thread pool.
+ */
+public final class ExecutorGroup {
+
+    public static final String DEFAULT_NAME = "default";
+
+    private final String name;
+    private final int threads;
+    private final int maxConcurrency;
+
+    private ExecutorGroup(String name, int threads, int maxConcurrency) {
+        this.name = name;
+        this.threads = threads;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public static ExecutorGroup of(String name, int threads) {
+        return of(name, threads, threads);
+    }
+
+    /**
+     * @param maxConcurrency maximum number of executions of the group queued or running at the same time. Due
+     *                       executions of the group are only fetched when below this number.
+     */
+    public static ExecutorGroup of(String name, int threads, int maxConcurrency) {
+        Objects.requireNonNull(name, "name");
+        if (DEFAULT_NAME.equals(name)) {
+            throw new IllegalArgumentException("Executor-group name '" + DEFAULT_NAME + "' is reserved for the default thread pool");
+        }
+        if (threads <= 0 || maxConcurrency <= 0) {
+            throw new IllegalArgumentException("threads and maxConcurrency must be positive integers");
+        }
+        return new ExecutorGroup(name, threads, maxConcurrency);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{threads=" + threads + ", maxConcurrency=" + maxConcurrency + "}";
+    }
+}
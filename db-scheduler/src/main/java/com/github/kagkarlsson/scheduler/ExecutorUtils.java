@@ -19,9 +19,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class ExecutorUtils {
@@ -47,6 +50,50 @@ public class ExecutorUtils {
         }
     }
 
+    /**
+     * Virtual threads are available from Java 21. They are looked up reflectively, since the library is compiled for
+     * Java 8.
+     */
+    public static boolean virtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * An executor starting a new virtual thread for each task, or empty if not supported by the JVM.
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor(String prefix) {
+        if (!virtualThreadsSupported()) {
+            return Optional.empty();
+        }
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            final ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return Optional.of((ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory));
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("Failed to create executor for virtual threads.", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A fixed thread pool, with a {@link PriorityBlockingQueue} executing queued tasks in their natural order if
+     * {@code priorityQueue} is true.
+     */
+    public static ExecutorService newFixedThreadPool(int threads, boolean priorityQueue, String prefix) {
+        if (priorityQueue) {
+            return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), defaultThreadFactoryWithPrefix(prefix));
+        }
+        return Executors.newFixedThreadPool(threads, defaultThreadFactoryWithPrefix(prefix));
+    }
+
     public static ThreadFactory defaultThreadFactoryWithPrefix(String prefix) {
         return new PrefixingDefaultThreadFactory(prefix);
     }
@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps executions scheduled far ahead out of the executions-table polled by the schedulers. Executions due further
+ * ahead than the horizon are stored in a separate table, and are moved to the executions-table in batches as they come
+ * within the horizon. Lookups, cancels and reschedules through the {@link SchedulerClient} see both tables.
+ *
+ * <p>Creation checks both tables for an existing execution. This is atomic on databases supporting advisory locks,
+ * such as PostgreSQL. Elsewhere, a task-instance created concurrently on both sides of the horizon may end up in both
+ * tables, and is then kept in the executions-table and removed from the future-table when moved.
+ *
+ * <p>Requires a table with the same definition as the executions-table, by default {@code scheduled_tasks_future}.
+ */
+public class FutureTable {
+
+    public static final String DEFAULT_TABLE_NAME = "scheduled_tasks_future";
+    public static final int DEFAULT_MOVE_BATCH_SIZE = 500;
+    public static final FutureTable DISABLED = new FutureTable(null, null, null, 0);
+
+    private final String tableName;
+    private final Duration horizon;
+    private final Duration moveInterval;
+    private final int moveBatchSize;
+
+    private FutureTable(String tableName, Duration horizon, Duration moveInterval, int moveBatchSize) {
+        this.tableName = tableName;
+        this.horizon = horizon;
+        this.moveInterval = moveInterval;
+        this.moveBatchSize = moveBatchSize;
+    }
+
+    /**
+     * @param horizon executions due further ahead than this are stored in the future-table. Moves are done at a quarter
+     *                of the horizon.
+     */
+    public static FutureTable of(Duration horizon) {
+        return of(DEFAULT_TABLE_NAME, horizon);
+    }
+
+    public static FutureTable of(String tableName, Duration horizon) {
+        return of(tableName, horizon, horizon.dividedBy(4), DEFAULT_MOVE_BATCH_SIZE);
+    }
+
+    /**
+     * @param moveInterval how often to move executions coming within the horizon, must be shorter than the horizon
+     *                     for executions to be moved before they are due
+     * @param moveBatchSize max number of executions moved per transaction
+     */
+    public static FutureTable of(String tableName, Duration horizon, Duration moveInterval, int moveBatchSize) {
+        if (tableName == null || tableName.isEmpty()) {
+            throw new IllegalArgumentException("tableName must be set");
+        }
+        if (horizon.isNegative() || horizon.isZero()) {
+            throw new IllegalArgumentException("horizon must be positive");
+        }
+        if (moveInterval.isNegative() || moveInterval.isZero() || moveInterval.compareTo(horizon) >= 0) {
+            throw new IllegalArgumentException("moveInterval must be positive and shorter than the horizon");
+        }
+        if (moveBatchSize <= 0) {
+            throw new IllegalArgumentException("moveBatchSize must be a positive integer");
+        }
+        return new FutureTable(tableName, horizon, moveInterval, moveBatchSize);
+    }
+
+    public boolean isEnabled() {
+        return tableName != null;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public Duration getHorizon() {
+        return horizon;
+    }
+
+    public Duration getMoveInterval() {
+        return moveInterval;
+    }
+
+    public int getMoveBatchSize() {
+        return moveBatchSize;
+    }
+
+    public boolean isBeyondHorizon(Instant executionTime, Instant now) {
+        return isEnabled() && executionTime.isAfter(now.plus(horizon));
+    }
+
+    @Override
+    public String toString() {
+        return isEnabled() ? "FutureTable{table=" + tableName + ", horizon=" + horizon + "}" : "FutureTable{disabled}";
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves executions from the {@link FutureTable} to the executions-table as they come within the horizon. Run by the
+ * scheduler every {@link FutureTable#getMoveInterval()}, moving batches until there are no more executions to move.
+ */
+public class FutureTableMover {
+    private static final Logger LOG = LoggerFactory.getLogger(FutureTableMover.class);
+
+    private final JdbcTaskRepository taskRepository;
+    private final FutureTable futureTable;
+    private final Clock clock;
+
+    public FutureTableMover(JdbcTaskRepository taskRepository, FutureTable futureTable, Clock clock) {
+        if (!futureTable.isEnabled()) {
+            throw new IllegalArgumentException("FutureTable must be enabled");
+        }
+        this.taskRepository = taskRepository;
+        this.futureTable = futureTable;
+        this.clock = clock;
+    }
+
+    public FutureTable getFutureTable() {
+        return futureTable;
+    }
+
+    /**
+     * @return the number of executions moved
+     */
+    public int moveDue() {
+        int total = 0;
+        int moved;
+        do {
+            moved = taskRepository.moveFutureExecutions(clock.now().plus(futureTable.getHorizon()), futureTable.getMoveBatchSize());
+            total += moved;
+        } while (moved == futureTable.getMoveBatchSize());
+
+        if (total > 0) {
+            LOG.debug("Moved {} executions from the future-table.", total);
+        }
+        return total;
+    }
+}
@@ -17,10 +17,12 @@ package com.github.kagkarlsson.scheduler;
 
 import com.github.kagkarlsson.jdbc.JdbcRunner;
 import com.github.kagkarlsson.jdbc.ResultSetMapper;
+import com.github.kagkarlsson.jdbc.RowMapper;
 import com.github.kagkarlsson.jdbc.SQLRuntimeException;
-import com.github.kagkarlsson.scheduler.TaskResolver.UnresolvedTask;
 import com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.EpochMillisJdbcCustomization;
 import com.github.kagkarlsson.scheduler.jdbc.JdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.TaskNameDictionary;
 import com.github.kagkarlsson.scheduler.task.Execution;
 import com.github.kagkarlsson.scheduler.task.Task;
 import com.github.kagkarlsson.scheduler.task.TaskInstance;
@@ -28,34 +30,60 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static com.github.kagkarlsson.scheduler.StringUtils.truncate;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.partitioningBy;
 import static java.util.stream.Collectors.toList;
 
 @SuppressWarnings("rawtypes")
 public class JdbcTaskRepository implements TaskRepository {
 
     public static final String DEFAULT_TABLE_NAME = "scheduled_tasks";
+    // bind-parameters per statement are limited to 2100 by SQL Server, and IN-lists to 1000 elements by Oracle
+    static final int MAX_EXISTENCE_CHECK_SIZE = 500;
 
     private static final Logger LOG = LoggerFactory.getLogger(JdbcTaskRepository.class);
     private final TaskResolver taskResolver;
     private final SchedulerName schedulerSchedulerName;
+    private final DataSource dataSource;
     private final JdbcRunner jdbcRunner;
     private final Serializer serializer;
     private final String tableName;
     private final JdbcCustomization jdbcCustomization;
+    private final Partitioning partitioning;
+    private final PriorityOrdering priorityOrdering;
+    private final FutureTable futureTable;
+    private final TaskDataTable taskDataTable;
+    private final TaskNameDictionary taskNameDictionary;
+    private final TablePartitioning tablePartitioning;
+    private volatile UnresolvedFilter unresolvedFilter;
 
     public JdbcTaskRepository(DataSource dataSource, String tableName, TaskResolver taskResolver, SchedulerName schedulerSchedulerName) {
         this(dataSource, new AutodetectJdbcCustomization(dataSource), tableName, taskResolver, schedulerSchedulerName, Serializer.DEFAULT_JAVA_SERIALIZER);
@@ -66,39 +94,68 @@ public class JdbcTaskRepository implements TaskRepository {
     }
 
     public JdbcTaskRepository(DataSource dataSource, JdbcCustomization jdbcCustomization, String tableName, TaskResolver taskResolver, SchedulerName schedulerSchedulerName, Serializer serializer) {
+        this(dataSource, jdbcCustomization, tableName, taskResolver, schedulerSchedulerName, Settings.create().serializer(serializer));
+    }
+
+    public JdbcTaskRepository(DataSource dataSource, JdbcCustomization jdbcCustomization, String tableName, TaskResolver taskResolver, SchedulerName schedulerSchedulerName, Settings settings) {
+        final CompactSchema compactSchema = settings.compactSchema;
         this.tableName = tableName;
         this.taskResolver = taskResolver;
         this.schedulerSchedulerName = schedulerSchedulerName;
+        this.dataSource = dataSource;
         this.jdbcRunner = new JdbcRunner(dataSource);
-        this.serializer = serializer;
-        this.jdbcCustomization = jdbcCustomization;
+        this.serializer = settings.serializer;
+        this.jdbcCustomization = compactSchema.isEnabled() ? new EpochMillisJdbcCustomization(jdbcCustomization) : jdbcCustomization;
+        this.partitioning = settings.partitioning;
+        this.priorityOrdering = settings.priorityOrdering;
+        this.futureTable = settings.futureTable;
+        this.taskDataTable = settings.taskDataTable;
+        this.taskNameDictionary = compactSchema.isEnabled() ? new TaskNameDictionary(dataSource, compactSchema.getTaskNamesTableName()) : null;
+        this.tablePartitioning = settings.tablePartitioning;
     }
 
     @Override
-    @SuppressWarnings({"unchecked"})
     public boolean createIfNotExists(Execution execution) {
+        assignTaskNameIds(Collections.singletonList(execution));
+        if (!futureTable.isEnabled()) {
+            return createIfNotExists(tableName, execution);
+        }
+
+        final boolean beyondHorizon = futureTable.isBeyondHorizon(execution.executionTime, Instant.now());
+        if (jdbcCustomization.supportsAdvisoryLock()) {
+            return !createBatchIfNotExistsLocked(Collections.singletonMap(beyondHorizon ? futureTable.getTableName() : tableName,
+                Collections.singletonList(execution))).isEmpty();
+        }
+        // not atomic, see createBatchIfNotExists
+        final String otherTable = beyondHorizon ? tableName : futureTable.getTableName();
+        final Optional<Execution> existingExecution = getExecution(otherTable, execution.taskInstance.getTaskName(), execution.taskInstance.getId());
+        if (existingExecution.isPresent()) {
+            LOG.debug("Execution not created, it already exists. Due: {}", existingExecution.get().executionTime);
+            return false;
+        }
+        return createIfNotExists(beyondHorizon ? futureTable.getTableName() : tableName, execution);
+    }
+
+    private boolean createIfNotExists(String table, Execution execution) {
+        if (isCreationLocked(table)) {
+            return !createBatchIfNotExistsLocked(Collections.singletonMap(table, Collections.singletonList(execution))).isEmpty();
+        }
+        if (jdbcCustomization.supportsInsertIfNotExists()) {
+            return insertIfNotExists(table, execution);
+        }
         try {
-            Optional<Execution> existingExecution = getExecution(execution.taskInstance);
+            Optional<Execution> existingExecution = getExecution(table, execution.taskInstance.getTaskName(), execution.taskInstance.getId());
             if (existingExecution.isPresent()) {
                 LOG.debug("Execution not created, it already exists. Due: {}", existingExecution.get().executionTime);
                 return false;
             }
 
-            jdbcRunner.execute(
-                "insert into " + tableName + "(task_name, task_instance, task_data, execution_time, picked, version) values(?, ?, ?, ?, ?, ?)",
-                (PreparedStatement p) -> {
-                    p.setString(1, execution.taskInstance.getTaskName());
-                    p.setString(2, execution.taskInstance.getId());
-                    p.setObject(3, serializer.serialize(execution.taskInstance.getData()));
-                    jdbcCustomization.setInstant(p, 4, execution.executionTime);
-                    p.setBoolean(5, false);
-                    p.setLong(6, 1L);
-                });
+            insert(insertSql(table), execution);
             return true;
 
         } catch (SQLRuntimeException e) {
             LOG.debug("Exception when inserting execution. Assuming it to be a constraint violation.", e);
-            Optional<Execution> existingExecution = getExecution(execution.taskInstance);
+            Optional<Execution> existingExecution = getExecution(table, execution.taskInstance.getTaskName(), execution.taskInstance.getId());
             if (!existingExecution.isPresent()) {
                 throw new RuntimeException("Failed to add new execution.", e);
             }
@@ -107,64 +164,397 @@ public class JdbcTaskRepository implements TaskRepository {
         }
     }
 
+    private boolean insertIfNotExists(String table, Execution execution) {
+        try {
+            final int inserted = insert(jdbcCustomization.createInsertIfNotExistsQuery(table, insertColumns()), execution);
+            if (inserted == 0) {
+                LOG.debug("Execution not created, it already exists.");
+            }
+            return inserted > 0;
+
+        } catch (SQLRuntimeException e) {
+            // e.g. a concurrent MERGE of the same key, which is not atomic for all databases
+            LOG.debug("Exception when inserting execution. Assuming it to be a constraint violation.", e);
+            if (!getExecution(table, execution.taskInstance.getTaskName(), execution.taskInstance.getId()).isPresent()) {
+                throw new RuntimeException("Failed to add new execution.", e);
+            }
+            LOG.debug("Execution not created, another thread created it.");
+            return false;
+        }
+    }
+
+    private int insert(String insertSql, Execution execution) {
+        if (!taskDataTable.isEnabled()) {
+            return jdbcRunner.execute(insertSql, (PreparedStatement p) -> setInsertParameters(p, execution));
+        }
+        return inTransaction(c -> {
+            final int inserted;
+            try (PreparedStatement insert = c.prepareStatement(insertSql)) {
+                setInsertParameters(insert, execution);
+                inserted = insert.executeUpdate();
+            }
+            if (inserted > 0) {
+                insertTaskData(c, Collections.singletonList(execution.taskInstance));
+            }
+            return inserted;
+        });
+    }
+
+    private List<String> insertColumns() {
+        final List<String> columns = new ArrayList<>(Arrays.asList("task_name", "task_instance", "task_data", "execution_time", "picked", "version"));
+        if (taskDataTable.isEnabled()) {
+            columns.remove("task_data");
+        }
+        if (partitioning.isEnabled()) {
+            columns.add("partition_number");
+        }
+        if (priorityOrdering.isEnabled()) {
+            columns.add("priority");
+        }
+        return columns;
+    }
+
+    private String insertSql(String table) {
+        final List<String> columns = insertColumns();
+        return "insert into " + table + "(" + String.join(", ", columns) + ") values(" + columns.stream().map(c -> "?").collect(joining(", ")) + ")";
+    }
+
+    private void setInsertParameters(PreparedStatement p, Execution execution) throws SQLException {
+        int index = 1;
+        setTaskName(p, index++, execution.taskInstance.getTaskName());
+        p.setString(index++, execution.taskInstance.getId());
+        if (!taskDataTable.isEnabled()) {
+            p.setObject(index++, serializer.serialize(execution.taskInstance.getData()));
+        }
+        jdbcCustomization.setInstant(p, index++, execution.executionTime);
+        p.setBoolean(index++, false);
+        p.setLong(index++, 1L);
+        if (partitioning.isEnabled()) {
+            p.setInt(index++, partitioning.partitionOf(execution.taskInstance));
+        }
+        if (priorityOrdering.isEnabled()) {
+            p.setInt(index, execution.taskInstance.getPriority());
+        }
+    }
+
+    @Override
+    public List<Execution> createBatchIfNotExists(List<Execution> executions) {
+        assignTaskNameIds(executions);
+        // the first execution given for an instance wins, like when scheduling them one by one
+        final Map<String, Execution> distinct = new LinkedHashMap<>();
+        executions.forEach(e -> distinct.putIfAbsent(e.taskInstance.getTaskAndInstance(), e));
+        final List<Execution> candidates = new ArrayList<>(distinct.values());
+        if (!futureTable.isEnabled()) {
+            return createBatchIfNotExists(tableName, candidates);
+        }
+
+        final Instant now = Instant.now();
+        final Map<Boolean, List<Execution>> byBeyondHorizon = candidates.stream()
+            .collect(partitioningBy(e -> futureTable.isBeyondHorizon(e.executionTime, now)));
+        final Set<Execution> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (jdbcCustomization.supportsAdvisoryLock()) {
+            final Map<String, List<Execution>> candidatesByTable = new LinkedHashMap<>();
+            candidatesByTable.put(futureTable.getTableName(), byBeyondHorizon.get(true));
+            candidatesByTable.put(tableName, byBeyondHorizon.get(false));
+            created.addAll(createBatchIfNotExistsLocked(candidatesByTable));
+        } else {
+            // Without advisory locks, the check of the other table and the insert are not atomic, and an execution created
+            // concurrently on both sides of the horizon may end up in both tables. It is then kept in the executions-table
+            // and removed from the future-table when moved, see moveOne.
+            created.addAll(createBatchIfNotExists(futureTable.getTableName(), notExistingIn(tableName, byBeyondHorizon.get(true))));
+            created.addAll(createBatchIfNotExists(tableName, notExistingIn(futureTable.getTableName(), byBeyondHorizon.get(false))));
+        }
+        return candidates.stream().filter(created::contains).collect(toList());
+    }
+
+    private List<Execution> createBatchIfNotExists(String table, List<Execution> candidates) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        if (isCreationLocked(table)) {
+            return createBatchIfNotExistsLocked(Collections.singletonMap(table, candidates));
+        }
+
+        try {
+            insertBatch(table, candidates);
+            return candidates;
+        } catch (SQLRuntimeException e) {
+            LOG.debug("Exception when inserting batch of executions. Assuming one or more to be constraint violations.", e);
+        }
+
+        final List<Execution> notExisting = notExistingIn(table, candidates);
+        try {
+            insertBatch(table, notExisting);
+            return notExisting;
+        } catch (SQLRuntimeException e) {
+            LOG.debug("Exception when inserting batch of executions not already existing. Another thread must have created some of them, inserting one by one.", e);
+            return notExisting.stream().filter(execution -> createIfNotExists(table, execution)).collect(toList());
+        }
+    }
+
+    /**
+     * Range-partitioned by execution_time, the primary key must include execution_time, so the database does not
+     * prevent the same task-instance from being created in two partitions.
+     */
+    private boolean isCreationLocked(String table) {
+        return table.equals(tableName) && tablePartitioning.isByExecutionTime() && jdbcCustomization.supportsAdvisoryLock();
+    }
+
+    /**
+     * Serializes creation per task-instance using advisory locks held until the inserts are committed. Locks are taken
+     * in key order, so that concurrent batches cannot deadlock. Existing executions are looked for in the
+     * executions-table and, if enabled, the {@link FutureTable}, so that each task-instance is created in one of them.
+     */
+    private List<Execution> createBatchIfNotExistsLocked(Map<String, List<Execution>> candidatesByTable) {
+        final List<Execution> candidates = candidatesByTable.values().stream().flatMap(List::stream).collect(toList());
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        return inTransaction(c -> {
+            try (PreparedStatement lock = c.prepareStatement(jdbcCustomization.createAdvisoryLockQuery())) {
+                for (long key : candidates.stream().mapToLong(e -> lockKey(e.taskInstance)).sorted().distinct().toArray()) {
+                    lock.setLong(1, key);
+                    lock.execute();
+                }
+            }
+            final Set<String> existing = new HashSet<>();
+            for (String table : executionTables()) {
+                try (PreparedStatement select = c.prepareStatement("select 1 from " + table + " where task_name = ? and task_instance = ?")) {
+                    for (Execution candidate : candidates) {
+                        if (existing.contains(candidate.taskInstance.getTaskAndInstance())) {
+                            continue;
+                        }
+                        setTaskName(select, 1, candidate.taskInstance.getTaskName());
+                        select.setString(2, candidate.taskInstance.getId());
+                        try (ResultSet rs = select.executeQuery()) {
+                            if (rs.next()) {
+                                existing.add(candidate.taskInstance.getTaskAndInstance());
+                            }
+                        }
+                    }
+                }
+            }
+            final List<Execution> created = new ArrayList<>();
+            for (Map.Entry<String, List<Execution>> entry : candidatesByTable.entrySet()) {
+                final List<Execution> notExisting = entry.getValue().stream()
+                    .filter(e -> !existing.contains(e.taskInstance.getTaskAndInstance()))
+                    .collect(toList());
+                insertBatch(c, entry.getKey(), notExisting);
+                created.addAll(notExisting);
+            }
+            if (created.size() < candidates.size()) {
+                LOG.debug("{} execution(s) not created, they already exist.", candidates.size() - created.size());
+            }
+            return created;
+        });
+    }
+
+    private List<String> executionTables() {
+        return futureTable.isEnabled() ? Arrays.asList(tableName, futureTable.getTableName()) : Collections.singletonList(tableName);
+    }
+
+    private static long lockKey(TaskInstance<?> taskInstance) {
+        // collisions only serialize creation of unrelated task-instances
+        return ((long) taskInstance.getTaskName().hashCode() << 32) | (taskInstance.getId().hashCode() & 0xffffffffL);
+    }
+
+    private List<Execution> notExistingIn(String table, List<Execution> executions) {
+        if (executions.isEmpty()) {
+            return executions;
+        }
+        final Set<String> existing = getExistingTaskAndInstances(table, executions);
+        return executions.stream()
+            .filter(e -> !existing.contains(e.taskInstance.getTaskAndInstance()))
+            .collect(toList());
+    }
+
+    private void insertBatch(String table, List<Execution> executions) {
+        if (executions.isEmpty()) {
+            return;
+        }
+        inTransaction(c -> {
+            insertBatch(c, table, executions);
+            return null;
+        });
+    }
+
+    private void insertBatch(Connection c, String table, List<Execution> executions) throws SQLException {
+        if (executions.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement insert = c.prepareStatement(insertSql(table))) {
+            for (Execution execution : executions) {
+                setInsertParameters(insert, execution);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        if (taskDataTable.isEnabled()) {
+            insertTaskData(c, executions.stream().map(e -> e.taskInstance).collect(toList()));
+        }
+    }
+
+    private Set<String> getExistingTaskAndInstances(String table, List<Execution> executions) {
+        final List<TaskInstance> instances = executions.stream().map(e -> (TaskInstance) e.taskInstance).distinct().collect(toList());
+        final Set<String> existing = new HashSet<>();
+        // independent of the batch chunk-size, to stay within the parameter limits of all databases
+        for (int from = 0; from < instances.size(); from += MAX_EXISTENCE_CHECK_SIZE) {
+            existing.addAll(getExistingTaskAndInstancesChunk(table, instances.subList(from, Math.min(from + MAX_EXISTENCE_CHECK_SIZE, instances.size()))));
+        }
+        return existing;
+    }
+
+    private List<String> getExistingTaskAndInstancesChunk(String table, List<TaskInstance> instances) {
+        final Map<String, List<String>> instanceIdsByTaskName = instances.stream()
+            .collect(groupingBy(TaskInstance::getTaskName, LinkedHashMap::new, mapping(TaskInstance::getId, toList())));
+        return jdbcRunner.query(
+            "select task_name, task_instance from " + table + " where " + instanceIdsByTaskName.values().stream()
+                .map(ids -> "(task_name = ? and task_instance in (" + ids.stream().map(id -> "?").collect(joining(", ")) + "))")
+                .collect(joining(" or ")),
+            (PreparedStatement p) -> {
+                int index = 1;
+                for (Map.Entry<String, List<String>> entry : instanceIdsByTaskName.entrySet()) {
+                    setTaskName(p, index++, entry.getKey());
+                    for (String instanceId : entry.getValue()) {
+                        p.setString(index++, instanceId);
+                    }
+                }
+            },
+            (RowMapper<String>) rs -> new TaskInstance<>(getTaskName(rs), rs.getString("task_instance")).getTaskAndInstance());
+    }
+
+    /**
+     * With a {@link FutureTable}, executions in the executions-table are listed before those in the future-table, and
+     * an execution moved between the tables while listing may be missed.
+     */
     @Override
     public void getScheduledExecutions(Consumer<Execution> consumer) {
-        UnresolvedFilter unresolvedFilter = new UnresolvedFilter(taskResolver.getUnresolved());
+        getScheduledExecutionsIn(tableName, consumer);
+        if (futureTable.isEnabled()) {
+            getScheduledExecutionsIn(futureTable.getTableName(), consumer);
+        }
+    }
+
+    private void getScheduledExecutionsIn(String table, Consumer<Execution> consumer) {
+        final UnresolvedFilter unresolvedFilter = unresolvedFilter();
         jdbcRunner.query(
-            "select * from " + tableName + " where picked = ? " + unresolvedFilter.andCondition() + " order by execution_time asc",
+            unresolvedFilter.statement("scheduled:" + table, () ->
+                "select " + metadataColumns() + " from " + table + " where picked = ? " + unresolvedFilter.andCondition() + " order by execution_time asc"),
             (PreparedStatement p) -> {
                 int index = 1;
                 p.setBoolean(index++, false);
                 unresolvedFilter.setParameters(p, index);
             },
-            new ExecutionResultSetConsumer(consumer)
+            new ExecutionResultSetConsumer(consumer, false)
         );
     }
 
     @Override
     public void getScheduledExecutions(String taskName, Consumer<Execution> consumer) {
+        getScheduledExecutionsIn(tableName, taskName, consumer);
+        if (futureTable.isEnabled()) {
+            getScheduledExecutionsIn(futureTable.getTableName(), taskName, consumer);
+        }
+    }
+
+    private void getScheduledExecutionsIn(String table, String taskName, Consumer<Execution> consumer) {
         jdbcRunner.query(
-            "select * from " + tableName + " where picked = ? and task_name = ? order by execution_time asc",
+            "select " + metadataColumns() + " from " + table + " where picked = ? and task_name = ? order by execution_time asc",
             (PreparedStatement p) -> {
                 p.setBoolean(1, false);
-                p.setString(2, taskName);
+                setTaskName(p, 2, taskName);
             },
-            new ExecutionResultSetConsumer(consumer)
+            new ExecutionResultSetConsumer(consumer, false)
         );
     }
 
     @Override
     public List<Execution> getDue(Instant now, int limit) {
-        final UnresolvedFilter unresolvedFilter = new UnresolvedFilter(taskResolver.getUnresolved());
+        return getDue(now, limit, TaskNameFilter.ALL);
+    }
+
+    @Override
+    public List<Execution> getDue(Instant now, int limit, TaskNameFilter taskNameFilter) {
+        if (!partitioning.isEnabled() || partitioning.getOwnPartitions().isEmpty()) {
+            return getDue(now, limit, taskNameFilter, PartitionFilter.ALL);
+        }
+
+        final List<Execution> due = getDue(now, limit, taskNameFilter, PartitionFilter.own(partitioning));
+        // only steal when idle, competing for the head of other partitions is what partitioning avoids
+        return due.isEmpty() ? getDue(now, limit, taskNameFilter, PartitionFilter.others(partitioning)) : due;
+    }
+
+    private List<Execution> getDue(Instant now, int limit, TaskNameFilter taskNameFilter, PartitionFilter partitionFilter) {
+        final UnresolvedFilter unresolvedFilter = unresolvedFilter();
+        final TaskNameCondition taskNameCondition = new TaskNameCondition(taskNameFilter);
+        final DueOrder dueOrder = new DueOrder(priorityOrdering, now);
+        final boolean explicitLimit = jdbcCustomization.supportsExplicitQueryLimit();
         return jdbcRunner.query(
-            "select * from " + tableName + " where picked = ? and execution_time <= ? " + unresolvedFilter.andCondition() + " order by execution_time asc",
+            unresolvedFilter.statement("due" + taskNameCondition.shape() + partitionFilter.shape(), () -> {
+                final String condition = "picked = ? and execution_time <= ? " + unresolvedFilter.andCondition() + taskNameCondition.andCondition() + partitionFilter.andCondition();
+                return explicitLimit
+                    ? jdbcCustomization.createSelectWithLimitQuery(tableName, metadataColumns(), condition, dueOrder.orderBy())
+                    : "select " + metadataColumns() + " from " + tableName + " where " + condition + " order by " + dueOrder.orderBy();
+            }),
             (PreparedStatement p) -> {
                 int index = 1;
                 p.setBoolean(index++, false);
                 jdbcCustomization.setInstant(p, index++, now);
-                unresolvedFilter.setParameters(p, index);
-                p.setMaxRows(limit);
+                index = unresolvedFilter.setParameters(p, index);
+                index = taskNameCondition.setParameters(p, index);
+                index = partitionFilter.setParameters(p, index);
+                index = dueOrder.setParameters(p, index);
+                if (explicitLimit) {
+                    p.setInt(index, limit);
+                } else {
+                    p.setMaxRows(limit);
+                }
             },
-            new ExecutionResultSetMapper()
+            new ExecutionResultSetMapper(false)
         );
     }
 
     @Override
     public void remove(Execution execution) {
-
-        final int removed = jdbcRunner.execute("delete from " + tableName + " where task_name = ? and task_instance = ? and version = ?",
-            ps -> {
-                ps.setString(1, execution.taskInstance.getTaskName());
-                ps.setString(2, execution.taskInstance.getId());
-                ps.setLong(3, execution.version);
+        int removed = remove(tableName, execution);
+        if (removed == 0 && futureTable.isEnabled()) {
+            // executions are only moved from the future-table, so a second try will find one moved concurrently
+            removed = remove(futureTable.getTableName(), execution);
+            if (removed == 0) {
+                removed = remove(tableName, execution);
             }
-        );
+        }
 
         if (removed != 1) {
             throw new RuntimeException("Expected one execution to be removed, but removed " + removed + ". Indicates a bug.");
         }
     }
 
+    private int remove(String table, Execution execution) {
+        if (!taskDataTable.isEnabled()) {
+            return jdbcRunner.execute("delete from " + table + " where task_name = ? and task_instance = ? and version = ?",
+                ps -> {
+                    setTaskName(ps, 1, execution.taskInstance.getTaskName());
+                    ps.setString(2, execution.taskInstance.getId());
+                    ps.setLong(3, execution.version);
+                }
+            );
+        }
+        return inTransaction(c -> {
+            final int removed;
+            try (PreparedStatement delete = c.prepareStatement("delete from " + table + " where task_name = ? and task_instance = ? and version = ?")) {
+                setTaskName(delete, 1, execution.taskInstance.getTaskName());
+                delete.setString(2, execution.taskInstance.getId());
+                delete.setLong(3, execution.version);
+                removed = delete.executeUpdate();
+            }
+            if (removed > 0) {
+                deleteOrphanedTaskData(c, Collections.singletonList(execution.taskInstance));
+            }
+            return removed;
+        });
+    }
+
     @Override
     public boolean reschedule(Execution execution, Instant nextExecutionTime, Instant lastSuccess, Instant lastFailure, int consecutiveFailures) {
         return rescheduleInternal(execution, nextExecutionTime, null, lastSuccess, lastFailure, consecutiveFailures);
@@ -176,46 +566,148 @@ public class JdbcTaskRepository implements TaskRepository {
     }
 
     private boolean rescheduleInternal(Execution execution, Instant nextExecutionTime, NewData newData, Instant lastSuccess, Instant lastFailure, int consecutiveFailures) {
-        final int updated = jdbcRunner.execute(
-            "update " + tableName + " set " +
-                "picked = ?, " +
-                "picked_by = ?, " +
-                "last_heartbeat = ?, " +
-                "last_success = ?, " +
-                "last_failure = ?, " +
-                "consecutive_failures = ?, " +
-                "execution_time = ?, " +
-                (newData != null ? "task_data = ?, " : "") +
-                "version = version + 1 " +
-                "where task_name = ? " +
-                "and task_instance = ? " +
-                "and version = ?",
-            ps -> {
-                int index = 1;
-                ps.setBoolean(index++, false);
-                ps.setString(index++, null);
-                jdbcCustomization.setInstant(ps, index++, null);
-                jdbcCustomization.setInstant(ps, index++, ofNullable(lastSuccess).orElse(null));
-                jdbcCustomization.setInstant(ps, index++, ofNullable(lastFailure).orElse(null));
-                ps.setInt(index++, consecutiveFailures);
-                jdbcCustomization.setInstant(ps, index++, nextExecutionTime);
-                if (newData != null) {
-                    // may cause datbase-specific problems, might have to use setNull instead
-                    ps.setObject(index++, serializer.serialize(newData.data));
-                }
-                ps.setString(index++, execution.taskInstance.getTaskName());
-                ps.setString(index++, execution.taskInstance.getId());
-                ps.setLong(index++, execution.version);
-            });
+        int updated = reschedule(tableName, execution, nextExecutionTime, newData, lastSuccess, lastFailure, consecutiveFailures);
+        if (updated == 0 && futureTable.isEnabled()) {
+            updated = reschedule(futureTable.getTableName(), execution, nextExecutionTime, newData, lastSuccess, lastFailure, consecutiveFailures);
+            if (updated == 0) {
+                // moved to the executions-table concurrently
+                updated = reschedule(tableName, execution, nextExecutionTime, newData, lastSuccess, lastFailure, consecutiveFailures);
+            } else if (!futureTable.isBeyondHorizon(nextExecutionTime, Instant.now())) {
+                move(Collections.singletonList(new FutureRow(execution.taskInstance.getTaskName(), execution.taskInstance.getId(), execution.version + 1)));
+            }
+        }
         if (updated != 1) {
             throw new RuntimeException("Expected one execution to be updated, but updated " + updated + ". Indicates a bug.");
         }
         return updated > 0;
     }
 
+    private int reschedule(String table, Execution execution, Instant nextExecutionTime, NewData newData, Instant lastSuccess, Instant lastFailure, int consecutiveFailures) {
+        if (newData == null || !taskDataTable.isEnabled()) {
+            return jdbcRunner.execute(rescheduleSql(table, newData != null),
+                ps -> setRescheduleParameters(ps, execution, nextExecutionTime, newData, lastSuccess, lastFailure, consecutiveFailures));
+        }
+        return inTransaction(c -> {
+            final int updated;
+            try (PreparedStatement update = c.prepareStatement(rescheduleSql(table, true))) {
+                setRescheduleParameters(update, execution, nextExecutionTime, newData, lastSuccess, lastFailure, consecutiveFailures);
+                updated = update.executeUpdate();
+            }
+            if (updated > 0) {
+                replaceTaskData(c, Collections.singletonList(execution.taskInstance), Collections.singletonList(newData.data));
+            }
+            return updated;
+        });
+    }
+
+    private String rescheduleSql(String table, boolean withNewData) {
+        return "update " + table + " set " +
+            "picked = ?, " +
+            "picked_by = ?, " +
+            "last_heartbeat = ?, " +
+            "last_success = ?, " +
+            "last_failure = ?, " +
+            "consecutive_failures = ?, " +
+            "execution_time = ?, " +
+            (withNewData && !taskDataTable.isEnabled() ? "task_data = ?, " : "") +
+            "version = version + 1 " +
+            "where task_name = ? " +
+            "and task_instance = ? " +
+            "and version = ?";
+    }
+
+    private void setRescheduleParameters(PreparedStatement ps, Execution execution, Instant nextExecutionTime, NewData newData, Instant lastSuccess, Instant lastFailure, int consecutiveFailures) throws SQLException {
+        int index = 1;
+        ps.setBoolean(index++, false);
+        ps.setString(index++, null);
+        jdbcCustomization.setInstant(ps, index++, null);
+        jdbcCustomization.setInstant(ps, index++, ofNullable(lastSuccess).orElse(null));
+        jdbcCustomization.setInstant(ps, index++, ofNullable(lastFailure).orElse(null));
+        ps.setInt(index++, consecutiveFailures);
+        jdbcCustomization.setInstant(ps, index++, nextExecutionTime);
+        if (newData != null && !taskDataTable.isEnabled()) {
+            // may cause datbase-specific problems, might have to use setNull instead
+            ps.setObject(index++, serializer.serialize(newData.data));
+        }
+        setTaskName(ps, index++, execution.taskInstance.getTaskName());
+        ps.setString(index++, execution.taskInstance.getId());
+        ps.setLong(index++, execution.version);
+    }
+
+    @Override
+    public List<CompletionWrite> writeCompletions(List<CompletionWrite> writes) {
+        if (writes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // consistent lock-order to avoid deadlocks with schedulers picking or updating overlapping rows
+        final List<CompletionWrite> ordered = new ArrayList<>(writes);
+        ordered.sort(Comparator.comparing((CompletionWrite w) -> w.getExecution().taskInstance.getTaskName())
+            .thenComparing(w -> w.getExecution().taskInstance.getId()));
+        final List<CompletionWrite> removes = ordered.stream().filter(w -> w.getType() == CompletionWrite.Type.REMOVE).collect(toList());
+        final List<CompletionWrite> reschedules = ordered.stream().filter(w -> w.getType() == CompletionWrite.Type.RESCHEDULE && !w.hasNewData()).collect(toList());
+        final List<CompletionWrite> reschedulesWithData = ordered.stream().filter(w -> w.getType() == CompletionWrite.Type.RESCHEDULE && w.hasNewData()).collect(toList());
+
+        final List<CompletionWrite> failed = new ArrayList<>();
+        inTransaction(c -> {
+            if (!removes.isEmpty()) {
+                try (PreparedStatement delete = c.prepareStatement("delete from " + tableName + " where task_name = ? and task_instance = ? and version = ?")) {
+                    for (CompletionWrite w : removes) {
+                        setTaskName(delete, 1, w.getExecution().taskInstance.getTaskName());
+                        delete.setString(2, w.getExecution().taskInstance.getId());
+                        delete.setLong(3, w.getExecution().version);
+                        delete.addBatch();
+                    }
+                    final List<CompletionWrite> notRemoved = new ArrayList<>();
+                    addNotWritten(removes, delete.executeBatch(), notRemoved);
+                    failed.addAll(notRemoved);
+                    if (taskDataTable.isEnabled()) {
+                        deleteOrphanedTaskData(c, removes.stream().filter(w -> !notRemoved.contains(w)).map(w -> w.getExecution().taskInstance).collect(toList()));
+                    }
+                }
+            }
+            if (!reschedules.isEmpty()) {
+                try (PreparedStatement update = c.prepareStatement(rescheduleSql(tableName, false))) {
+                    for (CompletionWrite w : reschedules) {
+                        setRescheduleParameters(update, w.getExecution(), w.getNextExecutionTime(), null, w.getLastSuccess(), w.getLastFailure(), w.getConsecutiveFailures());
+                        update.addBatch();
+                    }
+                    addNotWritten(reschedules, update.executeBatch(), failed);
+                }
+            }
+            if (!reschedulesWithData.isEmpty()) {
+                try (PreparedStatement update = c.prepareStatement(rescheduleSql(tableName, true))) {
+                    for (CompletionWrite w : reschedulesWithData) {
+                        setRescheduleParameters(update, w.getExecution(), w.getNextExecutionTime(), new NewData(w.getNewData()), w.getLastSuccess(), w.getLastFailure(), w.getConsecutiveFailures());
+                        update.addBatch();
+                    }
+                    final List<CompletionWrite> notUpdated = new ArrayList<>();
+                    addNotWritten(reschedulesWithData, update.executeBatch(), notUpdated);
+                    failed.addAll(notUpdated);
+                    if (taskDataTable.isEnabled()) {
+                        final List<CompletionWrite> updated = reschedulesWithData.stream().filter(w -> !notUpdated.contains(w)).collect(toList());
+                        replaceTaskData(c, updated.stream().map(w -> w.getExecution().taskInstance).collect(toList()),
+                            updated.stream().map(CompletionWrite::getNewData).collect(toList()));
+                    }
+                }
+            }
+            return null;
+        });
+        LOG.debug("Wrote {} of {} completions.", writes.size() - failed.size(), writes.size());
+        return failed;
+    }
+
+    private static void addNotWritten(List<CompletionWrite> writes, int[] updated, List<CompletionWrite> notWritten) {
+        for (int i = 0; i < writes.size(); i++) {
+            if (updated[i] != 1 && updated[i] != Statement.SUCCESS_NO_INFO) {
+                notWritten.add(writes.get(i));
+            }
+        }
+    }
+
     @Override
-    @SuppressWarnings({"unchecked"})
     public Optional<Execution> pick(Execution e, Instant timePicked) {
+        final String pickedBy = truncate(schedulerSchedulerName.getName(), 50);
         final int updated = jdbcRunner.execute(
             "update " + tableName + " set picked = ?, picked_by = ?, last_heartbeat = ?, version = version + 1 " +
                 "where picked = ? " +
@@ -224,10 +716,10 @@ public class JdbcTaskRepository implements TaskRepository {
                 "and version = ?",
             ps -> {
                 ps.setBoolean(1, true);
-                ps.setString(2, truncate(schedulerSchedulerName.getName(), 50));
+                ps.setString(2, pickedBy);
                 jdbcCustomization.setInstant(ps, 3, timePicked);
                 ps.setBoolean(4, false);
-                ps.setString(5, e.taskInstance.getTaskName());
+                setTaskName(ps, 5, e.taskInstance.getTaskName());
                 ps.setString(6, e.taskInstance.getId());
                 ps.setLong(7, e.version);
             });
@@ -235,30 +727,163 @@ public class JdbcTaskRepository implements TaskRepository {
             LOG.trace("Failed to pick execution. It must have been picked by another scheduler.", e);
             return Optional.empty();
         } else if (updated == 1) {
-            final Optional<Execution> pickedExecution = getExecution(e.taskInstance);
-            if (!pickedExecution.isPresent()) {
-                throw new IllegalStateException("Unable to find picked execution. Must have been deleted by another thread. Indicates a bug.");
-            } else if (!pickedExecution.get().isPicked()) {
-                throw new IllegalStateException("Picked execution does not have expected state in database: " + pickedExecution.get());
-            }
-            return pickedExecution;
+            // the update matched the version we read, so the new state of the row is fully known without reading it back
+            return Optional.of(e.updateToPicked(pickedBy, timePicked));
         } else {
             throw new IllegalStateException("Updated multiple rows when picking single execution. Should never happen since name and id is primary key. Execution: " + e);
         }
     }
 
+    @Override
+    public List<Execution> pickBatch(List<Execution> candidates, Instant timePicked) {
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // consistent lock-order to avoid deadlocks between schedulers picking overlapping batches
+        final List<Integer> lockOrder = IntStream.range(0, candidates.size()).boxed().collect(toList());
+        lockOrder.sort(Comparator.comparing((Integer i) -> candidates.get(i).taskInstance.getTaskName())
+            .thenComparing(i -> candidates.get(i).taskInstance.getId()));
+        final String pickedBy = truncate(schedulerSchedulerName.getName(), 50);
+
+        final int[] updated = inTransaction(c -> {
+            try (PreparedStatement update = c.prepareStatement(
+                "update " + tableName + " set picked = ?, picked_by = ?, last_heartbeat = ?, version = version + 1 " +
+                    "where picked = ? " +
+                    "and task_name = ? " +
+                    "and task_instance = ? " +
+                    "and version = ?")) {
+                for (Integer i : lockOrder) {
+                    final Execution candidate = candidates.get(i);
+                    update.setBoolean(1, true);
+                    update.setString(2, pickedBy);
+                    jdbcCustomization.setInstant(update, 3, timePicked);
+                    update.setBoolean(4, false);
+                    setTaskName(update, 5, candidate.taskInstance.getTaskName());
+                    update.setString(6, candidate.taskInstance.getId());
+                    update.setLong(7, candidate.version);
+                    update.addBatch();
+                }
+                return update.executeBatch();
+            }
+        });
+
+        final boolean[] won = new boolean[candidates.size()];
+        for (int batchIndex = 0; batchIndex < lockOrder.size(); batchIndex++) {
+            final int i = lockOrder.get(batchIndex);
+            final Execution candidate = candidates.get(i);
+            final int count = updated[batchIndex];
+            if (count == 1 || (count == Statement.SUCCESS_NO_INFO && isPickedByThisScheduler(candidate, pickedBy))) {
+                won[i] = true;
+            } else if (count == 0 || count == Statement.SUCCESS_NO_INFO) {
+                LOG.trace("Failed to pick execution. It must have been picked by another scheduler. Execution: {}", candidate);
+            } else {
+                throw new IllegalStateException("Updated multiple rows when picking single execution. Should never happen since name and id is primary key. Execution: " + candidate);
+            }
+        }
+
+        final List<Execution> picked = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (won[i]) {
+                picked.add(candidates.get(i).updateToPicked(pickedBy, timePicked));
+            }
+        }
+        return picked;
+    }
+
+    private boolean isPickedByThisScheduler(Execution candidate, String pickedBy) {
+        // driver did not report update-counts for the batch, have to check the database
+        return getExecution(tableName, candidate.taskInstance.getTaskName(), candidate.taskInstance.getId())
+            .map(e -> e.isPicked() && e.version == candidate.version + 1 && pickedBy.equals(e.pickedBy))
+            .orElse(false);
+    }
+
+    @Override
+    public List<Execution> lockAndFetch(Instant now, int limit) {
+        return lockAndFetch(now, limit, TaskNameFilter.ALL);
+    }
+
+    @Override
+    public List<Execution> lockAndFetch(Instant now, int limit, TaskNameFilter taskNameFilter) {
+        if (!partitioning.isEnabled() || partitioning.getOwnPartitions().isEmpty()) {
+            return lockAndFetch(now, limit, taskNameFilter, PartitionFilter.ALL);
+        }
+
+        final List<Execution> picked = lockAndFetch(now, limit, taskNameFilter, PartitionFilter.own(partitioning));
+        return picked.isEmpty() ? lockAndFetch(now, limit, taskNameFilter, PartitionFilter.others(partitioning)) : picked;
+    }
+
+    private List<Execution> lockAndFetch(Instant now, int limit, TaskNameFilter taskNameFilter, PartitionFilter partitionFilter) {
+        final UnresolvedFilter unresolvedFilter = unresolvedFilter();
+        final TaskNameCondition taskNameCondition = new TaskNameCondition(taskNameFilter);
+        final DueOrder dueOrder = new DueOrder(priorityOrdering, now);
+        // the limit may be part of the statement text, it rarely varies between polls
+        final String selectForUpdateQuery = unresolvedFilter.statement("lock-and-fetch" + limit + taskNameCondition.shape() + partitionFilter.shape(), () ->
+            jdbcCustomization.createSelectForUpdateSkipLockedQuery(tableName,
+                "picked = ? and execution_time <= ? " + unresolvedFilter.andCondition() + taskNameCondition.andCondition() + partitionFilter.andCondition(), dueOrder.orderBy(), limit));
+        final String pickedBy = truncate(schedulerSchedulerName.getName(), 50);
+
+        return inTransaction(c -> {
+            final List<Execution> candidates;
+            try (PreparedStatement select = c.prepareStatement(selectForUpdateQuery)) {
+                int index = 1;
+                select.setBoolean(index++, false);
+                jdbcCustomization.setInstant(select, index++, now);
+                index = unresolvedFilter.setParameters(select, index);
+                index = taskNameCondition.setParameters(select, index);
+                index = partitionFilter.setParameters(select, index);
+                dueOrder.setParameters(select, index);
+                select.setMaxRows(limit);
+                try (ResultSet rs = select.executeQuery()) {
+                    candidates = new ExecutionResultSetMapper(true).map(rs);
+                }
+            }
+
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+
+            try (PreparedStatement update = c.prepareStatement(
+                "update " + tableName + " set picked = ?, picked_by = ?, last_heartbeat = ?, version = version + 1 " +
+                    "where task_name = ? " +
+                    "and task_instance = ? " +
+                    "and version = ?")) {
+                for (Execution candidate : candidates) {
+                    update.setBoolean(1, true);
+                    update.setString(2, pickedBy);
+                    jdbcCustomization.setInstant(update, 3, now);
+                    setTaskName(update, 4, candidate.taskInstance.getTaskName());
+                    update.setString(5, candidate.taskInstance.getId());
+                    update.setLong(6, candidate.version);
+                    update.addBatch();
+                }
+                final int[] updated = update.executeBatch();
+                for (int i = 0; i < updated.length; i++) {
+                    if (updated[i] != 1 && updated[i] != Statement.SUCCESS_NO_INFO) {
+                        throw new IllegalStateException("Failed to pick locked execution. Should never happen since the row is locked by this transaction. Execution: " + candidates.get(i));
+                    }
+                }
+            }
+
+            return candidates.stream()
+                .map(candidate -> candidate.updateToPicked(pickedBy, now))
+                .collect(toList());
+        });
+    }
+
     @Override
     public List<Execution> getDeadExecutions(Instant olderThan) {
-        final UnresolvedFilter unresolvedFilter = new UnresolvedFilter(taskResolver.getUnresolved());
+        final UnresolvedFilter unresolvedFilter = unresolvedFilter();
         return jdbcRunner.query(
-            "select * from " + tableName + " where picked = ? and last_heartbeat <= ? " + unresolvedFilter.andCondition() + " order by last_heartbeat asc",
+            unresolvedFilter.statement("dead", () ->
+                "select " + metadataColumns() + " from " + tableName + " where picked = ? and last_heartbeat <= ? " + unresolvedFilter.andCondition() + " order by last_heartbeat asc"),
             (PreparedStatement p) -> {
                 int index = 1;
                 p.setBoolean(index++, true);
                 jdbcCustomization.setInstant(p, index++, olderThan);
                 unresolvedFilter.setParameters(p, index);
             },
-            new ExecutionResultSetMapper()
+            new ExecutionResultSetMapper(false)
         );
     }
 
@@ -272,7 +897,7 @@ public class JdbcTaskRepository implements TaskRepository {
                 "and version = ?",
             ps -> {
                 jdbcCustomization.setInstant(ps, 1, newHeartbeat);
-                ps.setString(2, e.taskInstance.getTaskName());
+                setTaskName(ps, 2, e.taskInstance.getTaskName());
                 ps.setString(3, e.taskInstance.getId());
                 ps.setLong(4, e.version);
             });
@@ -287,36 +912,152 @@ public class JdbcTaskRepository implements TaskRepository {
         }
     }
 
+    @Override
+    public List<Execution> updateHeartbeats(Collection<Execution> executions, Instant newHeartbeat) {
+        if (executions.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // consistent lock-order to avoid deadlocks with schedulers picking or updating overlapping rows
+        final List<Execution> ordered = new ArrayList<>(executions);
+        ordered.sort(Comparator.comparing((Execution e) -> e.taskInstance.getTaskName())
+            .thenComparing(e -> e.taskInstance.getId()));
+
+        final int[] updated = inTransaction(c -> {
+            try (PreparedStatement update = c.prepareStatement(
+                "update " + tableName + " set last_heartbeat = ? " +
+                    "where task_name = ? " +
+                    "and task_instance = ? " +
+                    "and version = ?")) {
+                for (Execution e : ordered) {
+                    jdbcCustomization.setInstant(update, 1, newHeartbeat);
+                    setTaskName(update, 2, e.taskInstance.getTaskName());
+                    update.setString(3, e.taskInstance.getId());
+                    update.setLong(4, e.version);
+                    update.addBatch();
+                }
+                return update.executeBatch();
+            }
+        });
+
+        final List<Execution> notUpdated = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            final Execution e = ordered.get(i);
+            if (updated[i] == 0) {
+                LOG.trace("Did not update heartbeat. Execution must have been removed or rescheduled: {}", e);
+                notUpdated.add(e);
+            } else if (updated[i] > 1) {
+                throw new IllegalStateException("Updated multiple rows updating heartbeat for execution. Should never happen since name and id is primary key. Execution: " + e);
+            }
+        }
+        LOG.debug("Updated heartbeat for {} of {} executions.", ordered.size() - notUpdated.size(), ordered.size());
+        return notUpdated;
+    }
+
     @Override
     public List<Execution> getExecutionsFailingLongerThan(Duration interval) {
-        UnresolvedFilter unresolvedFilter = new UnresolvedFilter(taskResolver.getUnresolved());
+        final UnresolvedFilter unresolvedFilter = unresolvedFilter();
         return jdbcRunner.query(
-            "select * from " + tableName + " where " +
-                "    ((last_success is null and last_failure is not null)" +
-                "    or (last_failure is not null and last_success < ?)) " +
-                unresolvedFilter.andCondition(),
+            unresolvedFilter.statement("failing", () ->
+                "select " + metadataColumns() + " from " + tableName + " where " +
+                    "    ((last_success is null and last_failure is not null)" +
+                    "    or (last_failure is not null and last_success < ?)) " +
+                    unresolvedFilter.andCondition()),
             (PreparedStatement p) -> {
                 int index = 1;
                 jdbcCustomization.setInstant(p, index++, Instant.now().minus(interval));
                 unresolvedFilter.setParameters(p, index);
             },
-            new ExecutionResultSetMapper()
+            new ExecutionResultSetMapper(false)
 
         );
     }
 
+    /**
+     * Columns needed for an {@link Execution}, except task_data. Polling and listing queries select only these,
+     * since most executions polled are never picked, or have their data accessed.
+     */
+    private String metadataColumns() {
+        return "task_name, task_instance, execution_time, picked, picked_by, last_success, last_failure, consecutive_failures, last_heartbeat, version" +
+            (priorityOrdering.isEnabled() ? ", priority" : "");
+    }
+
+    /**
+     * Loads the data of an execution fetched with the given version. Fails if the execution has since been modified,
+     * e.g. rescheduled with new data, other than by being picked by this scheduler.
+     */
+    private byte[] getTaskData(String taskName, String taskInstanceId, long version) {
+        List<TaskData> data = getTaskData(tableName, taskName, taskInstanceId);
+        if (data.isEmpty() && futureTable.isEnabled()) {
+            data = getTaskData(futureTable.getTableName(), taskName, taskInstanceId);
+            if (data.isEmpty()) {
+                data = getTaskData(tableName, taskName, taskInstanceId);
+            }
+        }
+        if (data.isEmpty()) {
+            LOG.debug("Execution removed before its data was loaded. Task name/id: '{}'/'{}'", taskName, taskInstanceId);
+            return null;
+        }
+        final TaskData found = data.get(0);
+        // picking increments the version, but does not change the data
+        final boolean pickedByThisScheduler = found.version == version + 1 && found.picked && schedulerSchedulerName.getName().equals(found.pickedBy);
+        if (found.version != version && !pickedByThisScheduler) {
+            throw new RuntimeException("Execution modified before its data was loaded. Expected version " + version + ", but was " +
+                found.version + ". Task name/id: '" + taskName + "'/'" + taskInstanceId + "'");
+        }
+        return found.data;
+    }
+
+    private List<TaskData> getTaskData(String table, String taskName, String taskInstanceId) {
+        final String select = taskDataTable.isEnabled()
+            ? "select e.version, e.picked, e.picked_by, d.task_data from " + table + " e left join " + taskDataTable.getTableName() +
+                " d on d.task_name = e.task_name and d.task_instance = e.task_instance where e.task_name = ? and e.task_instance = ?"
+            : "select version, picked, picked_by, task_data from " + table + " where task_name = ? and task_instance = ?";
+        return jdbcRunner.query(select,
+            (PreparedStatement p) -> {
+                setTaskName(p, 1, taskName);
+                p.setString(2, taskInstanceId);
+            },
+            (RowMapper<TaskData>) rs -> new TaskData(rs.getLong("version"), rs.getBoolean("picked"), rs.getString("picked_by"), rs.getBytes("task_data")));
+    }
+
+    private static class TaskData {
+        private final long version;
+        private final boolean picked;
+        private final String pickedBy;
+        private final byte[] data;
+
+        private TaskData(long version, boolean picked, String pickedBy, byte[] data) {
+            this.version = version;
+            this.picked = picked;
+            this.pickedBy = pickedBy;
+            this.data = data;
+        }
+    }
+
     public Optional<Execution> getExecution(TaskInstance taskInstance) {
         return getExecution(taskInstance.getTaskName(), taskInstance.getId());
     }
 
     public Optional<Execution> getExecution(String taskName, String taskInstanceId) {
+        if (futureTable.isEnabled()) {
+            // executions are only moved from the future-table, so one moved concurrently will be found in the executions-table
+            final Optional<Execution> future = getExecution(futureTable.getTableName(), taskName, taskInstanceId);
+            if (future.isPresent()) {
+                return future;
+            }
+        }
+        return getExecution(tableName, taskName, taskInstanceId);
+    }
+
+    private Optional<Execution> getExecution(String table, String taskName, String taskInstanceId) {
         final List<Execution> executions = jdbcRunner.query(
-            "select * from " + tableName + " where task_name = ? and task_instance = ?",
+            "select * from " + table + " where task_name = ? and task_instance = ?",
             (PreparedStatement p) -> {
-                p.setString(1, taskName);
+                setTaskName(p, 1, taskName);
                 p.setString(2, taskInstanceId);
             },
-            new ExecutionResultSetMapper()
+            new ExecutionResultSetMapper(true)
         );
         if (executions.size() > 1) {
             throw new RuntimeException(String.format("Found more than one matching execution for task name/id combination: '%s'/'%s'", taskName, taskInstanceId));
@@ -327,10 +1068,240 @@ public class JdbcTaskRepository implements TaskRepository {
 
     @Override
     public int removeExecutions(String taskName) {
-        return jdbcRunner.execute("delete from " + tableName + " where task_name = ?",
+        final int removedFuture = futureTable.isEnabled() ? removeExecutions(futureTable.getTableName(), taskName) : 0;
+        return removedFuture + removeExecutions(tableName, taskName);
+    }
+
+    private int removeExecutions(String table, String taskName) {
+        if (!taskDataTable.isEnabled()) {
+            return jdbcRunner.execute("delete from " + table + " where task_name = ?",
+                (PreparedStatement p) -> {
+                    setTaskName(p, 1, taskName);
+                });
+        }
+        final String dataTable = taskDataTable.getTableName();
+        return inTransaction(c -> {
+            final int removed;
+            try (PreparedStatement delete = c.prepareStatement("delete from " + table + " where task_name = ?")) {
+                setTaskName(delete, 1, taskName);
+                removed = delete.executeUpdate();
+            }
+            try (PreparedStatement delete = c.prepareStatement("delete from " + dataTable + " where task_name = ?" + notExistsCondition(dataTable))) {
+                setTaskName(delete, 1, taskName);
+                delete.executeUpdate();
+            }
+            return removed;
+        });
+    }
+
+    private void insertTaskData(Connection c, List<TaskInstance> taskInstances) throws SQLException {
+        try (PreparedStatement insert = c.prepareStatement("insert into " + taskDataTable.getTableName() + "(task_name, task_instance, task_data) values(?, ?, ?)")) {
+            int inserts = 0;
+            for (TaskInstance taskInstance : taskInstances) {
+                // no row for null data
+                final byte[] data = serializer.serialize(taskInstance.getData());
+                if (data == null) {
+                    continue;
+                }
+                setTaskName(insert, 1, taskInstance.getTaskName());
+                insert.setString(2, taskInstance.getId());
+                insert.setObject(3, data);
+                insert.addBatch();
+                inserts++;
+            }
+            if (inserts > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private void replaceTaskData(Connection c, List<TaskInstance> taskInstances, List<Object> newData) throws SQLException {
+        if (taskInstances.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement delete = c.prepareStatement("delete from " + taskDataTable.getTableName() + " where task_name = ? and task_instance = ?")) {
+            for (TaskInstance taskInstance : taskInstances) {
+                setTaskName(delete, 1, taskInstance.getTaskName());
+                delete.setString(2, taskInstance.getId());
+                delete.addBatch();
+            }
+            delete.executeBatch();
+        }
+        final List<TaskInstance> withNewData = new ArrayList<>();
+        for (int i = 0; i < taskInstances.size(); i++) {
+            withNewData.add(new TaskInstance<>(taskInstances.get(i).getTaskName(), taskInstances.get(i).getId(), newData.get(i)));
+        }
+        insertTaskData(c, withNewData);
+    }
+
+    /**
+     * Data is shared by an execution in the executions-table and the future-table, so it is only deleted when there
+     * is no execution left for the task-instance.
+     */
+    private void deleteOrphanedTaskData(Connection c, List<TaskInstance> taskInstances) throws SQLException {
+        if (taskInstances.isEmpty()) {
+            return;
+        }
+        final String dataTable = taskDataTable.getTableName();
+        try (PreparedStatement delete = c.prepareStatement("delete from " + dataTable + " where task_name = ? and task_instance = ?" + notExistsCondition(dataTable))) {
+            for (TaskInstance taskInstance : taskInstances) {
+                setTaskName(delete, 1, taskInstance.getTaskName());
+                delete.setString(2, taskInstance.getId());
+                delete.addBatch();
+            }
+            delete.executeBatch();
+        }
+    }
+
+    private String notExistsCondition(String dataTable) {
+        final String correlation = " where e.task_name = " + dataTable + ".task_name and e.task_instance = " + dataTable + ".task_instance)";
+        return " and not exists (select 1 from " + tableName + " e" + correlation +
+            (futureTable.isEnabled() ? " and not exists (select 1 from " + futureTable.getTableName() + " e" + correlation : "");
+    }
+
+    /**
+     * Moves executions in the {@link FutureTable} due before {@code dueBefore} to the executions-table.
+     *
+     * @return the number of executions moved
+     */
+    public int moveFutureExecutions(Instant dueBefore, int limit) {
+        if (!futureTable.isEnabled()) {
+            return 0;
+        }
+        final boolean explicitLimit = jdbcCustomization.supportsExplicitQueryLimit();
+        final String columns = "task_name, task_instance, version";
+        final String condition = "execution_time <= ?";
+        final List<FutureRow> rows = jdbcRunner.query(
+            explicitLimit
+                ? jdbcCustomization.createSelectWithLimitQuery(futureTable.getTableName(), columns, condition, "execution_time asc")
+                : "select " + columns + " from " + futureTable.getTableName() + " where " + condition + " order by execution_time asc",
             (PreparedStatement p) -> {
-                p.setString(1, taskName);
-            });
+                jdbcCustomization.setInstant(p, 1, dueBefore);
+                if (explicitLimit) {
+                    p.setInt(2, limit);
+                } else {
+                    p.setMaxRows(limit);
+                }
+            },
+            (RowMapper<FutureRow>) rs -> new FutureRow(getTaskName(rs), rs.getString("task_instance"), rs.getLong("version")));
+        return move(rows);
+    }
+
+    private int move(List<FutureRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            return inTransaction(c -> move(c, rows));
+        } catch (SQLRuntimeException e) {
+            LOG.debug("Exception when moving batch of executions from the future-table. Moving one by one.", e);
+            return (int) rows.stream().filter(this::moveOne).count();
+        }
+    }
+
+    private boolean moveOne(FutureRow row) {
+        try {
+            return inTransaction(c -> move(c, Collections.singletonList(row))) == 1;
+        } catch (SQLRuntimeException e) {
+            if (getExecution(tableName, row.taskName, row.taskInstanceId).isPresent()) {
+                // expected when moved concurrently by another scheduler, otherwise created in both tables concurrently
+                LOG.debug("Execution exists in both the executions-table and the future-table, removing the latter. Task name/id: '{}'/'{}'", row.taskName, row.taskInstanceId);
+                jdbcRunner.execute("delete from " + futureTable.getTableName() + " where task_name = ? and task_instance = ? and version = ?",
+                    (PreparedStatement p) -> setFutureRowParameters(p, row));
+            } else {
+                LOG.warn("Failed to move execution from the future-table, will retry. Task name/id: '{}'/'{}'", row.taskName, row.taskInstanceId, e);
+            }
+            return false;
+        }
+    }
+
+    private int move(Connection c, List<FutureRow> rows) throws SQLException {
+        final String columns = String.join(", ", allColumns());
+        try (PreparedStatement insert = c.prepareStatement("insert into " + tableName + "(" + columns + ") select " + columns +
+                " from " + futureTable.getTableName() + " where task_name = ? and task_instance = ? and version = ?");
+             PreparedStatement delete = c.prepareStatement("delete from " + futureTable.getTableName() + " where task_name = ? and task_instance = ? and version = ?")) {
+            for (FutureRow row : rows) {
+                setFutureRowParameters(insert, row);
+                insert.addBatch();
+                setFutureRowParameters(delete, row);
+                delete.addBatch();
+            }
+            final int[] inserted = insert.executeBatch();
+            final int[] deleted = delete.executeBatch();
+            int moved = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                if (inserted[i] != deleted[i]) {
+                    // modified between the insert and delete, roll back and retry one by one
+                    throw new SQLException("Execution modified while being moved from the future-table. Task name/id: " + rows.get(i).taskName + "/" + rows.get(i).taskInstanceId);
+                }
+                moved += inserted[i] == Statement.SUCCESS_NO_INFO ? 1 : inserted[i];
+            }
+            return moved;
+        }
+    }
+
+    private void setFutureRowParameters(PreparedStatement p, FutureRow row) throws SQLException {
+        setTaskName(p, 1, row.taskName);
+        p.setString(2, row.taskInstanceId);
+        p.setLong(3, row.version);
+    }
+
+    private List<String> allColumns() {
+        final List<String> columns = new ArrayList<>(Arrays.asList("task_name", "task_instance", "task_data", "execution_time", "picked", "picked_by",
+            "last_success", "last_failure", "consecutive_failures", "last_heartbeat", "version"));
+        if (taskDataTable.isEnabled()) {
+            columns.remove("task_data");
+        }
+        if (partitioning.isEnabled()) {
+            columns.add("partition_number");
+        }
+        if (priorityOrdering.isEnabled()) {
+            columns.add("priority");
+        }
+        return columns;
+    }
+
+    private static class FutureRow {
+        private final String taskName;
+        private final String taskInstanceId;
+        private final long version;
+
+        private FutureRow(String taskName, String taskInstanceId, long version) {
+            this.taskName = taskName;
+            this.taskInstanceId = taskInstanceId;
+            this.version = version;
+        }
+    }
+
+    private <T> T inTransaction(DoInTransaction<T> doInTransaction) {
+        try (Connection c = dataSource.getConnection()) {
+            final boolean originalAutoCommit = c.getAutoCommit();
+            if (originalAutoCommit) {
+                c.setAutoCommit(false);
+            }
+            try {
+                final T result = doInTransaction.doInTransaction(c);
+                c.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    c.rollback();
+                } catch (SQLException rollbackException) {
+                    e.addSuppressed(rollbackException);
+                }
+                throw e;
+            } finally {
+                if (originalAutoCommit) {
+                    c.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    private interface DoInTransaction<T> {
+        T doInTransaction(Connection c) throws SQLException;
     }
 
     private class ExecutionResultSetMapper implements ResultSetMapper<List<Execution>> {
@@ -339,9 +1310,9 @@ public class JdbcTaskRepository implements TaskRepository {
 
         private final ExecutionResultSetConsumer delegate;
 
-        private ExecutionResultSetMapper() {
+        private ExecutionResultSetMapper(boolean includesData) {
             this.executions = new ArrayList<>();
-            this.delegate = new ExecutionResultSetConsumer(executions::add);
+            this.delegate = new ExecutionResultSetConsumer(executions::add, includesData);
         }
 
         @Override
@@ -355,16 +1326,21 @@ public class JdbcTaskRepository implements TaskRepository {
     private class ExecutionResultSetConsumer implements ResultSetMapper<Void> {
 
         private final Consumer<Execution> consumer;
+        private final boolean includesData;
 
-        private ExecutionResultSetConsumer(Consumer<Execution> consumer) {
+        /**
+         * @param includesData whether task_data is selected. If not, it is loaded on first access of the data.
+         */
+        private ExecutionResultSetConsumer(Consumer<Execution> consumer, boolean includesData) {
             this.consumer = consumer;
+            this.includesData = includesData && !taskDataTable.isEnabled();
         }
 
         @Override
         public Void map(ResultSet rs) throws SQLException {
 
             while (rs.next()) {
-                String taskName = rs.getString("task_name");
+                String taskName = getTaskName(rs);
                 Optional<Task> task = taskResolver.resolve(taskName);
 
                 if (!task.isPresent()) {
@@ -373,7 +1349,7 @@ public class JdbcTaskRepository implements TaskRepository {
                 }
 
                 String instanceId = rs.getString("task_instance");
-                byte[] data = rs.getBytes("task_data");
+                byte[] data = includesData ? rs.getBytes("task_data") : null;
 
                 Instant executionTime = jdbcCustomization.getInstant(rs, "execution_time");
 
@@ -387,8 +1363,18 @@ public class JdbcTaskRepository implements TaskRepository {
 
                 long version = rs.getLong("version");
 
-                Supplier dataSupplier = memoize(() -> serializer.deserialize(task.get().getDataClass(), data));
-                this.consumer.accept(new Execution(executionTime, new TaskInstance(taskName, instanceId, dataSupplier), picked, pickedBy, lastSuccess, lastFailure, consecutiveFailures, lastHeartbeat, version));
+                int priority = task.get().getDefaultPriority();
+                if (priorityOrdering.isEnabled()) {
+                    final int persistedPriority = rs.getInt("priority");
+                    if (!rs.wasNull()) {
+                        priority = persistedPriority;
+                    }
+                }
+
+                Supplier dataSupplier = includesData
+                    ? memoize(() -> serializer.deserialize(task.get().getDataClass(), data))
+                    : memoize(() -> serializer.deserialize(task.get().getDataClass(), getTaskData(taskName, instanceId, version)));
+                this.consumer.accept(new Execution(executionTime, new TaskInstance(taskName, instanceId, dataSupplier, priority), picked, pickedBy, lastSuccess, lastFailure, consecutiveFailures, lastHeartbeat, version));
             }
 
             return null;
@@ -423,24 +1409,224 @@ public class JdbcTaskRepository implements TaskRepository {
         }
     }
 
-    private static class UnresolvedFilter {
-        private final List<UnresolvedTask> unresolved;
+    /**
+     * Ids are assigned up front, since doing so writes using a connection of its own, and must not happen on read
+     * paths or while holding the connection of a transaction.
+     */
+    private void assignTaskNameIds(List<Execution> executions) {
+        if (taskNameDictionary != null) {
+            executions.stream().map(e -> e.taskInstance.getTaskName()).distinct().forEach(taskNameDictionary::idOf);
+        }
+    }
+
+    /**
+     * With the compact schema, a task-name without an id has no executions, and matches no rows.
+     */
+    private void setTaskName(PreparedStatement p, int index, String taskName) throws SQLException {
+        if (taskNameDictionary != null) {
+            p.setInt(index, taskNameDictionary.findId(p.getConnection(), taskName).orElse(TaskNameDictionary.NO_ID));
+        } else {
+            p.setString(index, taskName);
+        }
+    }
+
+    private String getTaskName(ResultSet rs) throws SQLException {
+        return taskNameDictionary != null ? taskNameDictionary.nameOf(rs.getInt("task_name")) : rs.getString("task_name");
+    }
 
-        public UnresolvedFilter(List<UnresolvedTask> unresolved) {
-            this.unresolved = unresolved;
+    private UnresolvedFilter unresolvedFilter() {
+        final List<String> unresolvedTaskNames = taskResolver.getUnresolvedTaskNames();
+        UnresolvedFilter current = this.unresolvedFilter;
+        // TaskResolver hands out a new snapshot only when the unresolved tasks change
+        if (current == null || current.unresolvedTaskNames != unresolvedTaskNames) {
+            current = new UnresolvedFilter(unresolvedTaskNames);
+            this.unresolvedFilter = current;
+        }
+        return current;
+    }
+
+    private class UnresolvedFilter {
+        private final List<String> unresolvedTaskNames;
+        private final String andCondition;
+        private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+        UnresolvedFilter(List<String> unresolvedTaskNames) {
+            this.unresolvedTaskNames = unresolvedTaskNames;
+            this.andCondition = unresolvedTaskNames.isEmpty() ? "" :
+                "and task_name not in (" + unresolvedTaskNames.stream().map(ignored -> "?").collect(joining(",")) + ")";
+        }
+
+        public String andCondition() {
+            return andCondition;
+        }
+
+        /**
+         * Statement text for the query of the given shape, built once for this set of unresolved tasks.
+         */
+        public String statement(String shape, Supplier<String> sql) {
+            return statements.computeIfAbsent(shape, ignored -> sql.get());
+        }
+
+        public int setParameters(PreparedStatement p, int index) throws SQLException {
+            for (String taskName : unresolvedTaskNames) {
+                setTaskName(p, index++, taskName);
+            }
+            return index;
+        }
+    }
+
+    private class TaskNameCondition {
+        private final TaskNameFilter taskNameFilter;
+
+        TaskNameCondition(TaskNameFilter taskNameFilter) {
+            this.taskNameFilter = taskNameFilter;
+        }
+
+        public String shape() {
+            return (taskNameFilter.isInclude() ? ":in" : ":not-in") + taskNameFilter.getTaskNames().size();
         }
 
         public String andCondition() {
-            return unresolved.isEmpty() ? "" :
-                "and task_name not in (" + unresolved.stream().map(ignored -> "?").collect(joining(",")) + ")";
+            if (taskNameFilter.getTaskNames().isEmpty()) {
+                // an empty include-filter is expected to be handled by the caller, rather than issuing a query
+                return taskNameFilter.isInclude() ? " and 1 = 0" : "";
+            }
+            return " and task_name " + (taskNameFilter.isInclude() ? "in" : "not in") + " (" +
+                taskNameFilter.getTaskNames().stream().map(ignored -> "?").collect(joining(",")) + ")";
         }
 
         public int setParameters(PreparedStatement p, int index) throws SQLException {
-            final List<String> unresolvedTasknames = unresolved.stream().map(UnresolvedTask::getTaskName).collect(toList());
-            for (String taskName : unresolvedTasknames) {
-                p.setString(index++, taskName);
+            for (String taskName : taskNameFilter.getTaskNames()) {
+                setTaskName(p, index++, taskName);
             }
             return index;
         }
     }
+
+    private static class PartitionFilter {
+        static final PartitionFilter ALL = new PartitionFilter(new ArrayList<>(), false);
+
+        private final List<Integer> partitions;
+        private final boolean exclude;
+
+        private PartitionFilter(List<Integer> partitions, boolean exclude) {
+            this.partitions = partitions;
+            this.exclude = exclude;
+        }
+
+        static PartitionFilter own(Partitioning partitioning) {
+            return new PartitionFilter(new ArrayList<>(partitioning.getOwnPartitions()), false);
+        }
+
+        static PartitionFilter others(Partitioning partitioning) {
+            return new PartitionFilter(new ArrayList<>(partitioning.getOwnPartitions()), true);
+        }
+
+        public String shape() {
+            return (exclude ? ":partitions-not-in" : ":partitions-in") + partitions.size();
+        }
+
+        public String andCondition() {
+            if (partitions.isEmpty()) {
+                return "";
+            }
+            final String in = "partition_number in (" + partitions.stream().map(ignored -> "?").collect(joining(",")) + ")";
+            // executions created without partitioning have no partition_number, anyone may take those
+            return exclude ? " and (partition_number is null or not " + in + ")" : " and " + in;
+        }
+
+        public int setParameters(PreparedStatement p, int index) throws SQLException {
+            for (Integer partition : partitions) {
+                p.setInt(index++, partition);
+            }
+            return index;
+        }
+    }
+
+    private class DueOrder {
+        private final PriorityOrdering priorityOrdering;
+        private final Instant now;
+
+        DueOrder(PriorityOrdering priorityOrdering, Instant now) {
+            this.priorityOrdering = priorityOrdering;
+            this.now = now;
+        }
+
+        public String orderBy() {
+            if (!priorityOrdering.isEnabled()) {
+                return "execution_time asc";
+            }
+            // priority is null for executions created by clients not storing priorities, order them as the lowest
+            if (!priorityOrdering.getAgingAfter().isPresent()) {
+                // plain columns, so that the due executions can be read in order from the priority-index
+                return jdbcCustomization.orderByDescendingNullsLast("priority") + ", execution_time asc";
+            }
+            // executions due for longer than the aging-duration get the highest possible priority. No index matches the
+            // expression, so all due executions are sorted on each check
+            return jdbcCustomization.orderByDescendingNullsLast("case when execution_time <= ? then " + Integer.MAX_VALUE + " else priority end") + ", execution_time asc";
+        }
+
+        public int setParameters(PreparedStatement p, int index) throws SQLException {
+            if (priorityOrdering.getAgingAfter().isPresent()) {
+                jdbcCustomization.setInstant(p, index++, now.minus(priorityOrdering.getAgingAfter().get()));
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Optional features of the repository, all disabled by default. Must match between schedulers and clients using
+     * the same table.
+     */
+    public static class Settings {
+        private Serializer serializer = Serializer.DEFAULT_JAVA_SERIALIZER;
+        private Partitioning partitioning = Partitioning.NONE;
+        private PriorityOrdering priorityOrdering = PriorityOrdering.DISABLED;
+        private FutureTable futureTable = FutureTable.DISABLED;
+        private TaskDataTable taskDataTable = TaskDataTable.DISABLED;
+        private CompactSchema compactSchema = CompactSchema.DISABLED;
+        private TablePartitioning tablePartitioning = TablePartitioning.NONE;
+
+        private Settings() {
+        }
+
+        public static Settings create() {
+            return new Settings();
+        }
+
+        public Settings serializer(Serializer serializer) {
+            this.serializer = serializer;
+            return this;
+        }
+
+        public Settings partitioning(Partitioning partitioning) {
+            this.partitioning = partitioning;
+            return this;
+        }
+
+        public Settings priorityOrdering(PriorityOrdering priorityOrdering) {
+            this.priorityOrdering = priorityOrdering;
+            return this;
+        }
+
+        public Settings futureTable(FutureTable futureTable) {
+            this.futureTable = futureTable;
+            return this;
+        }
+
+        public Settings taskDataTable(TaskDataTable taskDataTable) {
+            this.taskDataTable = taskDataTable;
+            return this;
+        }
+
+        public Settings compactSchema(CompactSchema compactSchema) {
+            this.compactSchema = compactSchema;
+            return this;
+        }
+
+        public Settings tablePartitioning(TablePartitioning tablePartitioning) {
+            this.tablePartitioning = tablePartitioning;
+            return this;
+        }
+    }
 }
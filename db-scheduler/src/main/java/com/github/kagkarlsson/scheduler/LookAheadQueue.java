@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.scheduler.task.Execution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.github.kagkarlsson.scheduler.ExecutorUtils.defaultThreadFactoryWithPrefix;
+
+/**
+ * Holds executions fetched ahead of their execution-time, and dispatches each of them when it is due. Backed by a
+ * {@link ScheduledExecutorService}, i.e. a time-ordered heap served by a single timer-thread.
+ */
+class LookAheadQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LookAheadQueue.class);
+    private final Clock clock;
+    private final ScheduledExecutorService timer;
+    private final Map<String, Held> held = new HashMap<>();
+
+    LookAheadQueue(Clock clock) {
+        this.clock = clock;
+        this.timer = Executors.newSingleThreadScheduledExecutor(defaultThreadFactoryWithPrefix(Scheduler.THREAD_PREFIX + "-look-ahead-"));
+    }
+
+    /**
+     * Splits {@code fetched} into executions to dispatch right away, and executions due after {@code now} which are
+     * held until their execution-time, replacing the ones currently held. Executions already held, unchanged since
+     * they were fetched, keep their timer and are not returned even if due, so they are not dispatched twice.
+     *
+     * @return the executions due at {@code now} and not already held, in the order of {@code fetched}
+     */
+    synchronized List<Execution> hold(List<Execution> fetched, Instant now, Consumer<Execution> dispatch) {
+        final Map<String, Held> previouslyHeld = new HashMap<>(held);
+        held.clear();
+
+        final List<Execution> due = new ArrayList<>();
+        final List<Execution> upcoming = new ArrayList<>();
+        for (Execution execution : fetched) {
+            final Held existing = previouslyHeld.remove(keyOf(execution));
+            if (existing != null && existing.isSame(execution)) {
+                held.put(keyOf(execution), existing);
+            } else if (execution.executionTime.isAfter(now)) {
+                if (existing != null) {
+                    existing.future.cancel(false);
+                }
+                upcoming.add(execution);
+            } else {
+                if (existing != null) {
+                    existing.future.cancel(false);
+                }
+                due.add(execution);
+            }
+        }
+        // no longer among the first due, or picked elsewhere
+        previouslyHeld.values().forEach(h -> h.future.cancel(false));
+
+        // dispatched in list-order when due at the same time
+        upcoming.sort(PriorityOrdering.EXECUTION_ORDER);
+        for (Execution execution : upcoming) {
+            final long delayMillis = Math.max(0, Duration.between(clock.now(), execution.executionTime).toMillis());
+            final ScheduledFuture<?> future = timer.schedule(() -> {
+                if (release(execution)) {
+                    dispatch.accept(execution);
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS);
+            held.put(keyOf(execution), new Held(execution, future));
+        }
+        LOG.trace("Holding {} executions due within the look-ahead window.", held.size());
+        return due;
+    }
+
+    private synchronized boolean release(Execution execution) {
+        final Held h = held.get(keyOf(execution));
+        if (h == null || !h.isSame(execution)) {
+            // replaced or cleared after the timer fired
+            return false;
+        }
+        held.remove(keyOf(execution));
+        return true;
+    }
+
+    synchronized void clear() {
+        held.values().forEach(h -> h.future.cancel(false));
+        held.clear();
+    }
+
+    synchronized int size() {
+        return held.size();
+    }
+
+    void stop() {
+        clear();
+        if (!ExecutorUtils.shutdownNowAndAwaitTermination(timer, Duration.ofSeconds(5))) {
+            LOG.warn("Failed to shutdown look-ahead-executor properly.");
+        }
+    }
+
+    private static String keyOf(Execution execution) {
+        return execution.taskInstance.getTaskAndInstance();
+    }
+
+    private static class Held {
+        private final Execution execution;
+        private final ScheduledFuture<?> future;
+
+        Held(Execution execution, ScheduledFuture<?> future) {
+            this.execution = execution;
+            this.future = future;
+        }
+
+        boolean isSame(Execution other) {
+            return execution.version == other.version && execution.executionTime.equals(other.executionTime);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+/**
+ * Channel for telling all schedulers in a cluster that there are executions due right now, so they may check for due
+ * executions without waiting for the next poll.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Notify all schedulers listening on the channel that there are executions due.
+     */
+    void notifyExecutionsDue();
+
+    /**
+     * @param onExecutionsDue invoked, on an arbitrary thread, for notifications received
+     */
+    void startListening(Runnable onExecutionsDue);
+
+    void stopListening();
+
+    NotificationChannel NOOP = new NotificationChannel() {
+
+        @Override
+        public void notifyExecutionsDue() {
+        }
+
+        @Override
+        public void startListening(Runnable onExecutionsDue) {
+        }
+
+        @Override
+        public void stopListening() {
+        }
+    };
+}
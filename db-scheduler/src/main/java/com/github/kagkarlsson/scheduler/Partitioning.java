@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.scheduler.task.TaskInstance;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Spreads executions over a fixed number of partitions, based on a stable hash of the task-instance id. A scheduler
+ * owning a set of partitions checks for due executions in those first, and only takes executions from other
+ * partitions when there is capacity left. When each scheduler in a cluster owns a distinct set of partitions, they
+ * rarely compete for the same executions.
+ *
+ * <p>Requires the column {@code partition_number} in the executions-table.
+ */
+public class Partitioning {
+
+    public static final Partitioning NONE = new Partitioning(0, Collections.emptySet());
+
+    private final int numberOfPartitions;
+    private final Set<Integer> ownPartitions;
+
+    private Partitioning(int numberOfPartitions, Set<Integer> ownPartitions) {
+        this.numberOfPartitions = numberOfPartitions;
+        this.ownPartitions = ownPartitions;
+    }
+
+    /**
+     * @param numberOfPartitions must be the same for all schedulers and clients using the table
+     * @param ownPartitions partitions, in the range {@code [0, numberOfPartitions)}, to check for due executions first
+     */
+    public static Partitioning of(int numberOfPartitions, Collection<Integer> ownPartitions) {
+        if (numberOfPartitions <= 0) {
+            throw new IllegalArgumentException("numberOfPartitions must be a positive integer");
+        }
+        for (Integer partition : ownPartitions) {
+            if (partition < 0 || partition >= numberOfPartitions) {
+                throw new IllegalArgumentException("Partition " + partition + " is outside range [0, " + numberOfPartitions + ")");
+            }
+        }
+        return new Partitioning(numberOfPartitions, Collections.unmodifiableSet(new TreeSet<>(ownPartitions)));
+    }
+
+    /**
+     * For clients only scheduling executions, owning no partitions.
+     */
+    public static Partitioning of(int numberOfPartitions) {
+        return of(numberOfPartitions, Collections.emptySet());
+    }
+
+    public boolean isEnabled() {
+        return numberOfPartitions > 0;
+    }
+
+    public int getNumberOfPartitions() {
+        return numberOfPartitions;
+    }
+
+    public Set<Integer> getOwnPartitions() {
+        return ownPartitions;
+    }
+
+    public int partitionOf(TaskInstance<?> taskInstance) {
+        // String.hashCode() is specified, and hence stable across JVMs
+        return Math.floorMod(taskInstance.getId().hashCode(), numberOfPartitions);
+    }
+
+    @Override
+    public String toString() {
+        return isEnabled() ? "Partitioning{partitions=" + numberOfPartitions + ", own=" + ownPartitions + "}" : "Partitioning{none}";
+    }
+}
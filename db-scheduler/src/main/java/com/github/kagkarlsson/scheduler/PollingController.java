@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+/**
+ * Observes the outcome of each check for due executions, and may adjust the polling-limit used for the next one.
+ */
+public interface PollingController {
+
+    /**
+     * @param configuredPollingLimit the polling-limit configured for the scheduler
+     * @return the number of executions to fetch on the next check for due executions
+     */
+    int pollingLimit(int configuredPollingLimit);
+
+    /**
+     * @param fetched number of executions fetched (or picked)
+     * @param pollingLimit the polling-limit used
+     */
+    void pollCompleted(int fetched, int pollingLimit);
+
+    void candidatePicked();
+
+    void candidateAlreadyPicked();
+
+    PollingController NOOP = new PollingController() {
+
+        @Override
+        public int pollingLimit(int configuredPollingLimit) {
+            return configuredPollingLimit;
+        }
+
+        @Override
+        public void pollCompleted(int fetched, int pollingLimit) {
+        }
+
+        @Override
+        public void candidatePicked() {
+        }
+
+        @Override
+        public void candidateAlreadyPicked() {
+        }
+    };
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+public enum PollingStrategy {
+    /**
+     * Fetch due executions, and pick them one by one (using optimistic locking) right before they are executed.
+     * Works for all databases, but schedulers in a cluster will compete for the same executions.
+     */
+    FETCH_AND_LOCK_ON_EXECUTE,
+
+    /**
+     * Fetch due executions, and pick all of them in a single JDBC batch before dispatching. Only executions
+     * actually picked by this scheduler are dispatched. Works for all databases, and is an alternative to
+     * {@link #LOCK_AND_FETCH} for databases without {@code SKIP LOCKED}.
+     */
+    FETCH_AND_PICK_BATCH,
+
+    /**
+     * Select and pick due executions in a single transaction using {@code SELECT ... FOR UPDATE SKIP LOCKED}
+     * (or equivalent). Executions locked by other schedulers are skipped. Requires database support, see
+     * {@link com.github.kagkarlsson.scheduler.jdbc.JdbcCustomization#supportsLockAndFetch()}.
+     */
+    LOCK_AND_FETCH
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.scheduler.task.Execution;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Whether due executions are ordered by priority, see {@link com.github.kagkarlsson.scheduler.task.Priority}. With
+ * aging, executions that have been due for longer than the aging-duration are ordered before all others, regardless
+ * of priority, so that a steady stream of high-priority executions cannot starve the low-priority ones.
+ *
+ * <p>Requires the column {@code priority} in the executions-table.
+ */
+public class PriorityOrdering {
+
+    public static final PriorityOrdering DISABLED = new PriorityOrdering(false, null);
+
+    /**
+     * Order of executions due at the same time, highest priority first.
+     */
+    static final Comparator<Execution> EXECUTION_ORDER = Comparator
+        .comparing(Execution::getExecutionTime)
+        .thenComparing(PriorityOrdering::priorityOf, Comparator.reverseOrder());
+
+    /**
+     * Order of executions waiting for a free thread, highest priority first.
+     */
+    static final Comparator<Execution> DISPATCH_ORDER = Comparator
+        .comparing(PriorityOrdering::priorityOf, Comparator.reverseOrder())
+        .thenComparing(Execution::getExecutionTime);
+
+    private final boolean enabled;
+    private final Duration agingAfter;
+
+    private PriorityOrdering(boolean enabled, Duration agingAfter) {
+        this.enabled = enabled;
+        this.agingAfter = agingAfter;
+    }
+
+    public static PriorityOrdering enabled() {
+        return new PriorityOrdering(true, null);
+    }
+
+    /**
+     * Ordering by priority with aging is done on an expression no index can match, so all due executions are read
+     * and sorted on each check for due executions, rather than the first ones read from the index on
+     * {@code (priority desc, execution_time)}. Prefer {@link #enabled()} when the number of due executions may grow
+     * large.
+     */
+    public static PriorityOrdering withAging(Duration agingAfter) {
+        if (agingAfter == null || agingAfter.isNegative()) {
+            throw new IllegalArgumentException("agingAfter must be a non-negative duration");
+        }
+        return new PriorityOrdering(true, agingAfter);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<Duration> getAgingAfter() {
+        return Optional.ofNullable(agingAfter);
+    }
+
+    static int priorityOf(Execution execution) {
+        return execution.taskInstance.getPriority();
+    }
+
+    @Override
+    public String toString() {
+        return !enabled ? "PriorityOrdering{disabled}" : "PriorityOrdering{agingAfter=" + agingAfter + "}";
+    }
+}
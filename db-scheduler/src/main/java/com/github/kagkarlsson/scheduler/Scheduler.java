@@ -26,8 +26,12 @@ import javax.sql.DataSource;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -52,16 +56,28 @@ public class Scheduler implements SchedulerClient {
     private final Duration heartbeatInterval;
     private final StatsRegistry statsRegistry;
     private final int pollingLimit;
+    private final PollingStrategy pollingStrategy;
+    private final PollingController pollingController;
+    private final boolean enableLookAhead;
+    private final boolean threadPerExecution;
+    private final CompletionPipeline completionPipeline;
+    private final FutureTableMover futureTableMover;
+    private final NotificationChannel notificationChannel;
     private final ExecutorService dueExecutor;
     private final ExecutorService detectDeadExecutor;
     private final ExecutorService updateHeartbeatExecutor;
+    private final ExecutorService moveFutureExecutor;
     private final Map<Execution, CurrentlyExecuting> currentlyProcessing = Collections.synchronizedMap(new HashMap<>());
+    private final int maxAsyncExecutionsInFlight;
+    private final AtomicInteger asyncExecutionsInFlight = new AtomicInteger(0);
+    private final AtomicInteger executionsNotStarted = new AtomicInteger(0);
+    private final GroupExecutor defaultGroupExecutor;
+    private final List<GroupExecutor> groupExecutors = new ArrayList<>();
     private final Waiter heartbeatWaiter;
     private final SettableSchedulerState schedulerState = new SettableSchedulerState();
-    private int currentGenerationNumber = 1;
 
     protected Scheduler(Clock clock, TaskRepository taskRepository, TaskResolver taskResolver, int threadpoolSize, ExecutorService executorService, SchedulerName schedulerName,
-                        Waiter executeDueWaiter, Duration heartbeatInterval, boolean enableImmediateExecution, StatsRegistry statsRegistry, int pollingLimit, Duration deleteUnresolvedAfter, List<OnStartup> onStartup) {
+                        Waiter executeDueWaiter, Duration heartbeatInterval, boolean enableImmediateExecution, StatsRegistry statsRegistry, int pollingLimit, PollingStrategy pollingStrategy, PollingController pollingController, boolean enableLookAhead, NotificationChannel notificationChannel, Duration deleteUnresolvedAfter, List<ExecutorGroup> executorGroups, boolean enablePriority, boolean threadPerExecution, int maxAsyncExecutionsInFlight, CompletionPipeline completionPipeline, FutureTableMover futureTableMover, List<OnStartup> onStartup) {
         this.clock = clock;
         this.taskRepository = taskRepository;
         this.taskResolver = taskResolver;
@@ -75,11 +91,39 @@ public class Scheduler implements SchedulerClient {
         this.heartbeatWaiter = new Waiter(heartbeatInterval, clock);
         this.statsRegistry = statsRegistry;
         this.pollingLimit = pollingLimit;
+        this.pollingStrategy = pollingStrategy;
+        this.pollingController = pollingController;
+        this.enableLookAhead = enableLookAhead;
+        this.threadPerExecution = threadPerExecution;
+        this.maxAsyncExecutionsInFlight = maxAsyncExecutionsInFlight;
+        this.completionPipeline = completionPipeline;
+        this.futureTableMover = futureTableMover;
+        this.notificationChannel = notificationChannel;
+
+        final Set<String> tasksInGroups = new HashSet<>();
+        for (ExecutorGroup group : executorGroups) {
+            final List<String> taskNames = taskNamesInGroup(taskResolver, group.getName());
+            tasksInGroups.addAll(taskNames);
+            groupExecutors.add(new GroupExecutor(group.getName(),
+                ExecutorUtils.newFixedThreadPool(group.getThreads(), enablePriority, THREAD_PREFIX + "-" + group.getName() + "-"),
+                group.getThreads(), group.getMaxConcurrency(), TaskNameFilter.include(taskNames), newLookAheadQueue()));
+        }
+        this.defaultGroupExecutor = new GroupExecutor(ExecutorGroup.DEFAULT_NAME, executorService, threadpoolSize, threadpoolSize,
+            tasksInGroups.isEmpty() ? TaskNameFilter.ALL : TaskNameFilter.exclude(tasksInGroups), newLookAheadQueue());
+        groupExecutors.add(0, defaultGroupExecutor);
+
         this.dueExecutor = Executors.newSingleThreadExecutor(defaultThreadFactoryWithPrefix(THREAD_PREFIX + "-execute-due-"));
         this.detectDeadExecutor = Executors.newSingleThreadExecutor(defaultThreadFactoryWithPrefix(THREAD_PREFIX + "-detect-dead-"));
         this.updateHeartbeatExecutor = Executors.newSingleThreadExecutor(defaultThreadFactoryWithPrefix(THREAD_PREFIX + "-update-heartbeat-"));
+        this.moveFutureExecutor = futureTableMover != null
+            ? Executors.newSingleThreadExecutor(defaultThreadFactoryWithPrefix(THREAD_PREFIX + "-move-future-"))
+            : null;
         SchedulerClientEventListener earlyExecutionListener = (enableImmediateExecution ? new TriggerCheckForDueExecutions(schedulerState, clock, executeDueWaiter) : SchedulerClientEventListener.NOOP);
-        delegate = new StandardSchedulerClient(taskRepository, earlyExecutionListener);
+        SchedulerClientEventListener notifyListener = new NotifyOnDueExecutions(clock, notificationChannel);
+        delegate = new StandardSchedulerClient(taskRepository, event -> {
+            earlyExecutionListener.newEvent(event);
+            notifyListener.newEvent(event);
+        });
     }
 
     public void start() {
@@ -87,9 +131,17 @@ public class Scheduler implements SchedulerClient {
 
         executeOnStartup();
 
+        notificationChannel.startListening(executeDueWaiter::wake);
+        if (completionPipeline != null) {
+            completionPipeline.start();
+        }
         dueExecutor.submit(new RunUntilShutdown(this::executeDue, executeDueWaiter, schedulerState, statsRegistry));
         detectDeadExecutor.submit(new RunUntilShutdown(this::detectDeadExecutions, detectDeadWaiter, schedulerState, statsRegistry));
         updateHeartbeatExecutor.submit(new RunUntilShutdown(this::updateHeartbeats, heartbeatWaiter, schedulerState, statsRegistry));
+        if (futureTableMover != null) {
+            moveFutureExecutor.submit(new RunUntilShutdown(futureTableMover::moveDue,
+                new Waiter(futureTableMover.getFutureTable().getMoveInterval(), clock), schedulerState, statsRegistry));
+        }
 
         schedulerState.setStarted();
     }
@@ -117,15 +169,32 @@ public class Scheduler implements SchedulerClient {
         if (!ExecutorUtils.shutdownNowAndAwaitTermination(dueExecutor, Duration.ofSeconds(5))) {
             LOG.warn("Failed to shutdown due-executor properly.");
         }
+        if (enableLookAhead) {
+            groupExecutors.forEach(group -> group.lookAheadQueue.stop());
+        }
+        notificationChannel.stopListening();
         if (!ExecutorUtils.shutdownNowAndAwaitTermination(detectDeadExecutor, Duration.ofSeconds(5))) {
             LOG.warn("Failed to shutdown detect-dead-executor properly.");
         }
         if (!ExecutorUtils.shutdownNowAndAwaitTermination(updateHeartbeatExecutor, Duration.ofSeconds(5))) {
             LOG.warn("Failed to shutdown update-heartbeat-executor properly.");
         }
+        if (moveFutureExecutor != null && !ExecutorUtils.shutdownNowAndAwaitTermination(moveFutureExecutor, Duration.ofSeconds(5))) {
+            LOG.warn("Failed to shutdown move-future-executor properly.");
+        }
 
         LOG.info("Letting running executions finish. Will wait up to {}.", SHUTDOWN_WAIT);
-        if (ExecutorUtils.shutdownAndAwaitTermination(executorService, SHUTDOWN_WAIT)) {
+        boolean allExecutionsCompleted = true;
+        for (GroupExecutor group : groupExecutors) {
+            // no new executions are dispatched at this point, so groups not yet awaited keep finishing their executions
+            allExecutionsCompleted &= ExecutorUtils.shutdownAndAwaitTermination(group.executorService, SHUTDOWN_WAIT);
+        }
+        // asynchronous executions are still in progress after the executor-threads have terminated
+        allExecutionsCompleted = allExecutionsCompleted && awaitCurrentlyProcessing(SHUTDOWN_WAIT);
+        if (completionPipeline != null && !completionPipeline.stop(SHUTDOWN_WAIT)) {
+            LOG.warn("Failed to shutdown completion-writer properly.");
+        }
+        if (allExecutionsCompleted) {
             LOG.info("Scheduler stopped.");
         } else {
             LOG.warn("Scheduler stopped, but some tasks did not complete. Was currently running the following executions:\n{}",
@@ -133,6 +202,19 @@ public class Scheduler implements SchedulerClient {
         }
     }
 
+    private boolean awaitCurrentlyProcessing(Duration timeout) {
+        final Instant deadline = Instant.now().plus(timeout);
+        while (!currentlyProcessing.isEmpty() && Instant.now().isBefore(deadline)) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return currentlyProcessing.isEmpty();
+    }
+
     public SchedulerState getSchedulerState() {
         return schedulerState;
     }
@@ -142,6 +224,16 @@ public class Scheduler implements SchedulerClient {
         this.delegate.schedule(taskInstance, executionTime);
     }
 
+    @Override
+    public List<TaskInstanceId> scheduleBatch(Collection<? extends TaskInstanceWithTime<?>> executions) {
+        return this.delegate.scheduleBatch(executions);
+    }
+
+    @Override
+    public List<TaskInstanceId> scheduleBatch(Collection<? extends TaskInstanceWithTime<?>> executions, int chunkSize) {
+        return this.delegate.scheduleBatch(executions, chunkSize);
+    }
+
     @Override
     public void reschedule(TaskInstanceId taskInstanceId, Instant newExecutionTime) {
         this.delegate.reschedule(taskInstanceId, newExecutionTime);
@@ -185,18 +277,167 @@ public class Scheduler implements SchedulerClient {
     }
 
     protected void executeDue() {
-        Instant now = clock.now();
-        List<Execution> dueExecutions = taskRepository.getDue(now, pollingLimit);
-        LOG.trace("Found {} taskinstances due for execution", dueExecutions.size());
+        final Instant now = clock.now();
+        // executions due before the next check are fetched in the same query, and held until their execution-time
+        final Instant lookAheadUntil = enableLookAhead ? now.plus(executeDueWaiter.getWaitDuration()) : now;
+        final PollOutcome outcome = new PollOutcome();
+        for (GroupExecutor group : groupExecutors) {
+            if (group.taskNameFilter.matchesNothing()) {
+                continue;
+            }
+            switch (pollingStrategy) {
+                case LOCK_AND_FETCH:
+                    lockAndFetchDue(group, outcome);
+                    break;
+                case FETCH_AND_PICK_BATCH:
+                    fetchAndPickBatchDue(group, outcome);
+                    break;
+                default:
+                    fetchDue(group, now, lookAheadUntil, outcome);
+            }
+        }
+        // the polling-interval is shared by all groups, so it adapts to their combined outcome
+        if (outcome.pollingLimit > 0) {
+            pollingController.pollCompleted(outcome.fetched, outcome.pollingLimit);
+        }
+        statsRegistry.register(SchedulerStatsEvent.RAN_EXECUTE_DUE);
+    }
 
-        int thisGenerationNumber = this.currentGenerationNumber + 1;
-        DueExecutionsBatch newDueBatch = new DueExecutionsBatch(Scheduler.this.threadpoolSize, thisGenerationNumber, dueExecutions.size(), pollingLimit == dueExecutions.size());
+    private void fetchDue(GroupExecutor group, Instant now, Instant lookAheadUntil, PollOutcome outcome) {
+        int limit = pollingLimit(group);
+        if (limit <= 0) {
+            LOG.trace("Executor-group {} is at max concurrency. Skipping fetch of due executions.", group.name);
+            return;
+        }
+
+        List<Execution> fetchedExecutions = taskRepository.getDue(lookAheadUntil, limit, group.taskNameFilter);
+        outcome.add(fetchedExecutions.size(), limit);
+        List<Execution> dueExecutions = group.lookAheadQueue == null ? fetchedExecutions
+            // dispatched with the generation current when due, the batch of this check may be stale by then
+            : group.lookAheadQueue.hold(fetchedExecutions, now, e -> submitUpcoming(new PickAndExecute(group, e, newDueBatch(group, group.currentGenerationNumber, 1, false), false)));
+        LOG.trace("Found {} taskinstances due for execution, {} within the look-ahead window", dueExecutions.size(), fetchedExecutions.size() - dueExecutions.size());
+
+        int thisGenerationNumber = group.currentGenerationNumber + 1;
+        DueExecutionsBatch newDueBatch = newDueBatch(group, thisGenerationNumber, dueExecutions.size(), limit == fetchedExecutions.size());
 
         for (Execution e : dueExecutions) {
-            executorService.execute(new PickAndExecute(e, newDueBatch));
+            submit(new PickAndExecute(group, e, newDueBatch, false));
         }
-        this.currentGenerationNumber = thisGenerationNumber;
-        statsRegistry.register(SchedulerStatsEvent.RAN_EXECUTE_DUE);
+        group.currentGenerationNumber = thisGenerationNumber;
+    }
+
+    private void submitUpcoming(PickAndExecute pickAndExecute) {
+        try {
+            submit(pickAndExecute);
+        } catch (RuntimeException e) {
+            if (!schedulerState.isShuttingDown()) {
+                LOG.error("Unexpected error when dispatching execution from look-ahead queue.", e);
+                statsRegistry.register(SchedulerStatsEvent.UNEXPECTED_ERROR);
+            }
+        }
+    }
+
+    private void lockAndFetchDue(GroupExecutor group, PollOutcome outcome) {
+        int limit = freeThreadsPollingLimit(group);
+        if (limit <= 0) {
+            LOG.trace("No free threads in executor-group {}. Skipping lock-and-fetch of due executions.", group.name);
+            return;
+        }
+
+        List<Execution> pickedExecutions = taskRepository.lockAndFetch(clock.now(), limit, group.taskNameFilter);
+        LOG.trace("Picked {} taskinstances due for execution", pickedExecutions.size());
+        pickedExecutions.forEach(e -> pollingController.candidatePicked());
+        outcome.add(pickedExecutions.size(), limit);
+        submitPicked(group, pickedExecutions, limit == pickedExecutions.size());
+    }
+
+    private void fetchAndPickBatchDue(GroupExecutor group, PollOutcome outcome) {
+        int limit = freeThreadsPollingLimit(group);
+        if (limit <= 0) {
+            LOG.trace("No free threads in executor-group {}. Skipping fetch of due executions.", group.name);
+            return;
+        }
+
+        List<Execution> dueExecutions;
+        List<Execution> pickedExecutions;
+        do {
+            dueExecutions = taskRepository.getDue(clock.now(), limit, group.taskNameFilter);
+            pickedExecutions = taskRepository.pickBatch(dueExecutions, clock.now());
+            LOG.trace("Found {} taskinstances due for execution, picked {}", dueExecutions.size(), pickedExecutions.size());
+            pickedExecutions.forEach(e -> pollingController.candidatePicked());
+            for (int i = pickedExecutions.size(); i < dueExecutions.size(); i++) {
+                statsRegistry.register(StatsRegistry.CandidateStatsEvent.ALREADY_PICKED);
+                pollingController.candidateAlreadyPicked();
+            }
+            // a full batch lost to other schedulers, there is probably more to fetch right away
+        } while (pickedExecutions.isEmpty() && dueExecutions.size() == limit && !schedulerState.isShuttingDown());
+        outcome.add(dueExecutions.size(), limit);
+
+        submitPicked(group, pickedExecutions, limit == dueExecutions.size());
+    }
+
+    private int pollingLimit(GroupExecutor group) {
+        if (group != defaultGroupExecutor) {
+            return Math.min(pollingController.pollingLimit(group.freeCapacity()), freeAsyncCapacity());
+        }
+        final int limit = Math.min(pollingController.pollingLimit(pollingLimit), freeAsyncCapacity());
+        // with a thread per execution there is no queue, everything fetched starts executing right away
+        return threadPerExecution ? Math.min(limit, group.freeCapacity()) : limit;
+    }
+
+    private int freeAsyncCapacity() {
+        // executions waiting for a thread may all turn out to be asynchronous
+        return maxAsyncExecutionsInFlight - asyncExecutionsInFlight.get() - executionsNotStarted.get();
+    }
+
+    private DueExecutionsBatch newDueBatch(GroupExecutor group, int generationNumber, int executionsAdded, boolean possiblyMoreExecutionsInDb) {
+        if (threadPerExecution && group == defaultGroupExecutor) {
+            return DueExecutionsBatch.forThreadPerExecution(generationNumber, executionsAdded, possiblyMoreExecutionsInDb);
+        }
+        return new DueExecutionsBatch(group.threads, generationNumber, executionsAdded, possiblyMoreExecutionsInDb);
+    }
+
+    private int freeThreadsPollingLimit(GroupExecutor group) {
+        // picked executions are not heartbeated until they start executing, so never pick more than there are free threads
+        final int freeThreads = group.threads - group.executionsInQueueOrProcessing.get();
+        if (group == defaultGroupExecutor) {
+            return Math.min(Math.min(pollingController.pollingLimit(pollingLimit), freeThreads), freeAsyncCapacity());
+        }
+        return Math.min(Math.min(pollingController.pollingLimit(group.freeCapacity()), freeThreads), freeAsyncCapacity());
+    }
+
+    private void submitPicked(GroupExecutor group, List<Execution> pickedExecutions, boolean possiblyMoreExecutionsInDb) {
+        int thisGenerationNumber = group.currentGenerationNumber + 1;
+        DueExecutionsBatch newDueBatch = newDueBatch(group, thisGenerationNumber, pickedExecutions.size(), possiblyMoreExecutionsInDb);
+
+        for (Execution e : pickedExecutions) {
+            submit(new PickAndExecute(group, e, newDueBatch, true));
+        }
+        group.currentGenerationNumber = thisGenerationNumber;
+    }
+
+    private void submit(PickAndExecute pickAndExecute) {
+        final GroupExecutor group = pickAndExecute.group;
+        group.executionsInQueueOrProcessing.incrementAndGet();
+        executionsNotStarted.incrementAndGet();
+        try {
+            group.executorService.execute(pickAndExecute);
+        } catch (RuntimeException e) {
+            group.executionsInQueueOrProcessing.decrementAndGet();
+            executionsNotStarted.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private LookAheadQueue newLookAheadQueue() {
+        return enableLookAhead ? new LookAheadQueue(clock) : null;
+    }
+
+    private static List<String> taskNamesInGroup(TaskResolver taskResolver, String groupName) {
+        return taskResolver.getKnownTasks().stream()
+            .filter(task -> groupName.equals(task.getExecutorGroup()))
+            .map(Task::getName)
+            .collect(Collectors.toList());
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
@@ -246,79 +487,235 @@ public class Scheduler implements SchedulerClient {
             return;
         }
 
-        LOG.debug("Updating heartbeats for {} executions being processed.", currentlyProcessing.size());
         Instant now = clock.now();
-        new ArrayList<>(currentlyProcessing.keySet()).forEach(execution -> {
+        final Map<Execution, CurrentlyExecuting> heartbeatDue = new HashMap<>();
+        currentlyProcessing.forEach((execution, currentlyExecuting) -> {
+            if (isHeartbeatDue(currentlyExecuting, now)) {
+                heartbeatDue.put(execution, currentlyExecuting);
+            }
+        });
+        LOG.debug("Updating heartbeats for {} of {} executions being processed.", heartbeatDue.size(), currentlyProcessing.size());
+        if (!heartbeatDue.isEmpty()) {
+            try {
+                final List<Execution> notUpdated = taskRepository.updateHeartbeats(heartbeatDue.keySet(), now);
+                notUpdated.forEach(execution -> LOG.debug("Did not update heartbeat for execution {}. It has been removed or rescheduled.", execution));
+                heartbeatDue.keySet().removeAll(notUpdated);
+                heartbeatDue.values().forEach(currentlyExecuting -> currentlyExecuting.heartbeatPersisted(now));
+            } catch (Throwable e) {
+                LOG.warn("Failed while updating heartbeats in batch. Updating heartbeats one by one.", e);
+                updateHeartbeatsOneByOne(heartbeatDue, now);
+            }
+        }
+        statsRegistry.register(SchedulerStatsEvent.RAN_UPDATE_HEARTBEATS);
+    }
+
+    /**
+     * Heartbeats younger than one interval are skipped. Updates run once every interval, so a skipped heartbeat is
+     * at most two intervals old when persisted, leaving a margin of two intervals before the execution is
+     * considered dead.
+     */
+    private boolean isHeartbeatDue(CurrentlyExecuting currentlyExecuting, Instant now) {
+        return Duration.between(currentlyExecuting.getLastHeartbeat(), now).compareTo(heartbeatInterval) >= 0;
+    }
+
+    private void updateHeartbeatsOneByOne(Map<Execution, CurrentlyExecuting> executions, Instant now) {
+        executions.forEach((execution, currentlyExecuting) -> {
             LOG.trace("Updating heartbeat for execution: " + execution);
             try {
                 taskRepository.updateHeartbeat(execution, now);
+                currentlyExecuting.heartbeatPersisted(now);
             } catch (Throwable e) {
                 LOG.error("Failed while updating heartbeat for execution {}. Will try again later.", execution, e);
                 statsRegistry.register(SchedulerStatsEvent.UNEXPECTED_ERROR);
             }
         });
-        statsRegistry.register(SchedulerStatsEvent.RAN_UPDATE_HEARTBEATS);
     }
 
     private Duration getMaxAgeBeforeConsideredDead() {
         return heartbeatInterval.multipliedBy(4);
     }
 
-    private class PickAndExecute implements Runnable {
+    /**
+     * Number of executions fetched and the polling-limit used, summed over the groups polled in one check for due
+     * executions.
+     */
+    private static class PollOutcome {
+        private int fetched = 0;
+        private int pollingLimit = 0;
+
+        void add(int fetched, int pollingLimit) {
+            this.fetched += fetched;
+            this.pollingLimit += pollingLimit;
+        }
+    }
+
+    /**
+     * The thread pool of an {@link ExecutorGroup}, or the default thread pool, and the state of executions fetched for it.
+     */
+    private static class GroupExecutor {
+        private final String name;
+        private final ExecutorService executorService;
+        private final int threads;
+        private final int maxConcurrency;
+        private final TaskNameFilter taskNameFilter;
+        private final LookAheadQueue lookAheadQueue; // null unless look-ahead is enabled
+        private final AtomicInteger executionsInQueueOrProcessing = new AtomicInteger(0);
+        private volatile int currentGenerationNumber = 1;
+
+        GroupExecutor(String name, ExecutorService executorService, int threads, int maxConcurrency, TaskNameFilter taskNameFilter, LookAheadQueue lookAheadQueue) {
+            this.name = name;
+            this.executorService = executorService;
+            this.threads = threads;
+            this.maxConcurrency = maxConcurrency;
+            this.taskNameFilter = taskNameFilter;
+            this.lookAheadQueue = lookAheadQueue;
+        }
+
+        int freeCapacity() {
+            return maxConcurrency - executionsInQueueOrProcessing.get();
+        }
+    }
+
+    /**
+     * Work for the executor-threads. Comparable to be usable with a {@link java.util.concurrent.PriorityBlockingQueue},
+     * completions of asynchronous executions first, then executions by highest priority.
+     */
+    private abstract static class ExecutorTask implements Runnable, Comparable<ExecutorTask> {
+
+        /**
+         * @return the execution to order by, or null to be ordered before all executions
+         */
+        abstract Execution orderBy();
+
+        @Override
+        public int compareTo(ExecutorTask other) {
+            final Execution execution = orderBy();
+            final Execution otherExecution = other.orderBy();
+            if (execution == null || otherExecution == null) {
+                return Boolean.compare(execution != null, otherExecution != null);
+            }
+            return PriorityOrdering.DISPATCH_ORDER.compare(execution, otherExecution);
+        }
+    }
+
+    private class PickAndExecute extends ExecutorTask {
+        private final GroupExecutor group;
         private Execution candidate;
         private DueExecutionsBatch addedDueExecutionsBatch;
+        private final boolean alreadyPicked;
+        private boolean started = false;
 
-        public PickAndExecute(Execution candidate, DueExecutionsBatch dueExecutionsBatch) {
+        public PickAndExecute(GroupExecutor group, Execution candidate, DueExecutionsBatch dueExecutionsBatch, boolean alreadyPicked) {
+            this.group = group;
             this.candidate = candidate;
             this.addedDueExecutionsBatch = dueExecutionsBatch;
+            this.alreadyPicked = alreadyPicked;
+        }
+
+        @Override
+        Execution orderBy() {
+            return candidate;
         }
 
         @Override
         public void run() {
-            if (schedulerState.isShuttingDown()) {
-                LOG.info("Scheduler has been shutdown. Skipping fetched due execution: " + candidate.taskInstance.getTaskAndInstance());
-                return;
+            boolean processing = false;
+            try {
+                processing = pickAndExecute();
+            } finally {
+                started();
+                if (!processing) {
+                    group.executionsInQueueOrProcessing.decrementAndGet();
+                }
             }
+        }
 
-            if (addedDueExecutionsBatch.isOlderGenerationThan(currentGenerationNumber)) {
-                // skipping execution due to it being stale
-                addedDueExecutionsBatch.markBatchAsStale();
-                statsRegistry.register(StatsRegistry.CandidateStatsEvent.STALE);
-                LOG.trace("Skipping queued execution (current generationNumber: {}, execution generationNumber: {})", currentGenerationNumber, addedDueExecutionsBatch.getGenerationNumber());
-                return;
+        /**
+         * @return true if the execution was picked for processing, it is then counted as in queue or processing until released
+         */
+        private boolean pickAndExecute() {
+            if (schedulerState.isShuttingDown()) {
+                if (alreadyPicked) {
+                    LOG.info("Scheduler has been shutdown. Skipping picked due execution, it will be detected as dead and handled later: " + candidate.taskInstance.getTaskAndInstance());
+                } else {
+                    LOG.info("Scheduler has been shutdown. Skipping fetched due execution: " + candidate.taskInstance.getTaskAndInstance());
+                }
+                return false;
             }
 
-            final Optional<Execution> pickedExecution = taskRepository.pick(candidate, clock.now());
+            final Optional<Execution> pickedExecution;
+            if (alreadyPicked) {
+                pickedExecution = Optional.of(candidate);
+            } else {
+                if (addedDueExecutionsBatch.isOlderGenerationThan(group.currentGenerationNumber)) {
+                    // skipping execution due to it being stale
+                    addedDueExecutionsBatch.markBatchAsStale();
+                    statsRegistry.register(StatsRegistry.CandidateStatsEvent.STALE);
+                    LOG.trace("Skipping queued execution (current generationNumber: {}, execution generationNumber: {})", group.currentGenerationNumber, addedDueExecutionsBatch.getGenerationNumber());
+                    return false;
+                }
+
+                pickedExecution = taskRepository.pick(candidate, clock.now());
 
-            if (!pickedExecution.isPresent()) {
-                // someone else picked id
-                LOG.debug("Execution picked by another scheduler. Continuing to next due execution.");
-                statsRegistry.register(StatsRegistry.CandidateStatsEvent.ALREADY_PICKED);
-                return;
+                if (!pickedExecution.isPresent()) {
+                    // someone else picked id
+                    LOG.debug("Execution picked by another scheduler. Continuing to next due execution.");
+                    statsRegistry.register(StatsRegistry.CandidateStatsEvent.ALREADY_PICKED);
+                    pollingController.candidateAlreadyPicked();
+                    return false;
+                }
+                pollingController.candidatePicked();
             }
 
             currentlyProcessing.put(pickedExecution.get(), new CurrentlyExecuting(pickedExecution.get(), clock));
+            boolean executingAsynchronously = false;
             try {
                 statsRegistry.register(StatsRegistry.CandidateStatsEvent.EXECUTED);
-                executePickedExecution(pickedExecution.get());
+                executingAsynchronously = executePickedExecution(pickedExecution.get());
             } finally {
-                if (currentlyProcessing.remove(pickedExecution.get()) == null) {
-                    // May happen in rare circumstances (typically concurrency tests)
-                    LOG.warn("Released execution was not found in collection of executions currently being processed. Should never happen.");
+                if (!executingAsynchronously) {
+                    release(pickedExecution.get());
                 }
-                addedDueExecutionsBatch.oneExecutionDone(() -> triggerCheckForDueExecutions());
+            }
+            return true;
+        }
+
+        /**
+         * No longer counted as not started, once known whether it is executing asynchronously.
+         */
+        private void started() {
+            if (!started) {
+                started = true;
+                executionsNotStarted.decrementAndGet();
             }
         }
 
-        private void executePickedExecution(Execution execution) {
+        private void release(Execution execution) {
+            if (currentlyProcessing.remove(execution) == null) {
+                // May happen in rare circumstances (typically concurrency tests)
+                LOG.warn("Released execution was not found in collection of executions currently being processed. Should never happen.");
+            }
+            // before triggering a check for due executions, which should see the capacity freed by this execution
+            group.executionsInQueueOrProcessing.decrementAndGet();
+            addedDueExecutionsBatch.oneExecutionDone(() -> triggerCheckForDueExecutions());
+        }
+
+        /**
+         * @return true if the execution continues asynchronously and is released when it completes
+         */
+        private boolean executePickedExecution(Execution execution) {
             final Optional<Task> task = taskResolver.resolve(execution.taskInstance.getTaskName());
             if (!task.isPresent()) {
                 LOG.error("Failed to find implementation for task with name '{}'. Should have been excluded in JdbcRepository.", execution.taskInstance.getTaskName());
                 statsRegistry.register(SchedulerStatsEvent.UNEXPECTED_ERROR);
-                return;
+                return false;
             }
 
             Instant executionStarted = clock.now();
+            if (task.get() instanceof AsyncExecutionHandler) {
+                return executeAsynchronously(task.get(), (AsyncExecutionHandler) task.get(), execution, executionStarted);
+            }
+            started();
             try {
                 LOG.debug("Executing " + execution);
                 CompletionHandler completion = task.get().execute(execution.taskInstance, new ExecutionContext(schedulerState, execution, Scheduler.this));
@@ -337,12 +734,69 @@ public class Scheduler implements SchedulerClient {
                 failure(task.get().getFailureHandler(), execution, unhandledError, executionStarted);
                 statsRegistry.register(StatsRegistry.ExecutionStatsEvent.FAILED);
             }
+            return false;
+        }
+
+        private boolean executeAsynchronously(Task task, AsyncExecutionHandler handler, Execution execution, Instant executionStarted) {
+            asyncExecutionsInFlight.incrementAndGet();
+            started();
+            final CompletionStage<CompletionHandler> stage;
+            try {
+                LOG.debug("Executing asynchronously " + execution);
+                stage = Objects.requireNonNull(handler.executeAsync(execution.taskInstance, new ExecutionContext(schedulerState, execution, Scheduler.this)),
+                    "AsyncExecutionHandler returned null");
+            } catch (Throwable unhandled) {
+                LOG.error("Unhandled exception when starting execution of task with name '{}'. Treating as failure.", task.getName(), unhandled);
+                failure(task.getFailureHandler(), execution, unhandled, executionStarted);
+                statsRegistry.register(StatsRegistry.ExecutionStatsEvent.FAILED);
+                asyncExecutionsInFlight.decrementAndGet();
+                return false;
+            }
+
+            // completion-handlers run on the group's threads, not on whatever thread completed the stage
+            stage.whenCompleteAsync((completion, error) -> {
+                try {
+                    if (error == null) {
+                        LOG.debug("Asynchronous execution done");
+                        complete(completion, execution, executionStarted);
+                        statsRegistry.register(StatsRegistry.ExecutionStatsEvent.COMPLETED);
+                    } else {
+                        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        LOG.error("Asynchronous execution of task with name '{}' completed exceptionally. Treating as failure.", task.getName(), cause);
+                        failure(task.getFailureHandler(), execution, cause, executionStarted);
+                        statsRegistry.register(StatsRegistry.ExecutionStatsEvent.FAILED);
+                    }
+                } finally {
+                    asyncExecutionsInFlight.decrementAndGet();
+                    release(execution);
+                }
+            }, this::executeCompletion);
+            return true;
+        }
+
+        private void executeCompletion(Runnable completion) {
+            try {
+                group.executorService.execute(new ExecutorTask() {
+                    @Override
+                    Execution orderBy() {
+                        return null;
+                    }
+
+                    @Override
+                    public void run() {
+                        completion.run();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // executor-threads already shut down while stopping, complete on the calling thread
+                completion.run();
+            }
         }
 
         private void complete(CompletionHandler completion, Execution execution, Instant executionStarted) {
             ExecutionComplete completeEvent = ExecutionComplete.success(execution, executionStarted, clock.now());
             try {
-                completion.complete(completeEvent, new ExecutionOperations(taskRepository, execution));
+                completion.complete(completeEvent, new ExecutionOperations(taskRepository, completionPipeline, execution));
                 statsRegistry.registerSingleCompletedExecution(completeEvent);
             } catch (Throwable e) {
                 statsRegistry.register(SchedulerStatsEvent.COMPLETIONHANDLER_ERROR);
@@ -355,7 +809,7 @@ public class Scheduler implements SchedulerClient {
         private void failure(FailureHandler failureHandler, Execution execution, Throwable cause, Instant executionStarted) {
             ExecutionComplete completeEvent = ExecutionComplete.failure(execution, executionStarted, clock.now(), cause);
             try {
-                failureHandler.onFailure(completeEvent, new ExecutionOperations(taskRepository, execution));
+                failureHandler.onFailure(completeEvent, new ExecutionOperations(taskRepository, completionPipeline, execution));
                 statsRegistry.registerSingleCompletedExecution(completeEvent);
             } catch (Throwable e) {
                 statsRegistry.register(SchedulerStatsEvent.FAILUREHANDLER_ERROR);
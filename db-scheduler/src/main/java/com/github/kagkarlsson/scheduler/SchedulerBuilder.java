@@ -15,22 +15,27 @@
  */
 package com.github.kagkarlsson.scheduler;
 
-import static com.github.kagkarlsson.scheduler.ExecutorUtils.defaultThreadFactoryWithPrefix;
 import static com.github.kagkarlsson.scheduler.Scheduler.THREAD_PREFIX;
 import static java.util.Optional.ofNullable;
 
 import com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization;
 import com.github.kagkarlsson.scheduler.jdbc.JdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.SchemaManager;
+import com.github.kagkarlsson.scheduler.jdbc.TablePartitionMaintenance;
 import com.github.kagkarlsson.scheduler.stats.StatsRegistry;
 import com.github.kagkarlsson.scheduler.task.OnStartup;
 import com.github.kagkarlsson.scheduler.task.Task;
+import com.github.kagkarlsson.scheduler.task.helper.RecurringTask;
+import com.github.kagkarlsson.scheduler.task.helper.Tasks;
+import com.github.kagkarlsson.scheduler.task.schedule.Schedules;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import javax.sql.DataSource;
 
 import org.slf4j.Logger;
@@ -47,15 +52,34 @@ public class SchedulerBuilder {
     protected int executorThreads = 10;
     protected final List<Task<?>> knownTasks = new ArrayList<>();
     protected final List<OnStartup> startTasks = new ArrayList<>();
+    protected final List<ExecutorGroup> executorGroups = new ArrayList<>();
     protected Waiter waiter = new Waiter(Duration.ofSeconds(10), clock);
     protected int pollingLimit;
     protected boolean useDefaultPollingLimit;
+    protected PollingStrategy pollingStrategy = PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE;
     protected StatsRegistry statsRegistry = StatsRegistry.NOOP;
     protected Duration heartbeatInterval = Duration.ofMinutes(5);
     protected Serializer serializer = Serializer.DEFAULT_JAVA_SERIALIZER;
     protected String tableName = JdbcTaskRepository.DEFAULT_TABLE_NAME;
     protected boolean enableImmediateExecution = false;
+    protected boolean enableLookAhead = false;
+    protected boolean enableAdaptivePolling = false;
+    protected boolean enableCompletionPipeline = false;
+    protected Duration completionFlushInterval = CompletionPipeline.DEFAULT_FLUSH_INTERVAL;
+    protected int completionMaxBatchSize = CompletionPipeline.DEFAULT_MAX_BATCH_SIZE;
+    protected NotificationChannel notificationChannel = NotificationChannel.NOOP;
+    protected Partitioning partitioning = Partitioning.NONE;
+    protected PriorityOrdering priorityOrdering = PriorityOrdering.DISABLED;
+    protected FutureTable futureTable = FutureTable.DISABLED;
+    protected TaskDataTable taskDataTable = TaskDataTable.DISABLED;
+    protected CompactSchema compactSchema = CompactSchema.DISABLED;
+    protected TablePartitioning tablePartitioning = TablePartitioning.NONE;
+    protected Duration minPollingInterval = null;
+    protected Duration maxPollingInterval = null;
     protected ExecutorService executorService;
+    protected boolean enableVirtualThreads = false;
+    protected int maxConcurrentExecutions;
+    protected int maxAsyncExecutionsInFlight = Integer.MAX_VALUE;
     protected Duration deleteUnresolvedAfter = Duration.ofDays(14);
     protected JdbcCustomization jdbcCustomization = null;
 
@@ -77,6 +101,27 @@ public class SchedulerBuilder {
         return this;
     }
 
+    /**
+     * Execute tasks declaring this group (see {@link Task#getExecutorGroup()}) on a dedicated thread pool. Due
+     * executions are fetched separately for each group, limited by the group's free capacity, so slow tasks in one
+     * group cannot occupy the threads of another.
+     */
+    public SchedulerBuilder executorGroup(String name, int threads) {
+        return executorGroup(ExecutorGroup.of(name, threads));
+    }
+
+    public SchedulerBuilder executorGroup(String name, int threads, int maxConcurrency) {
+        return executorGroup(ExecutorGroup.of(name, threads, maxConcurrency));
+    }
+
+    public SchedulerBuilder executorGroup(ExecutorGroup executorGroup) {
+        if (executorGroups.stream().anyMatch(g -> g.getName().equals(executorGroup.getName()))) {
+            throw new IllegalArgumentException("Executor-group '" + executorGroup.getName() + "' is already configured");
+        }
+        this.executorGroups.add(executorGroup);
+        return this;
+    }
+
     public SchedulerBuilder pollingInterval(Duration pollingInterval) {
         waiter = new Waiter(pollingInterval, clock);
         return this;
@@ -91,6 +136,11 @@ public class SchedulerBuilder {
         return this;
     }
 
+    public SchedulerBuilder pollingStrategy(PollingStrategy pollingStrategy) {
+        this.pollingStrategy = pollingStrategy;
+        return this;
+    }
+
     private int calculatePollingLimit() {
         return executorThreads * POLLING_CONCURRENCY_MULTIPLIER;
     }
@@ -108,6 +158,37 @@ public class SchedulerBuilder {
         return this;
     }
 
+    /**
+     * Execute each execution on a new virtual thread, allowing far more concurrent (blocking) executions than
+     * there are platform threads. Requires Java 21, on older versions the scheduler falls back to a pool of
+     * {@link #threads(int)} platform threads. Unless set explicitly, the polling-limit defaults to
+     * {@code maxConcurrentExecutions}.
+     *
+     * @param maxConcurrentExecutions replaces the number of threads as the limit for concurrent executions
+     */
+    public SchedulerBuilder enableVirtualThreads(int maxConcurrentExecutions) {
+        if (maxConcurrentExecutions <= 0) {
+            throw new IllegalArgumentException("maxConcurrentExecutions must be a positive integer");
+        }
+        this.enableVirtualThreads = true;
+        this.maxConcurrentExecutions = maxConcurrentExecutions;
+        return this;
+    }
+
+    /**
+     * Limit the number of executions of {@link com.github.kagkarlsson.scheduler.task.AsyncExecutionHandler asynchronous}
+     * tasks in flight at the same time. These do not occupy a thread while in flight, so without a limit only the
+     * max-concurrency of an executor-group bounds them, and on the default thread pool they are unbounded. While at the
+     * limit, no further due executions are fetched.
+     */
+    public SchedulerBuilder maxAsyncExecutionsInFlight(int maxAsyncExecutionsInFlight) {
+        if (maxAsyncExecutionsInFlight <= 0) {
+            throw new IllegalArgumentException("maxAsyncExecutionsInFlight must be a positive integer");
+        }
+        this.maxAsyncExecutionsInFlight = maxAsyncExecutionsInFlight;
+        return this;
+    }
+
     public SchedulerBuilder executorService(ExecutorService executorService) {
         this.executorService = executorService;
         return this;
@@ -138,6 +219,150 @@ public class SchedulerBuilder {
         return this;
     }
 
+    /**
+     * Adapt polling-interval and polling-limit to the observed load, see {@link AdaptivePollingController}. The
+     * polling-interval will vary between 1/10 and 10 times the configured polling-interval.
+     */
+    public SchedulerBuilder enableAdaptivePolling() {
+        this.enableAdaptivePolling = true;
+        return this;
+    }
+
+    public SchedulerBuilder enableAdaptivePolling(Duration minPollingInterval, Duration maxPollingInterval) {
+        this.enableAdaptivePolling = true;
+        this.minPollingInterval = minPollingInterval;
+        this.maxPollingInterval = maxPollingInterval;
+        return this;
+    }
+
+    /**
+     * Notify all schedulers listening on the channel when executions are scheduled to run directly, and check
+     * for due executions when notified. See for example
+     * {@link com.github.kagkarlsson.scheduler.jdbc.PostgreSqlNotificationChannel}.
+     */
+    public SchedulerBuilder notificationChannel(NotificationChannel notificationChannel) {
+        this.notificationChannel = notificationChannel;
+        return this;
+    }
+
+    /**
+     * Assign executions to one of {@code numberOfPartitions} partitions when scheduled, and check for due executions in
+     * {@code ownPartitions} first. Executions in other partitions are only fetched when none are due in the own ones. Give
+     * each scheduler in the cluster a distinct set of partitions to reduce contention when picking executions.
+     * Requires the column {@code partition_number} in the executions-table.
+     */
+    public SchedulerBuilder partitionedPolling(int numberOfPartitions, Collection<Integer> ownPartitions) {
+        this.partitioning = Partitioning.of(numberOfPartitions, ownPartitions);
+        return this;
+    }
+
+    /**
+     * Order due executions by priority, highest first, and then by execution-time. See
+     * {@link com.github.kagkarlsson.scheduler.task.Priority}. Unless an executor-service is supplied, queued
+     * executions are also dispatched in priority-order. Requires the column {@code priority} in the executions-table.
+     */
+    public SchedulerBuilder enablePriority() {
+        this.priorityOrdering = PriorityOrdering.enabled();
+        return this;
+    }
+
+    /**
+     * Like {@link #enablePriority()}, but executions due for longer than {@code agingAfter} are ordered before all
+     * others, so low-priority executions are not starved. Sorts all due executions on each check, see
+     * {@link PriorityOrdering#withAging(Duration)}.
+     */
+    public SchedulerBuilder enablePriority(Duration agingAfter) {
+        this.priorityOrdering = PriorityOrdering.withAging(agingAfter);
+        return this;
+    }
+
+    public SchedulerBuilder enableFutureTable(Duration horizon) {
+        return enableFutureTable(FutureTable.DEFAULT_TABLE_NAME, horizon);
+    }
+
+    /**
+     * Write executions due further ahead than {@code horizon} to a separate table with the same definition as the
+     * executions-table, keeping the polled table small. The scheduler moves executions to the executions-table as they
+     * come within the horizon. Reschedules of executions already in the executions-table keep them there.
+     *
+     * @see FutureTable
+     */
+    public SchedulerBuilder enableFutureTable(String futureTableName, Duration horizon) {
+        return enableFutureTable(FutureTable.of(futureTableName, horizon));
+    }
+
+    public SchedulerBuilder enableFutureTable(FutureTable futureTable) {
+        this.futureTable = futureTable;
+        return this;
+    }
+
+    public SchedulerBuilder enableTaskDataTable() {
+        return enableTaskDataTable(TaskDataTable.DEFAULT_TABLE_NAME);
+    }
+
+    /**
+     * Store task-data in a separate table, written only when executions are created or rescheduled with new data, and
+     * read when the data is accessed. Picks and heartbeats then only update narrow rows in the executions-table.
+     *
+     * @see TaskDataTable
+     */
+    public SchedulerBuilder enableTaskDataTable(String taskDataTableName) {
+        this.taskDataTable = TaskDataTable.of(taskDataTableName);
+        return this;
+    }
+
+    public SchedulerBuilder enableCompactSchema() {
+        return enableCompactSchema(CompactSchema.DEFAULT_TASK_NAMES_TABLE_NAME);
+    }
+
+    /**
+     * Use the compact table layout, with task-names interned in a dictionary-table and timestamps stored as
+     * epoch-millis. The tables must be created for it, see {@link SchemaManager} and
+     * {@link com.github.kagkarlsson.scheduler.jdbc.CompactSchemaMigration} for existing executions.
+     *
+     * @see CompactSchema
+     */
+    public SchedulerBuilder enableCompactSchema(String taskNamesTableName) {
+        this.compactSchema = CompactSchema.of(taskNamesTableName);
+        return this;
+    }
+
+    /**
+     * The executions-table is partitioned in the database, created using {@link SchemaManager}. Creation of executions
+     * is adapted to the partitioning, and for PostgreSQL the scheduler runs a recurring task (
+     * {@link TablePartitioning#MAINTENANCE_TASK_NAME}) creating upcoming partitions, see
+     * {@link TablePartitionMaintenance}.
+     *
+     * @see TablePartitioning
+     */
+    public SchedulerBuilder enableTablePartitioning(TablePartitioning tablePartitioning) {
+        this.tablePartitioning = tablePartitioning;
+        return this;
+    }
+
+    public SchedulerBuilder enableLookAhead() {
+        this.enableLookAhead = true;
+        return this;
+    }
+
+    public SchedulerBuilder enableCompletionPipeline() {
+        return enableCompletionPipeline(CompletionPipeline.DEFAULT_FLUSH_INTERVAL, CompletionPipeline.DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Hand the writes completing executions (remove or reschedule) to a dedicated writer-thread, applying them in
+     * JDBC batches, instead of writing them on the executing thread. Executor-threads become available sooner, at the
+     * cost of completions being persisted up to {@code flushInterval} later.
+     *
+     * @see CompletionPipeline
+     */
+    public SchedulerBuilder enableCompletionPipeline(Duration flushInterval, int maxBatchSize) {
+        this.enableCompletionPipeline = true;
+        this.completionFlushInterval = flushInterval;
+        this.completionMaxBatchSize = maxBatchSize;
+        return this;
+    }
+
     public SchedulerBuilder deleteUnresolvedAfter(Duration deleteAfter) {
         this.deleteUnresolvedAfter = deleteAfter;
         return this;
@@ -157,24 +382,131 @@ public class SchedulerBuilder {
             schedulerName = new SchedulerName.Hostname();
         }
 
-        final TaskResolver taskResolver = new TaskResolver(statsRegistry, clock, knownTasks);
+        final List<Task<?>> allKnownTasks = new ArrayList<>(knownTasks);
+        final List<OnStartup> allStartTasks = new ArrayList<>(startTasks);
+        if (tablePartitioning.isEnabled()) {
+            final RecurringTask<Void> maintenanceTask = tablePartitionMaintenanceTask(allKnownTasks);
+            allKnownTasks.add(maintenanceTask);
+            allStartTasks.add(maintenanceTask);
+        }
+
+        for (Task<?> task : allKnownTasks) {
+            final String group = task.getExecutorGroup();
+            if (!ExecutorGroup.DEFAULT_NAME.equals(group) && executorGroups.stream().noneMatch(g -> g.getName().equals(group))) {
+                throw new IllegalArgumentException("Task '" + task.getName() + "' declares executor-group '" + group + "', which is not configured for the scheduler.");
+            }
+        }
+
+        final TaskResolver taskResolver = new TaskResolver(statsRegistry, clock, allKnownTasks);
         final JdbcCustomization jdbcCustomization = ofNullable(this.jdbcCustomization).orElse(new AutodetectJdbcCustomization(dataSource));
-        final JdbcTaskRepository taskRepository = new JdbcTaskRepository(dataSource, jdbcCustomization, tableName, taskResolver, schedulerName, serializer);
+        final JdbcTaskRepository taskRepository = new JdbcTaskRepository(dataSource, jdbcCustomization, tableName, taskResolver, schedulerName,
+            JdbcTaskRepository.Settings.create()
+                .serializer(serializer)
+                .partitioning(partitioning)
+                .priorityOrdering(priorityOrdering)
+                .futureTable(futureTable)
+                .taskDataTable(taskDataTable)
+                .compactSchema(compactSchema)
+                .tablePartitioning(tablePartitioning));
+
+        if (pollingStrategy == PollingStrategy.LOCK_AND_FETCH && !jdbcCustomization.supportsLockAndFetch()) {
+            throw new IllegalArgumentException("Polling-strategy " + PollingStrategy.LOCK_AND_FETCH + " requires SELECT ... FOR UPDATE SKIP LOCKED, " +
+                "which is not supported for the database (or jdbc-customization) in use. Use " + PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE + " instead.");
+        }
+
+        if (enableLookAhead && pollingStrategy != PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE) {
+            throw new IllegalArgumentException("Look-ahead requires polling-strategy " + PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE +
+                ", since the other strategies pick executions when fetching them.");
+        }
+
+        Waiter executeDueWaiter = waiter;
+        PollingController pollingController = PollingController.NOOP;
+        if (enableAdaptivePolling) {
+            final Duration pollingInterval = waiter.getWaitDuration();
+            final AdaptivePollingController adaptivePollingController = new AdaptivePollingController(pollingInterval,
+                ofNullable(minPollingInterval).orElse(pollingInterval.dividedBy(10)),
+                ofNullable(maxPollingInterval).orElse(pollingInterval.multipliedBy(10)));
+            executeDueWaiter = new Waiter(adaptivePollingController::getCurrentPollingInterval, adaptivePollingController::withJitter, clock);
+            pollingController = adaptivePollingController;
+        }
+
+        if (enableVirtualThreads && executorService != null) {
+            throw new IllegalArgumentException("Virtual threads cannot be combined with an externally managed executor-service.");
+        }
 
         ExecutorService candidateExecutorService = executorService;
+        int concurrencyLimit = executorThreads;
+        int effectivePollingLimit = pollingLimit;
+        boolean threadPerExecution = false;
+        if (enableVirtualThreads) {
+            final Optional<ExecutorService> virtualThreadExecutor = ExecutorUtils.newVirtualThreadPerTaskExecutor(THREAD_PREFIX + "-virtual-");
+            if (virtualThreadExecutor.isPresent()) {
+                candidateExecutorService = virtualThreadExecutor.get();
+                concurrencyLimit = maxConcurrentExecutions;
+                effectivePollingLimit = useDefaultPollingLimit ? maxConcurrentExecutions : pollingLimit;
+                threadPerExecution = true;
+            } else {
+                LOG.warn("Virtual threads are not supported by this JVM (requires Java 21). Falling back to a pool of {} platform threads.", executorThreads);
+            }
+        }
+
         if (candidateExecutorService == null) {
-            candidateExecutorService = Executors.newFixedThreadPool(executorThreads, defaultThreadFactoryWithPrefix(THREAD_PREFIX + "-"));
+            candidateExecutorService = ExecutorUtils.newFixedThreadPool(executorThreads, priorityOrdering.isEnabled(), THREAD_PREFIX + "-");
+        }
+
+        final CompletionPipeline completionPipeline = enableCompletionPipeline
+            ? new CompletionPipeline(taskRepository, statsRegistry, completionFlushInterval, completionMaxBatchSize)
+            : null;
+        final FutureTableMover futureTableMover = futureTable.isEnabled()
+            ? new FutureTableMover(taskRepository, futureTable, clock)
+            : null;
+
+        final SchemaManager schemaManager = new SchemaManager(dataSource, tableName, compactSchema);
+        final List<OnStartup> onStartup = new ArrayList<>();
+        onStartup.add((scheduler, clock) -> schemaManager.warnIfIncomplete());
+        if (futureTable.isEnabled()) {
+            final SchemaManager futureSchemaManager = new SchemaManager(dataSource, futureTable.getTableName(), compactSchema);
+            onStartup.add((scheduler, clock) -> futureSchemaManager.warnIfIncomplete());
         }
+        onStartup.addAll(allStartTasks);
 
-        LOG.info("Creating scheduler with configuration: threads={}, pollInterval={}s, heartbeat={}s enable-immediate-execution={}, table-name={}, name={}",
+        LOG.info("Creating scheduler with configuration: threads={}, virtual-threads={}, pollInterval={}s, polling-strategy={}, heartbeat={}s enable-immediate-execution={}, enable-look-ahead={}, enable-adaptive-polling={}, enable-completion-pipeline={}, partitioning={}, priority={}, future-table={}, task-data-table={}, compact-schema={}, table-partitioning={}, executor-groups={}, table-name={}, name={}",
             executorThreads,
+            threadPerExecution ? concurrencyLimit : "disabled",
             waiter.getWaitDuration().getSeconds(),
+            pollingStrategy,
             heartbeatInterval.getSeconds(),
             enableImmediateExecution,
+            enableLookAhead,
+            enableAdaptivePolling,
+            enableCompletionPipeline,
+            partitioning,
+            priorityOrdering,
+            futureTable,
+            taskDataTable,
+            compactSchema,
+            tablePartitioning,
+            executorGroups,
             tableName,
             schedulerName.getName());
-        return new Scheduler(clock, taskRepository, taskResolver, executorThreads, candidateExecutorService,
-            schedulerName, waiter, heartbeatInterval, enableImmediateExecution, statsRegistry, pollingLimit,
-            deleteUnresolvedAfter, startTasks);
+        return new Scheduler(clock, taskRepository, taskResolver, concurrencyLimit, candidateExecutorService,
+            schedulerName, executeDueWaiter, heartbeatInterval, enableImmediateExecution, statsRegistry, effectivePollingLimit,
+            pollingStrategy, pollingController, enableLookAhead, notificationChannel, deleteUnresolvedAfter, executorGroups, priorityOrdering.isEnabled(), threadPerExecution, maxAsyncExecutionsInFlight, completionPipeline, futureTableMover, onStartup);
     }
+
+    /**
+     * Hourly, which is the shortest partition interval, so upcoming partitions are always created well in time.
+     */
+    private RecurringTask<Void> tablePartitionMaintenanceTask(List<Task<?>> tasks) {
+        final TablePartitionMaintenance maintenance = new TablePartitionMaintenance(dataSource, tableName, tablePartitioning, compactSchema);
+        final List<String> taskNames = new ArrayList<>();
+        tasks.forEach(task -> taskNames.add(task.getName()));
+        taskNames.add(TablePartitioning.MAINTENANCE_TASK_NAME);
+        return Tasks.recurring(TablePartitioning.MAINTENANCE_TASK_NAME, Schedules.fixedDelay(Duration.ofHours(1)))
+            .execute((taskInstance, executionContext) -> {
+                maintenance.createPartitions(taskNames);
+                maintenance.createUpcomingPartitions(clock.now());
+            });
+    }
+
 }
@@ -15,29 +15,51 @@
  */
 package com.github.kagkarlsson.scheduler;
 
-import com.github.kagkarlsson.scheduler.jdbc.DefaultJdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization;
 import com.github.kagkarlsson.scheduler.jdbc.JdbcCustomization;
 import com.github.kagkarlsson.scheduler.stats.StatsRegistry;
 import com.github.kagkarlsson.scheduler.task.Execution;
 import com.github.kagkarlsson.scheduler.task.Task;
 import com.github.kagkarlsson.scheduler.task.TaskInstance;
 import com.github.kagkarlsson.scheduler.task.TaskInstanceId;
+import com.github.kagkarlsson.scheduler.task.TaskInstanceWithTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static java.util.Optional.ofNullable;
 
 public interface SchedulerClient {
 
+    int DEFAULT_BATCH_CHUNK_SIZE = 1000;
+
     <T> void schedule(TaskInstance<T> taskInstance, Instant executionTime);
 
+    /**
+     * Schedules all executions not already existing, inserting them in JDBC batches of
+     * {@link #DEFAULT_BATCH_CHUNK_SIZE}.
+     *
+     * @return the task-instances scheduled, i.e. excluding those already existing
+     */
+    List<TaskInstanceId> scheduleBatch(Collection<? extends TaskInstanceWithTime<?>> executions);
+
+    /**
+     * Like {@link #scheduleBatch(Collection)}, inserting batches of {@code chunkSize} executions. Each chunk is
+     * inserted in a separate transaction.
+     */
+    List<TaskInstanceId> scheduleBatch(Collection<? extends TaskInstanceWithTime<?>> executions, int chunkSize);
+
     void reschedule(TaskInstanceId taskInstanceId, Instant newExecutionTime);
 
     <T> void reschedule(TaskInstanceId taskInstanceId, Instant newExecutionTime, T newData);
@@ -57,6 +79,13 @@ public interface SchedulerClient {
         private final Serializer serializer = Serializer.DEFAULT_JAVA_SERIALIZER;
         private String tableName = JdbcTaskRepository.DEFAULT_TABLE_NAME;
         private JdbcCustomization jdbcCustomization;
+        private NotificationChannel notificationChannel = NotificationChannel.NOOP;
+        private Partitioning partitioning = Partitioning.NONE;
+        private PriorityOrdering priorityOrdering = PriorityOrdering.DISABLED;
+        private FutureTable futureTable = FutureTable.DISABLED;
+        private TaskDataTable taskDataTable = TaskDataTable.DISABLED;
+        private CompactSchema compactSchema = CompactSchema.DISABLED;
+        private TablePartitioning tablePartitioning = TablePartitioning.NONE;
 
         private Builder(DataSource dataSource, List<Task<?>> knownTasks) {
             this.dataSource = dataSource;
@@ -81,18 +110,98 @@ public interface SchedulerClient {
             return this;
         }
 
+        /**
+         * Notify schedulers listening on the channel when executions are scheduled to run directly.
+         */
+        public Builder notificationChannel(NotificationChannel notificationChannel) {
+            this.notificationChannel = notificationChannel;
+            return this;
+        }
+
+        /**
+         * Assign new executions to partitions. Must match the {@code numberOfPartitions} of the schedulers, see
+         * {@link SchedulerBuilder#partitionedPolling(int, java.util.Collection)}.
+         */
+        public Builder partitionedPolling(int numberOfPartitions) {
+            this.partitioning = Partitioning.of(numberOfPartitions);
+            return this;
+        }
+
+        /**
+         * Store the priority of new executions, see {@link SchedulerBuilder#enablePriority()}.
+         */
+        public Builder enablePriority() {
+            this.priorityOrdering = PriorityOrdering.enabled();
+            return this;
+        }
+
+        public Builder enableFutureTable(Duration horizon) {
+            return enableFutureTable(FutureTable.DEFAULT_TABLE_NAME, horizon);
+        }
+
+        /**
+         * Write executions due beyond the horizon to the future-table, and look for executions in both tables. Must
+         * match the future-table of the schedulers, see {@link SchedulerBuilder#enableFutureTable(String, Duration)}.
+         */
+        public Builder enableFutureTable(String futureTableName, Duration horizon) {
+            this.futureTable = FutureTable.of(futureTableName, horizon);
+            return this;
+        }
+
+        public Builder enableTaskDataTable() {
+            return enableTaskDataTable(TaskDataTable.DEFAULT_TABLE_NAME);
+        }
+
+        /**
+         * Store task-data in a separate table. Must match the schedulers, see
+         * {@link SchedulerBuilder#enableTaskDataTable(String)}.
+         */
+        public Builder enableTaskDataTable(String taskDataTableName) {
+            this.taskDataTable = TaskDataTable.of(taskDataTableName);
+            return this;
+        }
+
+        public Builder enableCompactSchema() {
+            return enableCompactSchema(CompactSchema.DEFAULT_TASK_NAMES_TABLE_NAME);
+        }
+
+        /**
+         * Use the compact table layout. Must match the schedulers, see
+         * {@link SchedulerBuilder#enableCompactSchema(String)}.
+         */
+        public Builder enableCompactSchema(String taskNamesTableName) {
+            this.compactSchema = CompactSchema.of(taskNamesTableName);
+            return this;
+        }
+
+        /**
+         * The executions-table is partitioned in the database. Must match the schedulers, see
+         * {@link SchedulerBuilder#enableTablePartitioning(TablePartitioning)}.
+         */
+        public Builder enableTablePartitioning(TablePartitioning tablePartitioning) {
+            this.tablePartitioning = tablePartitioning;
+            return this;
+        }
+
         public SchedulerClient build() {
             TaskResolver taskResolver = new TaskResolver(StatsRegistry.NOOP, knownTasks);
 
             TaskRepository taskRepository = new JdbcTaskRepository(
                 dataSource,
-                ofNullable(jdbcCustomization).orElse(new DefaultJdbcCustomization()),
+                ofNullable(jdbcCustomization).orElseGet(() -> new AutodetectJdbcCustomization(dataSource)),
                 tableName,
                 taskResolver,
                 new SchedulerClientName(),
-                serializer);
-
-            return new StandardSchedulerClient(taskRepository);
+                JdbcTaskRepository.Settings.create()
+                    .serializer(serializer)
+                    .partitioning(partitioning)
+                    .priorityOrdering(priorityOrdering)
+                    .futureTable(futureTable)
+                    .taskDataTable(taskDataTable)
+                    .compactSchema(compactSchema)
+                    .tablePartitioning(tablePartitioning));
+
+            return new StandardSchedulerClient(taskRepository, new NotifyOnDueExecutions(new SystemClock(), notificationChannel));
         }
     }
 
@@ -119,6 +228,42 @@ public interface SchedulerClient {
             }
         }
 
+        @Override
+        public List<TaskInstanceId> scheduleBatch(Collection<? extends TaskInstanceWithTime<?>> executions) {
+            return scheduleBatch(executions, DEFAULT_BATCH_CHUNK_SIZE);
+        }
+
+        @Override
+        public List<TaskInstanceId> scheduleBatch(Collection<? extends TaskInstanceWithTime<?>> executions, int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize must be a positive integer");
+            }
+            final List<TaskInstanceId> scheduled = new ArrayList<>();
+            final List<Execution> chunk = new ArrayList<>(Math.min(chunkSize, executions.size()));
+            for (TaskInstanceWithTime<?> execution : executions) {
+                chunk.add(new Execution(execution.getExecutionTime(), execution.getTaskInstance()));
+                if (chunk.size() == chunkSize) {
+                    scheduled.addAll(scheduleChunk(chunk));
+                    chunk.clear();
+                }
+            }
+            scheduled.addAll(scheduleChunk(chunk));
+            return scheduled;
+        }
+
+        private List<TaskInstanceId> scheduleChunk(List<Execution> chunk) {
+            if (chunk.isEmpty()) {
+                return new ArrayList<>();
+            }
+            final List<Execution> created = taskRepository.createBatchIfNotExists(chunk);
+            LOG.debug("Scheduled {} of {} executions in batch.", created.size(), chunk.size());
+            // listeners only act on executions being due, so one event for the earliest execution is sufficient
+            created.stream()
+                .min(Comparator.comparing(e -> e.executionTime))
+                .ifPresent(earliest -> notifyListeners(ClientEvent.EventType.SCHEDULE, earliest.taskInstance, earliest.executionTime));
+            return created.stream().map(e -> (TaskInstanceId) e.taskInstance).collect(Collectors.toList());
+        }
+
         @Override
         public void reschedule(TaskInstanceId taskInstanceId, Instant newExecutionTime) {
             reschedule(taskInstanceId, newExecutionTime, null);
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * How the executions-table is partitioned in the database, for PostgreSQL (11 or later) and Oracle (12.2 or later).
+ * Not to be confused with {@link Partitioning}, which splits polling between schedulers.
+ *
+ * <p>Range-partitioning by {@code execution_time} lets the planner skip partitions due later when fetching due
+ * executions, and keeps index maintenance within the partitions currently written to. PostgreSQL then requires
+ * {@code execution_time} in the primary key, so creation of executions is serialized per task-instance using an
+ * advisory lock instead. List-partitioning by {@code task_name} keeps the primary key, and gives each task its own
+ * partition.
+ *
+ * <p>The partitioned table can be created using {@link com.github.kagkarlsson.scheduler.jdbc.SchemaManager}. Oracle
+ * creates partitions when needed, for PostgreSQL they are created ahead of time by
+ * {@link com.github.kagkarlsson.scheduler.jdbc.TablePartitionMaintenance}.
+ */
+public class TablePartitioning {
+
+    public static final int DEFAULT_PARTITIONS_AHEAD = 7;
+    public static final String MAINTENANCE_TASK_NAME = "db-scheduler-table-partition-maintenance";
+    public static final TablePartitioning NONE = new TablePartitioning(Type.NONE, null, 0);
+
+    public enum Type {
+        NONE,
+        EXECUTION_TIME_RANGE,
+        TASK_NAME_LIST
+    }
+
+    private final Type type;
+    private final Duration interval;
+    private final int partitionsAhead;
+
+    private TablePartitioning(Type type, Duration interval, int partitionsAhead) {
+        this.type = type;
+        this.interval = interval;
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    public static TablePartitioning byExecutionTime(Duration interval) {
+        return byExecutionTime(interval, DEFAULT_PARTITIONS_AHEAD);
+    }
+
+    /**
+     * @param interval        range of execution_time covered by each partition, aligned to the epoch. At least an hour.
+     * @param partitionsAhead number of partitions after the current one kept created
+     */
+    public static TablePartitioning byExecutionTime(Duration interval, int partitionsAhead) {
+        if (interval.compareTo(Duration.ofHours(1)) < 0) {
+            throw new IllegalArgumentException("interval must be at least an hour");
+        }
+        if (partitionsAhead <= 0) {
+            throw new IllegalArgumentException("partitionsAhead must be a positive integer");
+        }
+        return new TablePartitioning(Type.EXECUTION_TIME_RANGE, interval, partitionsAhead);
+    }
+
+    public static TablePartitioning byTaskName() {
+        return new TablePartitioning(Type.TASK_NAME_LIST, null, 0);
+    }
+
+    public boolean isEnabled() {
+        return type != Type.NONE;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isByExecutionTime() {
+        return type == Type.EXECUTION_TIME_RANGE;
+    }
+
+    public boolean isByTaskName() {
+        return type == Type.TASK_NAME_LIST;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public int getPartitionsAhead() {
+        return partitionsAhead;
+    }
+
+    /**
+     * Start of the range-partition covering {@code time}.
+     */
+    public Instant partitionStart(Instant time) {
+        final long intervalMillis = interval.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(time.toEpochMilli(), intervalMillis) * intervalMillis);
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case EXECUTION_TIME_RANGE:
+                return "TablePartitioning{execution_time, interval=" + interval + ", ahead=" + partitionsAhead + "}";
+            case TASK_NAME_LIST:
+                return "TablePartitioning{task_name}";
+            default:
+                return "TablePartitioning{none}";
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+/**
+ * Stores task-data in a separate table keyed by {@code (task_name, task_instance)}, leaving the column
+ * {@code task_data} of the executions-table null. Data is written when an execution is created, and when it is
+ * rescheduled with new data, and is only read when accessed. Picks, heartbeats and other updates of executions then
+ * only rewrite narrow rows, which reduces table-bloat for databases such as PostgreSQL creating a new row-version for
+ * each update.
+ *
+ * <p>Requires a table with the columns {@code task_name}, {@code task_instance} and {@code task_data} (same types as
+ * in the executions-table), with primary key {@code (task_name, task_instance)}. By default
+ * {@code scheduled_tasks_data}.
+ */
+public class TaskDataTable {
+
+    public static final String DEFAULT_TABLE_NAME = "scheduled_tasks_data";
+    public static final TaskDataTable DISABLED = new TaskDataTable(null);
+
+    private final String tableName;
+
+    private TaskDataTable(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public static TaskDataTable of(String tableName) {
+        if (tableName == null || tableName.isEmpty()) {
+            throw new IllegalArgumentException("tableName must be set");
+        }
+        return new TaskDataTable(tableName);
+    }
+
+    public boolean isEnabled() {
+        return tableName != null;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public String toString() {
+        return isEnabled() ? "TaskDataTable{table=" + tableName + "}" : "TaskDataTable{disabled}";
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Restricts the tasks for which due executions are fetched.
+ */
+public final class TaskNameFilter {
+
+    public static final TaskNameFilter ALL = new TaskNameFilter(Collections.emptySet(), false);
+
+    private final Set<String> taskNames;
+    private final boolean include;
+
+    private TaskNameFilter(Set<String> taskNames, boolean include) {
+        this.taskNames = taskNames;
+        this.include = include;
+    }
+
+    public static TaskNameFilter include(Collection<String> taskNames) {
+        return new TaskNameFilter(Collections.unmodifiableSet(new TreeSet<>(taskNames)), true);
+    }
+
+    public static TaskNameFilter exclude(Collection<String> taskNames) {
+        return new TaskNameFilter(Collections.unmodifiableSet(new TreeSet<>(taskNames)), false);
+    }
+
+    public Set<String> getTaskNames() {
+        return taskNames;
+    }
+
+    /**
+     * {@code true} if only the task-names are included, {@code false} if they are excluded.
+     */
+    public boolean isInclude() {
+        return include;
+    }
+
+    public boolean matchesNothing() {
+        return include && taskNames.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return (include ? "include" : "exclude") + taskNames;
+    }
+}
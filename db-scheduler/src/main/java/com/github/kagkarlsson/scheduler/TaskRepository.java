@@ -19,6 +19,7 @@ import com.github.kagkarlsson.scheduler.task.Execution;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -27,8 +28,21 @@ public interface TaskRepository {
 
     boolean createIfNotExists(Execution execution);
 
+    /**
+     * Creates the executions not already existing, inserting them using a JDBC batch. Existing executions are only
+     * looked up if the batch fails.
+     *
+     * @return the executions created, in the same order as {@code executions}
+     */
+    List<Execution> createBatchIfNotExists(List<Execution> executions);
+
     List<Execution> getDue(Instant now, int limit);
 
+    /**
+     * Like {@link #getDue(Instant, int)}, but only for tasks matching {@code taskNameFilter}.
+     */
+    List<Execution> getDue(Instant now, int limit, TaskNameFilter taskNameFilter);
+
     void getScheduledExecutions(Consumer<Execution> consumer);
 
     void getScheduledExecutions(String taskName, Consumer<Execution> consumer);
@@ -41,10 +55,46 @@ public interface TaskRepository {
 
     Optional<Execution> pick(Execution e, Instant timePicked);
 
+    /**
+     * Tries to pick all candidates using a single round-trip to the database. Candidates picked by other
+     * schedulers, or modified since they were fetched, are left out of the result.
+     *
+     * @return the candidates successfully picked by this scheduler, in the same order as {@code candidates}
+     */
+    List<Execution> pickBatch(List<Execution> candidates, Instant timePicked);
+
+    /**
+     * Selects and picks up to {@code limit} due executions in a single transaction, skipping executions locked by
+     * other schedulers. All returned executions are picked by this scheduler.
+     */
+    List<Execution> lockAndFetch(Instant now, int limit);
+
+    /**
+     * Like {@link #lockAndFetch(Instant, int)}, but only for tasks matching {@code taskNameFilter}.
+     */
+    List<Execution> lockAndFetch(Instant now, int limit, TaskNameFilter taskNameFilter);
+
     List<Execution> getDeadExecutions(Instant olderThan);
 
     void updateHeartbeat(Execution execution, Instant heartbeatTime);
 
+    /**
+     * Updates the heartbeat of all executions using a single round-trip to the database.
+     *
+     * @return the executions whose heartbeat was not updated, typically because they have been removed or
+     * rescheduled since they were picked
+     */
+    List<Execution> updateHeartbeats(Collection<Execution> executions, Instant heartbeatTime);
+
+    /**
+     * Applies all writes in a single transaction using one JDBC batch per type of statement. The writes must be for
+     * distinct executions.
+     *
+     * @return the writes that did not update exactly one row, typically because the execution has been modified
+     * since it was picked
+     */
+    List<CompletionWrite> writeCompletions(List<CompletionWrite> writes);
+
     List<Execution> getExecutionsFailingLongerThan(Duration interval);
 
     Optional<Execution> getExecution(String taskName, String taskInstanceId);
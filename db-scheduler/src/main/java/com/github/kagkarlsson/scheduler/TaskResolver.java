@@ -24,6 +24,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,6 +40,7 @@ public class TaskResolver {
     private final Clock clock;
     private final Map<String, Task> taskMap;
     private final Map<String, UnresolvedTask> unresolvedTasks = new ConcurrentHashMap<>();
+    private volatile List<String> unresolvedTaskNames = Collections.emptyList();
 
     public TaskResolver(StatsRegistry statsRegistry, Task<?>... knownTasks) {
         this(statsRegistry, Arrays.asList(knownTasks));
@@ -65,17 +67,36 @@ public class TaskResolver {
     }
 
     private void addUnresolved(String taskName) {
-        unresolvedTasks.putIfAbsent(taskName, new UnresolvedTask(taskName));
+        if (unresolvedTasks.putIfAbsent(taskName, new UnresolvedTask(taskName)) == null) {
+            unresolvedChanged();
+        }
+    }
+
+    private synchronized void unresolvedChanged() {
+        // rebuilt after every change, so the last rebuild always sees the latest state
+        unresolvedTaskNames = Collections.unmodifiableList(new ArrayList<>(unresolvedTasks.keySet()));
     }
 
     public void addTask(Task task) {
         taskMap.put(task.getName(), task);
     }
 
+    public List<Task> getKnownTasks() {
+        return new ArrayList<>(taskMap.values());
+    }
+
     public List<UnresolvedTask> getUnresolved() {
         return new ArrayList<>(unresolvedTasks.values());
     }
 
+    /**
+     * Snapshot of the unresolved task-names. The same instance is returned until the set of unresolved tasks
+     * changes, so it may be used to cache anything derived from it.
+     */
+    public List<String> getUnresolvedTaskNames() {
+        return unresolvedTaskNames;
+    }
+
     public List<String> getUnresolvedTaskNames(Duration unresolvedFor) {
         return unresolvedTasks.values().stream()
             .filter(unresolved -> Duration.between(unresolved.firstUnresolved, clock.now()).toMillis() > unresolvedFor.toMillis())
@@ -84,7 +105,9 @@ public class TaskResolver {
     }
 
     public void clearUnresolved(String taskName) {
-        unresolvedTasks.remove(taskName);
+        if (unresolvedTasks.remove(taskName) != null) {
+            unresolvedChanged();
+        }
     }
 
     public class UnresolvedTask {
@@ -20,13 +20,16 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 public class Waiter {
     private static final Logger LOG = LoggerFactory.getLogger(Waiter.class);
 
     private Object lock;
     private boolean woken = false;
-    private final Duration duration;
+    private final Supplier<Duration> duration;
+    private final UnaryOperator<Duration> jitter;
     private Clock clock;
     private boolean isWaiting = false;
 
@@ -39,13 +42,37 @@ public class Waiter {
     }
 
     Waiter(Duration duration, Clock clock, Object lock) {
+        this(() -> duration, clock, lock);
+    }
+
+    /**
+     * @param duration consulted before every wait, allowing the duration to vary between waits
+     */
+    public Waiter(Supplier<Duration> duration, Clock clock) {
+        this(duration, UnaryOperator.identity(), clock);
+    }
+
+    /**
+     * @param duration consulted before every wait, allowing the duration to vary between waits
+     * @param jitter applied to the duration of each wait, but not to {@link #getWaitDuration()}
+     */
+    public Waiter(Supplier<Duration> duration, UnaryOperator<Duration> jitter, Clock clock) {
+        this(duration, jitter, clock, new Object());
+    }
+
+    Waiter(Supplier<Duration> duration, Clock clock, Object lock) {
+        this(duration, UnaryOperator.identity(), clock, lock);
+    }
+
+    Waiter(Supplier<Duration> duration, UnaryOperator<Duration> jitter, Clock clock, Object lock) {
         this.duration = duration;
+        this.jitter = jitter;
         this.clock = clock;
         this.lock = lock;
     }
 
     public void doWait() throws InterruptedException {
-        final long millis = duration.toMillis();
+        final long millis = jitter.apply(duration.get()).toMillis();
         if (millis > 0) {
             Instant waitUntil = clock.now().plusMillis(millis);
 
@@ -77,8 +104,11 @@ public class Waiter {
         }
     }
 
+    /**
+     * @return the duration of the next wait, without jitter
+     */
     public Duration getWaitDuration() {
-        return duration;
+        return duration.get();
     }
 
 }
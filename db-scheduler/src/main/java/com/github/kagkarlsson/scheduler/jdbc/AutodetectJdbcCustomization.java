@@ -24,11 +24,16 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.List;
 
 public class AutodetectJdbcCustomization implements JdbcCustomization {
 
     private static final Logger LOG = LoggerFactory.getLogger(AutodetectJdbcCustomization.class);
     public static final String MICROSOFT_SQL_SERVER = "Microsoft SQL Server";
+    public static final String POSTGRESQL = "PostgreSQL";
+    public static final String MYSQL = "MySQL";
+    public static final String ORACLE = "Oracle";
+    public static final String HSQL = "HSQL Database Engine";
     private final JdbcCustomization jdbcCustomization;
 
     public AutodetectJdbcCustomization(DataSource dataSource) {
@@ -42,6 +47,22 @@ public class AutodetectJdbcCustomization implements JdbcCustomization {
             if (databaseProductName.equals(MICROSOFT_SQL_SERVER)) {
                 LOG.info("Using MSSQL jdbc-overrides.");
                 detectedCustomization = new MssqlJdbcCustomization();
+            } else if (databaseProductName.equals(POSTGRESQL)) {
+                LOG.info("Using PostgreSQL jdbc-overrides.");
+                detectedCustomization = new PostgreSqlJdbcCustomization();
+            } else if (databaseProductName.equals(MYSQL)) {
+                int majorVersion = c.getMetaData().getDatabaseMajorVersion();
+                LOG.info("Using MySQL jdbc-overrides.");
+                String url = c.getMetaData().getURL();
+                boolean reportsAffectedRows = url != null && url.toLowerCase().contains("useaffectedrows=true");
+                detectedCustomization = new MySqlJdbcCustomization(majorVersion >= 8, reportsAffectedRows);
+            } else if (databaseProductName.equals(ORACLE)) {
+                int majorVersion = c.getMetaData().getDatabaseMajorVersion();
+                LOG.info("Using Oracle jdbc-overrides.");
+                detectedCustomization = new OracleJdbcCustomization(majorVersion >= 12);
+            } else if (databaseProductName.equals(HSQL)) {
+                LOG.info("Using HSQL jdbc-overrides.");
+                detectedCustomization = new HsqlJdbcCustomization();
             }
 
         } catch (SQLException e) {
@@ -60,4 +81,49 @@ public class AutodetectJdbcCustomization implements JdbcCustomization {
     public Instant getInstant(ResultSet rs, String columnName) throws SQLException {
         return jdbcCustomization.getInstant(rs, columnName);
     }
+
+    @Override
+    public boolean supportsLockAndFetch() {
+        return jdbcCustomization.supportsLockAndFetch();
+    }
+
+    @Override
+    public String createSelectForUpdateSkipLockedQuery(String tableName, String condition, String orderBy, int limit) {
+        return jdbcCustomization.createSelectForUpdateSkipLockedQuery(tableName, condition, orderBy, limit);
+    }
+
+    @Override
+    public boolean supportsExplicitQueryLimit() {
+        return jdbcCustomization.supportsExplicitQueryLimit();
+    }
+
+    @Override
+    public String createSelectWithLimitQuery(String tableName, String columns, String condition, String orderBy) {
+        return jdbcCustomization.createSelectWithLimitQuery(tableName, columns, condition, orderBy);
+    }
+
+    @Override
+    public boolean supportsInsertIfNotExists() {
+        return jdbcCustomization.supportsInsertIfNotExists();
+    }
+
+    @Override
+    public String createInsertIfNotExistsQuery(String tableName, List<String> columns) {
+        return jdbcCustomization.createInsertIfNotExistsQuery(tableName, columns);
+    }
+
+    @Override
+    public boolean supportsAdvisoryLock() {
+        return jdbcCustomization.supportsAdvisoryLock();
+    }
+
+    @Override
+    public String createAdvisoryLockQuery() {
+        return jdbcCustomization.createAdvisoryLockQuery();
+    }
+
+    @Override
+    public String orderByDescendingNullsLast(String expression) {
+        return jdbcCustomization.orderByDescendingNullsLast(expression);
+    }
 }
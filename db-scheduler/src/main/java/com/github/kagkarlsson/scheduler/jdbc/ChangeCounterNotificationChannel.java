@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.RowMapper;
+import com.github.kagkarlsson.jdbc.SQLRuntimeException;
+import com.github.kagkarlsson.scheduler.ExecutorUtils;
+import com.github.kagkarlsson.scheduler.NotificationChannel;
+import com.github.kagkarlsson.scheduler.Scheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.kagkarlsson.scheduler.ExecutorUtils.defaultThreadFactoryWithPrefix;
+
+/**
+ * {@link NotificationChannel} for databases without push notifications. A notification increments a counter in a
+ * single-row table, and listening schedulers frequently read the counter, checking for due executions only when it
+ * has changed. Reading the counter is a primary key lookup, far cheaper than the query for due executions, so the
+ * polling-interval may be kept long while still reacting to executions scheduled to run directly within
+ * {@code checkInterval}.
+ *
+ * <p>Requires a table like:
+ * <pre>
+ * create table scheduled_tasks_change_counter (
+ *   id INT not null,
+ *   counter BIGINT not null,
+ *   PRIMARY KEY (id)
+ * )
+ * </pre>
+ */
+public class ChangeCounterNotificationChannel implements NotificationChannel {
+
+    public static final String DEFAULT_TABLE_NAME = "scheduled_tasks_change_counter";
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeCounterNotificationChannel.class);
+    private static final int COUNTER_ID = 1;
+
+    private final JdbcRunner jdbcRunner;
+    private final String tableName;
+    private final Duration checkInterval;
+    private ScheduledExecutorService checkExecutor;
+    private long lastSeenCounter;
+
+    public ChangeCounterNotificationChannel(DataSource dataSource) {
+        this(dataSource, DEFAULT_TABLE_NAME, Duration.ofMillis(500));
+    }
+
+    /**
+     * @param checkInterval how often listening schedulers read the counter
+     */
+    public ChangeCounterNotificationChannel(DataSource dataSource, String tableName, Duration checkInterval) {
+        this.jdbcRunner = new JdbcRunner(dataSource);
+        this.tableName = tableName;
+        this.checkInterval = checkInterval;
+    }
+
+    @Override
+    public void notifyExecutionsDue() {
+        final int updated = jdbcRunner.execute("update " + tableName + " set counter = counter + 1 where id = ?",
+            p -> p.setInt(1, COUNTER_ID));
+        if (updated == 0) {
+            try {
+                jdbcRunner.execute("insert into " + tableName + "(id, counter) values(?, ?)", p -> {
+                    p.setInt(1, COUNTER_ID);
+                    p.setLong(2, 1L);
+                });
+            } catch (SQLRuntimeException e) {
+                LOG.debug("Exception when inserting change-counter. Assuming it to be a constraint violation, i.e. another thread created it.", e);
+                jdbcRunner.execute("update " + tableName + " set counter = counter + 1 where id = ?", p -> p.setInt(1, COUNTER_ID));
+            }
+        }
+    }
+
+    /**
+     * @return current value of the change-counter, 0 if never notified
+     */
+    public long readCounter() {
+        final List<Long> counters = jdbcRunner.query("select counter from " + tableName + " where id = ?",
+            p -> p.setInt(1, COUNTER_ID),
+            (RowMapper<Long>) rs -> rs.getLong("counter"));
+        return counters.isEmpty() ? 0 : counters.get(0);
+    }
+
+    @Override
+    public synchronized void startListening(Runnable onExecutionsDue) {
+        if (checkExecutor != null) {
+            throw new IllegalStateException("Already listening for changes in " + tableName);
+        }
+        lastSeenCounter = readCounter();
+        checkExecutor = Executors.newSingleThreadScheduledExecutor(defaultThreadFactoryWithPrefix(Scheduler.THREAD_PREFIX + "-change-counter-"));
+        checkExecutor.scheduleWithFixedDelay(() -> checkForChanges(onExecutionsDue), checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void checkForChanges(Runnable onExecutionsDue) {
+        try {
+            final long counter = readCounter();
+            if (counter != lastSeenCounter) {
+                LOG.trace("Change-counter changed from {} to {}.", lastSeenCounter, counter);
+                lastSeenCounter = counter;
+                onExecutionsDue.run();
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to read change-counter from {}. Will retry in {}.", tableName, checkInterval, e);
+        }
+    }
+
+    @Override
+    public synchronized void stopListening() {
+        if (checkExecutor != null) {
+            if (!ExecutorUtils.shutdownNowAndAwaitTermination(checkExecutor, Duration.ofSeconds(5))) {
+                LOG.warn("Failed to shutdown change-counter-executor properly.");
+            }
+            checkExecutor = null;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import com.github.kagkarlsson.jdbc.SQLRuntimeException;
+import com.github.kagkarlsson.scheduler.CompactSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Copies executions from a table in the regular layout to a table in the {@link CompactSchema compact layout},
+ * interning task-names on the way. Run it with all schedulers stopped, and start them using the compact schema
+ * afterwards. Executions are copied in batches, each in its own transaction, skipping executions already in the
+ * target table, so an interrupted migration can be run again.
+ *
+ * <p>The optional columns {@code partition_number} and {@code priority} are copied if present in the source table.
+ */
+public class CompactSchemaMigration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompactSchemaMigration.class);
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final String sourceTableName;
+    private final String targetTableName;
+    private final JdbcCustomization sourceCustomization;
+    private final JdbcCustomization targetCustomization;
+    private final TaskNameDictionary taskNameDictionary;
+
+    public CompactSchemaMigration(DataSource dataSource, String sourceTableName, String targetTableName, CompactSchema compactSchema) {
+        this(dataSource, new AutodetectJdbcCustomization(dataSource), sourceTableName, targetTableName, compactSchema);
+    }
+
+    public CompactSchemaMigration(DataSource dataSource, JdbcCustomization jdbcCustomization, String sourceTableName, String targetTableName, CompactSchema compactSchema) {
+        if (!compactSchema.isEnabled()) {
+            throw new IllegalArgumentException("CompactSchema must be enabled");
+        }
+        this.dataSource = dataSource;
+        this.sourceTableName = sourceTableName;
+        this.targetTableName = targetTableName;
+        this.sourceCustomization = jdbcCustomization;
+        this.targetCustomization = new EpochMillisJdbcCustomization(jdbcCustomization);
+        this.taskNameDictionary = new TaskNameDictionary(dataSource, compactSchema.getTaskNamesTableName());
+    }
+
+    public int migrate() {
+        return migrate(DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @return the number of executions copied, excluding those already in the target table
+     */
+    public int migrate(int batchSize) {
+        final List<String> columns = columns();
+        assignTaskNameIds();
+        int copied = 0;
+        int read = 0;
+        String[] after = null;
+        while (true) {
+            final Batch batch = copyBatch(columns, after, batchSize);
+            copied += batch.copied;
+            read += batch.read;
+            if (batch.read < batchSize) {
+                break;
+            }
+            after = batch.last;
+            LOG.info("Migrated {} executions from {} to {}, {} were already present.", read, sourceTableName, targetTableName, read - copied);
+        }
+        LOG.info("Finished migrating {} executions from {} to {}, {} were already present.", read, sourceTableName, targetTableName, read - copied);
+        return copied;
+    }
+
+    private List<String> columns() {
+        final List<String> columns = new ArrayList<>(Arrays.asList("task_name", "task_instance", "task_data", "execution_time", "picked", "picked_by",
+            "last_success", "last_failure", "consecutive_failures", "last_heartbeat", "version"));
+        final Set<String> sourceColumns = inTransaction(c -> {
+            try (PreparedStatement select = c.prepareStatement("select * from " + sourceTableName + " where 1 = 0");
+                 ResultSet rs = select.executeQuery()) {
+                final ResultSetMetaData metadata = rs.getMetaData();
+                final Set<String> names = new HashSet<>();
+                for (int i = 1; i <= metadata.getColumnCount(); i++) {
+                    names.add(metadata.getColumnName(i).toLowerCase());
+                }
+                return names;
+            }
+        });
+        for (String optional : Arrays.asList("partition_number", "priority")) {
+            if (sourceColumns.contains(optional)) {
+                columns.add(optional);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Before copying, since assigning an id writes using a connection of its own.
+     */
+    private void assignTaskNameIds() {
+        final List<String> taskNames = inTransaction(c -> {
+            final List<String> names = new ArrayList<>();
+            try (PreparedStatement select = c.prepareStatement("select distinct task_name from " + sourceTableName);
+                 ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString("task_name"));
+                }
+            }
+            return names;
+        });
+        taskNames.forEach(taskNameDictionary::idOf);
+    }
+
+    private int idOf(Connection c, String taskName) throws SQLException {
+        return taskNameDictionary.findId(c, taskName).orElseThrow(() -> new IllegalStateException(
+            "Task-name '" + taskName + "' was added to " + sourceTableName + " during the migration. Stop all schedulers and run it again."));
+    }
+
+    private Batch copyBatch(List<String> columns, String[] after, int batchSize) {
+        final boolean insertIfNotExists = targetCustomization.supportsInsertIfNotExists();
+        final String insertSql = insertIfNotExists
+            ? targetCustomization.createInsertIfNotExistsQuery(targetTableName, columns)
+            : "insert into " + targetTableName + "(" + String.join(", ", columns) + ") values(" + columns.stream().map(c -> "?").collect(joining(", ")) + ")";
+
+        return inTransaction(c -> {
+            final Batch batch = new Batch();
+            try (PreparedStatement select = c.prepareStatement("select " + String.join(", ", columns) + " from " + sourceTableName +
+                (after != null ? " where task_name > ? or (task_name = ? and task_instance > ?)" : "") +
+                " order by task_name, task_instance");
+                 PreparedStatement insert = c.prepareStatement(insertSql)) {
+                if (after != null) {
+                    select.setString(1, after[0]);
+                    select.setString(2, after[0]);
+                    select.setString(3, after[1]);
+                }
+                select.setMaxRows(batchSize);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        batch.read++;
+                        batch.last = new String[]{rs.getString("task_name"), rs.getString("task_instance")};
+                        if (!insertIfNotExists && exists(c, batch.last[0], batch.last[1])) {
+                            continue;
+                        }
+                        setInsertParameters(c, insert, rs, columns);
+                        batch.copied += insert.executeUpdate();
+                    }
+                }
+            }
+            return batch;
+        });
+    }
+
+    private boolean exists(Connection c, String taskName, String taskInstance) throws SQLException {
+        try (PreparedStatement select = c.prepareStatement("select 1 from " + targetTableName + " where task_name = ? and task_instance = ?")) {
+            select.setInt(1, idOf(c, taskName));
+            select.setString(2, taskInstance);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private void setInsertParameters(Connection c, PreparedStatement insert, ResultSet rs, List<String> columns) throws SQLException {
+        int index = 1;
+        for (String column : columns) {
+            switch (column) {
+                case "task_name":
+                    insert.setInt(index++, idOf(c, rs.getString(column)));
+                    break;
+                case "task_data":
+                    insert.setObject(index++, rs.getBytes(column));
+                    break;
+                case "execution_time":
+                case "last_success":
+                case "last_failure":
+                case "last_heartbeat":
+                    targetCustomization.setInstant(insert, index++, sourceCustomization.getInstant(rs, column));
+                    break;
+                case "picked":
+                    insert.setBoolean(index++, rs.getBoolean(column));
+                    break;
+                case "version":
+                    insert.setLong(index++, rs.getLong(column));
+                    break;
+                case "consecutive_failures":
+                case "partition_number":
+                case "priority":
+                    final int value = rs.getInt(column);
+                    if (rs.wasNull()) {
+                        insert.setNull(index++, Types.INTEGER);
+                    } else {
+                        insert.setInt(index++, value);
+                    }
+                    break;
+                default:
+                    insert.setString(index++, rs.getString(column));
+            }
+        }
+    }
+
+    private <T> T inTransaction(InTransaction<T> inTransaction) {
+        try (Connection c = dataSource.getConnection()) {
+            final boolean originalAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try {
+                final T result = inTransaction.apply(c);
+                c.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(originalAutoCommit);
+            }
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    private interface InTransaction<T> {
+        T apply(Connection c) throws SQLException;
+    }
+
+    private static class Batch {
+        private int read;
+        private int copied;
+        private String[] last;
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stores instants as epoch-milliseconds in {@code BIGINT} columns, as in the compact schema. Avoids converting through
+ * {@link java.sql.Timestamp} (and time zones) for every column read and written, and narrows the columns to 8 bytes.
+ * Everything else is delegated.
+ */
+public class EpochMillisJdbcCustomization implements JdbcCustomization {
+
+    private final JdbcCustomization delegate;
+
+    public EpochMillisJdbcCustomization(JdbcCustomization delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void setInstant(PreparedStatement p, int index, Instant value) throws SQLException {
+        if (value == null) {
+            p.setNull(index, Types.BIGINT);
+        } else {
+            p.setLong(index, value.toEpochMilli());
+        }
+    }
+
+    @Override
+    public Instant getInstant(ResultSet rs, String columnName) throws SQLException {
+        final long epochMillis = rs.getLong(columnName);
+        return rs.wasNull() ? null : Instant.ofEpochMilli(epochMillis);
+    }
+
+    @Override
+    public boolean supportsLockAndFetch() {
+        return delegate.supportsLockAndFetch();
+    }
+
+    @Override
+    public String createSelectForUpdateSkipLockedQuery(String tableName, String condition, String orderBy, int limit) {
+        return delegate.createSelectForUpdateSkipLockedQuery(tableName, condition, orderBy, limit);
+    }
+
+    @Override
+    public boolean supportsExplicitQueryLimit() {
+        return delegate.supportsExplicitQueryLimit();
+    }
+
+    @Override
+    public String createSelectWithLimitQuery(String tableName, String columns, String condition, String orderBy) {
+        return delegate.createSelectWithLimitQuery(tableName, columns, condition, orderBy);
+    }
+
+    @Override
+    public boolean supportsInsertIfNotExists() {
+        return delegate.supportsInsertIfNotExists();
+    }
+
+    @Override
+    public String createInsertIfNotExistsQuery(String tableName, List<String> columns) {
+        return delegate.createInsertIfNotExistsQuery(tableName, columns);
+    }
+
+    @Override
+    public boolean supportsAdvisoryLock() {
+        return delegate.supportsAdvisoryLock();
+    }
+
+    @Override
+    public String createAdvisoryLockQuery() {
+        return delegate.createAdvisoryLockQuery();
+    }
+
+    @Override
+    public String orderByDescendingNullsLast(String expression) {
+        return delegate.orderByDescendingNullsLast(expression);
+    }
+}
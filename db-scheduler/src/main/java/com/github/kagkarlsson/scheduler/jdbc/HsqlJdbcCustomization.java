@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import java.util.Collections;
+import java.util.List;
+
+public class HsqlJdbcCustomization extends DefaultJdbcCustomization {
+
+    @Override
+    public boolean supportsExplicitQueryLimit() {
+        return true;
+    }
+
+    @Override
+    public String createSelectWithLimitQuery(String tableName, String columns, String condition, String orderBy) {
+        return "select " + columns + " from " + tableName + " where " + condition + " order by " + orderBy + " limit ?";
+    }
+
+    @Override
+    public boolean supportsInsertIfNotExists() {
+        return true;
+    }
+
+    /**
+     * Only the key columns are selected from the {@code VALUES} source, since HSQL cannot infer the type of the
+     * other parameters there. In the insert-clause their types are given by the target columns.
+     */
+    @Override
+    public String createInsertIfNotExistsQuery(String tableName, List<String> columns) {
+        return "merge into " + tableName + " t using (values(?, ?)) as s(task_name, task_instance) " +
+            "on (t.task_name = s.task_name and t.task_instance = s.task_instance) " +
+            "when not matched then insert (" + String.join(", ", columns) + ") " +
+            "values (s.task_name, s.task_instance" + String.join("", Collections.nCopies(columns.size() - 2, ", ?")) + ")";
+    }
+
+}
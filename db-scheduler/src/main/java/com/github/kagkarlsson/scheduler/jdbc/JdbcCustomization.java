@@ -19,9 +19,91 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.List;
 
 public interface JdbcCustomization {
     void setInstant(PreparedStatement p, int index, Instant value) throws SQLException;
 
     Instant getInstant(ResultSet rs, String columnName) throws SQLException;
+
+    /**
+     * Whether due executions can be selected and locked in one go, skipping rows already locked by
+     * other transactions (i.e. {@code SELECT ... FOR UPDATE SKIP LOCKED} or equivalent).
+     */
+    default boolean supportsLockAndFetch() {
+        return false;
+    }
+
+    /**
+     * Creates a query selecting at most {@code limit} rows matching {@code condition}, ordered by
+     * {@code orderBy}. Selected rows must be locked, and rows locked by other transactions skipped.
+     * Only called if {@link #supportsLockAndFetch()} is true. Defaults to SQL:2008 {@code FETCH FIRST} with
+     * {@code FOR UPDATE SKIP LOCKED}.
+     */
+    default String createSelectForUpdateSkipLockedQuery(String tableName, String condition, String orderBy, int limit) {
+        return "select * from " + tableName + " where " + condition + " order by " + orderBy +
+            " fetch first " + limit + " rows only for update skip locked";
+    }
+
+    /**
+     * Whether the number of rows returned by a select can be limited in the query itself (i.e. {@code LIMIT ?} or
+     * {@code FETCH FIRST ? ROWS ONLY}), letting the database plan for only the first rows. If not,
+     * {@code PreparedStatement.setMaxRows(..)} is used.
+     */
+    default boolean supportsExplicitQueryLimit() {
+        return false;
+    }
+
+    /**
+     * Creates a query selecting {@code columns} of the rows matching {@code condition}, ordered by {@code orderBy},
+     * limited to the number of rows given by a parameter bound after any parameters in {@code condition} and
+     * {@code orderBy}. Only called if {@link #supportsExplicitQueryLimit()} is true. Defaults to SQL:2008
+     * {@code FETCH FIRST ? ROWS ONLY}.
+     */
+    default String createSelectWithLimitQuery(String tableName, String columns, String condition, String orderBy) {
+        return "select " + columns + " from " + tableName + " where " + condition + " order by " + orderBy + " fetch first ? rows only";
+    }
+
+    /**
+     * Whether a row can be inserted, unless one with the same task_name and task_instance already exists, using
+     * a single statement reporting the number of rows actually inserted (i.e. {@code ON CONFLICT DO NOTHING} or
+     * equivalent).
+     */
+    default boolean supportsInsertIfNotExists() {
+        return false;
+    }
+
+    /**
+     * Creates a statement inserting one row with values for {@code columns}, bound as parameters in column order,
+     * or inserting nothing if a row with the same task_name and task_instance already exists. The first two
+     * columns are always task_name and task_instance. Only called if {@link #supportsInsertIfNotExists()} is true.
+     */
+    default String createInsertIfNotExistsQuery(String tableName, List<String> columns) {
+        throw new UnsupportedOperationException("Insert-if-not-exists is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Whether a lock on an arbitrary key can be taken, held until the end of the transaction (i.e.
+     * {@code pg_advisory_xact_lock}). Used to serialize the creation of executions when task_name and task_instance
+     * cannot be unique on their own, like in a table range-partitioned by execution_time.
+     */
+    default boolean supportsAdvisoryLock() {
+        return false;
+    }
+
+    /**
+     * Creates a statement waiting for and taking a lock on the key bound as its single {@code BIGINT} parameter,
+     * held until the end of the transaction. Only called if {@link #supportsAdvisoryLock()} is true.
+     */
+    default String createAdvisoryLockQuery() {
+        throw new UnsupportedOperationException("Advisory locks are not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Creates an order-by term ordering by {@code expression} descending, with null values last (i.e.
+     * {@code DESC NULLS LAST} or equivalent).
+     */
+    default String orderByDescendingNullsLast(String expression) {
+        return expression + " desc nulls last";
+    }
 }
@@ -21,6 +21,8 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.TimeZone;
 
@@ -36,4 +38,54 @@ public class MssqlJdbcCustomization implements JdbcCustomization {
         return Optional.ofNullable(rs.getTimestamp(columnName)).map(Timestamp::toInstant).orElse(null);
     }
 
+    @Override
+    public boolean supportsLockAndFetch() {
+        return true;
+    }
+
+    @Override
+    public String createSelectForUpdateSkipLockedQuery(String tableName, String condition, String orderBy, int limit) {
+        return "select top " + limit + " * from " + tableName + " with (updlock, readpast, rowlock) " +
+            "where " + condition + " order by " + orderBy;
+    }
+
+    @Override
+    public boolean supportsExplicitQueryLimit() {
+        return true;
+    }
+
+    /**
+     * Uses {@code OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY} (SQL Server 2012 and later) rather than {@code TOP (?)},
+     * so that the limit is bound after the parameters of the condition like for the other databases.
+     */
+    @Override
+    public String createSelectWithLimitQuery(String tableName, String columns, String condition, String orderBy) {
+        return "select " + columns + " from " + tableName + " where " + condition + " order by " + orderBy +
+            " offset 0 rows fetch next ? rows only";
+    }
+
+    @Override
+    public boolean supportsInsertIfNotExists() {
+        return true;
+    }
+
+    /**
+     * {@code HOLDLOCK} makes the existence check and the insert atomic, MERGE alone is not.
+     */
+    @Override
+    public String createInsertIfNotExistsQuery(String tableName, List<String> columns) {
+        return "merge into " + tableName + " with (holdlock) as t using (values (?, ?)) as s (task_name, task_instance) " +
+            "on (t.task_name = s.task_name and t.task_instance = s.task_instance) " +
+            "when not matched then insert (" + String.join(", ", columns) + ") " +
+            "values (s.task_name, s.task_instance" + String.join("", Collections.nCopies(columns.size() - 2, ", ?")) + ");";
+    }
+
+    /**
+     * Null is the lowest value, so already last when descending.
+     */
+    @Override
+    public String orderByDescendingNullsLast(String expression) {
+        return expression + " desc";
+    }
+
 }
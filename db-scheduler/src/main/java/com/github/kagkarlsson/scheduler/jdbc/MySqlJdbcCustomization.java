@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import java.util.Collections;
+import java.util.List;
+
+public class MySqlJdbcCustomization extends DefaultJdbcCustomization {
+
+    private final boolean supportsSkipLocked;
+    private final boolean reportsAffectedRows;
+
+    /**
+     * @param supportsSkipLocked true for MySQL 8 and later, where {@code FOR UPDATE SKIP LOCKED} is available
+     */
+    public MySqlJdbcCustomization(boolean supportsSkipLocked) {
+        this(supportsSkipLocked, false);
+    }
+
+    /**
+     * @param supportsSkipLocked true for MySQL 8 and later, where {@code FOR UPDATE SKIP LOCKED} is available
+     * @param reportsAffectedRows true if the driver reports affected rather than found rows for updates (e.g.
+     *                            Connector/J with {@code useAffectedRows=true}), which is required to tell whether
+     *                            {@code INSERT ... ON DUPLICATE KEY UPDATE} inserted a row
+     */
+    public MySqlJdbcCustomization(boolean supportsSkipLocked, boolean reportsAffectedRows) {
+        this.supportsSkipLocked = supportsSkipLocked;
+        this.reportsAffectedRows = reportsAffectedRows;
+    }
+
+    @Override
+    public boolean supportsLockAndFetch() {
+        return supportsSkipLocked;
+    }
+
+    @Override
+    public String createSelectForUpdateSkipLockedQuery(String tableName, String condition, String orderBy, int limit) {
+        return "select * from " + tableName + " where " + condition + " order by " + orderBy +
+            " limit " + limit + " for update skip locked";
+    }
+
+    @Override
+    public boolean supportsExplicitQueryLimit() {
+        return true;
+    }
+
+    @Override
+    public String createSelectWithLimitQuery(String tableName, String columns, String condition, String orderBy) {
+        return "select " + columns + " from " + tableName + " where " + condition + " order by " + orderBy + " limit ?";
+    }
+
+    /**
+     * Only if affected rows are reported, since an existing row left unchanged otherwise counts as one found row.
+     */
+    @Override
+    public boolean supportsInsertIfNotExists() {
+        return reportsAffectedRows;
+    }
+
+    /**
+     * Uses a no-op {@code ON DUPLICATE KEY UPDATE} rather than {@code INSERT IGNORE}, which would also downgrade
+     * other errors to warnings, e.g. truncating too long values rather than rejecting them.
+     */
+    @Override
+    public String createInsertIfNotExistsQuery(String tableName, List<String> columns) {
+        return "insert into " + tableName + "(" + String.join(", ", columns) + ") values(" +
+            String.join(", ", Collections.nCopies(columns.size(), "?")) + ") on duplicate key update task_name = task_name";
+    }
+
+    /**
+     * Null is the lowest value, so already last when descending.
+     */
+    @Override
+    public String orderByDescendingNullsLast(String expression) {
+        return expression + " desc";
+    }
+
+}
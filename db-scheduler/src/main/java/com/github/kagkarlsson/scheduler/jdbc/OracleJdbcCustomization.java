@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import java.util.Collections;
+import java.util.List;
+
+public class OracleJdbcCustomization extends DefaultJdbcCustomization {
+
+    private final boolean supportsFetchFirst;
+
+    public OracleJdbcCustomization() {
+        this(true);
+    }
+
+    /**
+     * @param supportsFetchFirst true for Oracle 12c and later, where {@code FETCH FIRST n ROWS ONLY} is available
+     */
+    public OracleJdbcCustomization(boolean supportsFetchFirst) {
+        this.supportsFetchFirst = supportsFetchFirst;
+    }
+
+    @Override
+    public boolean supportsLockAndFetch() {
+        return true;
+    }
+
+    /**
+     * Oracle does not allow a row-limiting clause together with {@code FOR UPDATE}. Rows are however locked as
+     * they are fetched when using {@code SKIP LOCKED}, so the limit is enforced by the caller via
+     * {@code PreparedStatement.setMaxRows(..)}.
+     */
+    @Override
+    public String createSelectForUpdateSkipLockedQuery(String tableName, String condition, String orderBy, int limit) {
+        return "select * from " + tableName + " where " + condition + " order by " + orderBy + " for update skip locked";
+    }
+
+    @Override
+    public boolean supportsExplicitQueryLimit() {
+        return supportsFetchFirst;
+    }
+
+    @Override
+    public boolean supportsInsertIfNotExists() {
+        return true;
+    }
+
+    /**
+     * Concurrent merges of the same key may still fail with a unique constraint violation, which the caller
+     * handles like for a plain insert.
+     */
+    @Override
+    public String createInsertIfNotExistsQuery(String tableName, List<String> columns) {
+        return "merge into " + tableName + " t using (select ? task_name, ? task_instance from dual) s " +
+            "on (t.task_name = s.task_name and t.task_instance = s.task_instance) " +
+            "when not matched then insert (" + String.join(", ", columns) + ") " +
+            "values (s.task_name, s.task_instance" + String.join("", Collections.nCopies(columns.size() - 2, ", ?")) + ")";
+    }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import java.util.Collections;
+import java.util.List;
+
+public class PostgreSqlJdbcCustomization extends DefaultJdbcCustomization {
+
+    @Override
+    public boolean supportsLockAndFetch() {
+        return true;
+    }
+
+    @Override
+    public String createSelectForUpdateSkipLockedQuery(String tableName, String condition, String orderBy, int limit) {
+        return "select * from " + tableName + " where " + condition + " order by " + orderBy +
+            " limit " + limit + " for update skip locked";
+    }
+
+    @Override
+    public boolean supportsExplicitQueryLimit() {
+        return true;
+    }
+
+    @Override
+    public String createSelectWithLimitQuery(String tableName, String columns, String condition, String orderBy) {
+        return "select " + columns + " from " + tableName + " where " + condition + " order by " + orderBy + " limit ?";
+    }
+
+    @Override
+    public boolean supportsInsertIfNotExists() {
+        return true;
+    }
+
+    @Override
+    public String createInsertIfNotExistsQuery(String tableName, List<String> columns) {
+        return "insert into " + tableName + "(" + String.join(", ", columns) + ") values(" +
+            String.join(", ", Collections.nCopies(columns.size(), "?")) + ") on conflict do nothing";
+    }
+
+    @Override
+    public boolean supportsAdvisoryLock() {
+        return true;
+    }
+
+    @Override
+    public String createAdvisoryLockQuery() {
+        return "select pg_advisory_xact_lock(?)";
+    }
+
+}
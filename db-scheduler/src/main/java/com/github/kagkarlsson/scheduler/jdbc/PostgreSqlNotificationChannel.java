@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.Mappers;
+import com.github.kagkarlsson.scheduler.ExecutorUtils;
+import com.github.kagkarlsson.scheduler.NotificationChannel;
+import com.github.kagkarlsson.scheduler.Scheduler;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import static com.github.kagkarlsson.scheduler.ExecutorUtils.defaultThreadFactoryWithPrefix;
+
+/**
+ * {@link NotificationChannel} using PostgreSQL {@code LISTEN/NOTIFY}. The notification is sent on a separate
+ * connection from the {@code DataSource} after the execution has been scheduled, i.e. it is not part of any
+ * transaction the scheduling happens in. If that transaction has not committed yet, notified schedulers may not see
+ * the execution and will instead pick it up at their next poll.
+ *
+ * <p>Listening occupies one connection from the {@code DataSource} for as long as the scheduler is running.
+ * Requires the PostgreSQL JDBC driver.
+ */
+public class PostgreSqlNotificationChannel implements NotificationChannel {
+
+    public static final String DEFAULT_CHANNEL_NAME = "db_scheduler_executions_due";
+    private static final Logger LOG = LoggerFactory.getLogger(PostgreSqlNotificationChannel.class);
+    private static final Pattern VALID_CHANNEL_NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final DataSource dataSource;
+    private final JdbcRunner jdbcRunner;
+    private final String channelName;
+    private final Duration checkInterval;
+    private ExecutorService listenerExecutor;
+    private volatile boolean stopped = false;
+
+    public PostgreSqlNotificationChannel(DataSource dataSource) {
+        this(dataSource, DEFAULT_CHANNEL_NAME, Duration.ofMillis(100));
+    }
+
+    /**
+     * @param checkInterval how often the listening connection checks for received notifications
+     */
+    public PostgreSqlNotificationChannel(DataSource dataSource, String channelName, Duration checkInterval) {
+        if (!VALID_CHANNEL_NAME.matcher(channelName).matches()) {
+            throw new IllegalArgumentException("Invalid channel name '" + channelName + "'. Must be a plain SQL identifier.");
+        }
+        this.dataSource = dataSource;
+        this.jdbcRunner = new JdbcRunner(dataSource);
+        this.channelName = channelName;
+        this.checkInterval = checkInterval;
+    }
+
+    @Override
+    public void notifyExecutionsDue() {
+        jdbcRunner.query("select pg_notify(?, '')", p -> p.setString(1, channelName), Mappers.NON_EMPTY_RESULTSET);
+    }
+
+    @Override
+    public synchronized void startListening(Runnable onExecutionsDue) {
+        if (listenerExecutor != null) {
+            throw new IllegalStateException("Already listening on channel " + channelName);
+        }
+        stopped = false;
+        listenerExecutor = Executors.newSingleThreadExecutor(defaultThreadFactoryWithPrefix(Scheduler.THREAD_PREFIX + "-notification-listener-"));
+        listenerExecutor.submit(() -> listenUntilStopped(onExecutionsDue));
+    }
+
+    @Override
+    public synchronized void stopListening() {
+        stopped = true;
+        if (listenerExecutor != null) {
+            if (!ExecutorUtils.shutdownNowAndAwaitTermination(listenerExecutor, Duration.ofSeconds(5))) {
+                LOG.warn("Failed to shutdown notification-listener-executor properly.");
+            }
+            listenerExecutor = null;
+        }
+    }
+
+    private void listenUntilStopped(Runnable onExecutionsDue) {
+        while (!stopped) {
+            try (Connection c = dataSource.getConnection()) {
+                c.setAutoCommit(true);
+                try (Statement listen = c.createStatement()) {
+                    listen.execute("LISTEN " + channelName);
+                }
+                LOG.debug("Listening for notifications on channel {}.", channelName);
+                final PGConnection pgConnection = c.unwrap(PGConnection.class);
+
+                while (!stopped) {
+                    // the driver only reads notifications off the wire when executing a statement
+                    try (Statement poll = c.createStatement()) {
+                        poll.execute("select 1");
+                    }
+                    final PGNotification[] notifications = pgConnection.getNotifications();
+                    if (notifications != null && notifications.length > 0) {
+                        LOG.trace("Received {} notifications on channel {}.", notifications.length, channelName);
+                        onExecutionsDue.run();
+                    }
+                    Thread.sleep(checkInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException | RuntimeException e) {
+                if (stopped) {
+                    return;
+                }
+                LOG.warn("Failed while listening for notifications on channel {}. Reconnecting in {}.", channelName, RECONNECT_DELAY, e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,506 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.SQLRuntimeException;
+import com.github.kagkarlsson.scheduler.CompactSchema;
+import com.github.kagkarlsson.scheduler.TablePartitioning;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.github.kagkarlsson.jdbc.PreparedStatementSetter.NOOP;
+import static com.github.kagkarlsson.scheduler.JdbcTaskRepository.DEFAULT_TABLE_NAME;
+import static com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization.HSQL;
+import static com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization.MICROSOFT_SQL_SERVER;
+import static com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization.MYSQL;
+import static com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization.ORACLE;
+import static com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization.POSTGRESQL;
+
+/**
+ * Creates and verifies the table used by the scheduler, including the indexes needed by the queries run on every
+ * poll. Without them, fetching due executions ({@code picked = ? and execution_time <= ?}) and detecting dead
+ * executions ({@code picked = ? and last_heartbeat <= ?}) are full table scans.
+ *
+ * <p>The table and indexes can be created for PostgreSQL, MySQL, Oracle, Microsoft SQL Server and HSQLDB, in the
+ * regular layout or the {@link CompactSchema compact layout}. For PostgreSQL and Oracle, the table can also be
+ * {@link TablePartitioning partitioned}. Verification only relies on the database metadata, and works for any database.
+ */
+public class SchemaManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaManager.class);
+    static final String EXECUTION_TIME = "execution_time";
+    static final String PICKED = "picked";
+    static final String PRIORITY = "priority";
+    static final String LAST_HEARTBEAT = "last_heartbeat";
+    static final String CREATE_TASK_NAMES_TABLE = "create table %s (id INT not null, task_name varchar(250) not null, PRIMARY KEY (id), UNIQUE (task_name))";
+
+    private final DataSource dataSource;
+    private final String tableName;
+    private final CompactSchema compactSchema;
+    private final TablePartitioning tablePartitioning;
+    private final JdbcRunner jdbcRunner;
+
+    public SchemaManager(DataSource dataSource) {
+        this(dataSource, DEFAULT_TABLE_NAME);
+    }
+
+    public SchemaManager(DataSource dataSource, String tableName) {
+        this(dataSource, tableName, CompactSchema.DISABLED);
+    }
+
+    /**
+     * @param compactSchema if enabled, {@link #createIfNotExists()} creates the table in the compact layout, and the
+     *                      table of task-names
+     */
+    public SchemaManager(DataSource dataSource, String tableName, CompactSchema compactSchema) {
+        this(dataSource, tableName, compactSchema, TablePartitioning.NONE);
+    }
+
+    /**
+     * @param tablePartitioning if enabled, {@link #createIfNotExists()} creates the table partitioned. For PostgreSQL
+     *                          (11 or later) with a default partition, and the range-partitions of the coming
+     *                          intervals, see {@link TablePartitionMaintenance}.
+     */
+    public SchemaManager(DataSource dataSource, String tableName, CompactSchema compactSchema, TablePartitioning tablePartitioning) {
+        this.dataSource = dataSource;
+        this.tableName = tableName;
+        this.compactSchema = compactSchema;
+        this.tablePartitioning = tablePartitioning;
+        this.jdbcRunner = new JdbcRunner(dataSource);
+    }
+
+    /**
+     * Creates the table and any of its indexes that are missing.
+     *
+     * @throws UnsupportedOperationException if the database is not one of the supported
+     */
+    public void createIfNotExists() {
+        final Schema schema = withMetadata(this::detectSchema)
+            .orElseThrow(() -> new UnsupportedOperationException("Creating the schema is not supported for database " + databaseProductName()));
+
+        if (compactSchema.isEnabled() && !tableExists(compactSchema.getTaskNamesTableName())) {
+            LOG.info("Creating table {}.", compactSchema.getTaskNamesTableName());
+            jdbcRunner.execute(String.format(CREATE_TASK_NAMES_TABLE, compactSchema.getTaskNamesTableName()), NOOP);
+        }
+        if (!tableExists()) {
+            LOG.info("Creating table {}.", tableName);
+            final String ddl = compactSchema.isEnabled() ? schema.createCompactTable(tableName) : schema.createTable(tableName);
+            if (tablePartitioning.isEnabled()) {
+                for (String statement : schema.createPartitionedTable(ddl, tableName, tablePartitioning, compactSchema.isEnabled())) {
+                    jdbcRunner.execute(statement, NOOP);
+                }
+                new TablePartitionMaintenance(dataSource, tableName, tablePartitioning, compactSchema).createUpcomingPartitions(Instant.now());
+            } else {
+                jdbcRunner.execute(ddl, NOOP);
+            }
+        }
+
+        final List<String> missingIndexColumns = missingIndexColumns(Arrays.asList(EXECUTION_TIME, LAST_HEARTBEAT, PRIORITY));
+        for (Index index : schema.indexes(tableName)) {
+            if (missingIndexColumns.contains(index.column)) {
+                LOG.info("Creating index {} on table {}.", index.name, tableName);
+                jdbcRunner.execute(tablePartitioning.isEnabled() ? schema.partitionedIndex(index.ddl) : index.ddl, NOOP);
+            }
+        }
+    }
+
+    public boolean tableExists() {
+        return tableExists(tableName);
+    }
+
+    private boolean tableExists(String tableName) {
+        return withMetadata((c, metadata) -> {
+            if (POSTGRESQL.equals(metadata.getDatabaseProductName())) {
+                // older drivers do not list partitioned tables
+                try (PreparedStatement p = c.prepareStatement("select to_regclass(?) is not null")) {
+                    p.setString(1, tableName);
+                    try (ResultSet rs = p.executeQuery()) {
+                        return rs.next() && rs.getBoolean(1);
+                    }
+                }
+            }
+            final TableRef table = tableRef(c, metadata, tableName);
+            try (ResultSet rs = metadata.getTables(table.catalog, table.schema, table.name, null)) {
+                return rs.next();
+            }
+        });
+    }
+
+    /**
+     * The columns {@code execution_time} and {@code last_heartbeat} both need to lead an index, or directly follow
+     * {@code picked} in one, for the index to be usable by the queries. Returns those that do not. A column further
+     * back in an index, like {@code execution_time} in the primary key of a table partitioned by execution-time,
+     * does not count.
+     */
+    public List<String> getMissingIndexColumns() {
+        return missingIndexColumns(Arrays.asList(EXECUTION_TIME, LAST_HEARTBEAT));
+    }
+
+    private List<String> missingIndexColumns(List<String> columnsToCheck) {
+        final Map<String, List<String>> indexColumns = withMetadata(this::indexColumns);
+        final List<String> missing = new ArrayList<>();
+        for (String column : columnsToCheck) {
+            if (indexColumns.values().stream().noneMatch(columns -> isUsableIndex(columns, column))) {
+                missing.add(column);
+            }
+        }
+        return missing;
+    }
+
+    private static boolean isUsableIndex(List<String> columns, String column) {
+        final int position = columns.indexOf(column);
+        return position == 0 || (position == 1 && PICKED.equals(columns.get(0)));
+    }
+
+    /**
+     * Logs a warning if the table or any of the indexes are missing. Never throws, since failing to read the
+     * metadata (e.g. lacking privileges) should not prevent the scheduler from starting.
+     */
+    public void warnIfIncomplete() {
+        try {
+            if (!tableExists()) {
+                LOG.warn("Table {} does not exist. Create it using the table definition for your database, or SchemaManager.createIfNotExists().", tableName);
+                return;
+            }
+            final List<String> missing = getMissingIndexColumns();
+            if (!missing.isEmpty()) {
+                LOG.warn("Table {} has no index on column(s) {}. Polling will need to scan the whole table. " +
+                    "Create the indexes listed with the table definition for your database, or using SchemaManager.createIfNotExists().", tableName, missing);
+            }
+        } catch (RuntimeException e) {
+            LOG.debug("Failed to verify indexes of table {}.", tableName, e);
+        }
+    }
+
+    private String databaseProductName() {
+        return withMetadata((c, metadata) -> metadata.getDatabaseProductName());
+    }
+
+    private Optional<Schema> detectSchema(Connection c, DatabaseMetaData metadata) throws SQLException {
+        final String databaseProductName = metadata.getDatabaseProductName();
+        if (databaseProductName.equals(POSTGRESQL)) {
+            return Optional.of(Schema.POSTGRESQL);
+        } else if (databaseProductName.equals(MYSQL)) {
+            return Optional.of(Schema.MYSQL);
+        } else if (databaseProductName.equals(ORACLE)) {
+            return Optional.of(Schema.ORACLE);
+        } else if (databaseProductName.equals(MICROSOFT_SQL_SERVER)) {
+            return Optional.of(Schema.MSSQL);
+        } else if (databaseProductName.equals(HSQL)) {
+            return Optional.of(Schema.HSQL);
+        }
+        return Optional.empty();
+    }
+
+    private Map<String, List<String>> indexColumns(Connection c, DatabaseMetaData metadata) throws SQLException {
+        if (POSTGRESQL.equals(metadata.getDatabaseProductName())) {
+            return postgresIndexColumns(c);
+        }
+        final TableRef table = tableRef(c, metadata, tableName);
+        final Map<String, List<String>> indexColumns = new HashMap<>();
+        try (ResultSet rs = metadata.getIndexInfo(table.catalog, table.schema, table.name, false, true)) {
+            while (rs.next()) {
+                final String indexName = rs.getString("INDEX_NAME");
+                final String column = rs.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                // ordered by ordinal position within each index
+                indexColumns.computeIfAbsent(indexName, ignored -> new ArrayList<>()).add(column.toLowerCase());
+            }
+        }
+        return indexColumns;
+    }
+
+    /**
+     * Older PostgreSQL drivers fail reading index metadata from newer servers, so the catalog is queried directly.
+     * Resolving the table name as a regclass also respects the search_path.
+     */
+    private Map<String, List<String>> postgresIndexColumns(Connection c) throws SQLException {
+        final Map<String, List<String>> indexColumns = new HashMap<>();
+        try (PreparedStatement p = c.prepareStatement(
+            "select i.relname as index_name, a.attname as column_name " +
+                "from pg_index ix " +
+                "join pg_class i on i.oid = ix.indexrelid " +
+                "cross join lateral unnest(cast(ix.indkey as int2[])) with ordinality as k(attnum, position) " +
+                // expression columns (attnum 0) have no attribute, but still take up their position
+                "left join pg_attribute a on a.attrelid = ix.indrelid and a.attnum = k.attnum " +
+                "where ix.indrelid = cast(? as regclass) " +
+                "order by i.relname, k.position")) {
+            p.setString(1, tableName);
+            try (ResultSet rs = p.executeQuery()) {
+                while (rs.next()) {
+                    final String column = rs.getString("column_name");
+                    indexColumns.computeIfAbsent(rs.getString("index_name"), ignored -> new ArrayList<>()).add(column != null ? column : "");
+                }
+            }
+        }
+        return indexColumns;
+    }
+
+    private static TableRef tableRef(Connection c, DatabaseMetaData metadata, String tableName) throws SQLException {
+        final int dot = tableName.lastIndexOf('.');
+        final String qualifier = dot >= 0 ? storedIdentifier(metadata, tableName.substring(0, dot)) : null;
+        final String name = storedIdentifier(metadata, tableName.substring(dot + 1));
+        if (MYSQL.equals(metadata.getDatabaseProductName())) {
+            // schemas are catalogs in MySQL
+            return new TableRef(qualifier != null ? qualifier : c.getCatalog(), null, name);
+        }
+        return new TableRef(c.getCatalog(), qualifier != null ? qualifier : c.getSchema(), name);
+    }
+
+    private static String storedIdentifier(DatabaseMetaData metadata, String identifier) throws SQLException {
+        if (metadata.storesUpperCaseIdentifiers()) {
+            return identifier.toUpperCase();
+        } else if (metadata.storesLowerCaseIdentifiers()) {
+            return identifier.toLowerCase();
+        }
+        return identifier;
+    }
+
+    private <T> T withMetadata(WithMetadata<T> withMetadata) {
+        try (Connection c = dataSource.getConnection()) {
+            return withMetadata.apply(c, c.getMetaData());
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    private interface WithMetadata<T> {
+        T apply(Connection c, DatabaseMetaData metadata) throws SQLException;
+    }
+
+    private static class TableRef {
+        private final String catalog;
+        private final String schema;
+        private final String name;
+
+        TableRef(String catalog, String schema, String name) {
+            this.catalog = catalog;
+            this.schema = schema;
+            this.name = name;
+        }
+    }
+
+    static class Index {
+        final String name;
+        final String column;
+        final String ddl;
+
+        Index(String name, String column, String ddl) {
+            this.name = name;
+            this.column = column;
+            this.ddl = ddl;
+        }
+    }
+
+    enum Schema {
+        POSTGRESQL("create table %s (" +
+            "task_name text not null, " +
+            "task_instance text not null, " +
+            "task_data bytea, " +
+            "execution_time timestamp with time zone not null, " +
+            "picked BOOLEAN not null, " +
+            "picked_by text, " +
+            "last_success timestamp with time zone, " +
+            "last_failure timestamp with time zone, " +
+            "consecutive_failures INT, " +
+            "last_heartbeat timestamp with time zone, " +
+            "version BIGINT not null, " +
+            "partition_number INT, " +
+            "priority INT, " +
+            "PRIMARY KEY (task_name, task_instance))", "INT", "BIGINT") {
+            @Override
+            List<Index> indexes(String tableName) {
+                // partial indexes, only covering the rows each query is looking for
+                return Arrays.asList(
+                    index(tableName, "exec_time_idx", EXECUTION_TIME, "(execution_time) where picked = false"),
+                    index(tableName, "heartbeat_idx", LAST_HEARTBEAT, "(last_heartbeat) where picked = true"),
+                    index(tableName, "priority_idx", PRIORITY, "(priority desc nulls last, execution_time) where picked = false"));
+            }
+
+            /**
+             * Indexes created on the partitioned table are created on each partition. Rows outside the created
+             * partitions end up in the default partition.
+             */
+            @Override
+            List<String> createPartitionedTable(String ddl, String tableName, TablePartitioning tablePartitioning, boolean compact) {
+                final String partitioned = tablePartitioning.isByExecutionTime()
+                    // the primary key must include the partition key
+                    ? ddl.replace("PRIMARY KEY (task_name, task_instance))", "PRIMARY KEY (task_name, task_instance, execution_time)) partition by range (execution_time)")
+                    : ddl + " partition by list (task_name)";
+                return Arrays.asList(partitioned, "create table " + tableName + "_default partition of " + tableName + " default");
+            }
+        },
+        MYSQL("create table %s (" +
+            "task_name varchar(40) not null, " +
+            "task_instance varchar(40) not null, " +
+            "task_data blob, " +
+            "execution_time timestamp(6) not null, " +
+            "picked BOOLEAN not null, " +
+            "picked_by varchar(50), " +
+            "last_success timestamp(6) null, " +
+            "last_failure timestamp(6) null, " +
+            "consecutive_failures INT, " +
+            "last_heartbeat timestamp(6) null, " +
+            "version BIGINT not null, " +
+            "partition_number INT, " +
+            "priority INT, " +
+            "PRIMARY KEY (task_name, task_instance))", "INT", "BIGINT"),
+        ORACLE("create table %s (" +
+            "task_name varchar(100), " +
+            "task_instance varchar(100), " +
+            "task_data blob, " +
+            "execution_time TIMESTAMP(6), " +
+            "picked NUMBER(1,0), " +
+            "picked_by varchar(50), " +
+            "last_success TIMESTAMP(6), " +
+            "last_failure TIMESTAMP(6), " +
+            "consecutive_failures NUMBER(19,0), " +
+            "last_heartbeat TIMESTAMP(6), " +
+            "version NUMBER(19,0), " +
+            "partition_number NUMBER(10,0), " +
+            "priority NUMBER(10,0), " +
+            "PRIMARY KEY (task_name, task_instance))", "NUMBER(10,0)", "NUMBER(19,0)") {
+            /**
+             * Partitions are created by the database when first needed. The primary key is a global index, so
+             * task-instances stay unique across partitions.
+             */
+            @Override
+            List<String> createPartitionedTable(String ddl, String tableName, TablePartitioning tablePartitioning, boolean compact) {
+                if (tablePartitioning.isByExecutionTime()) {
+                    final String interval = compact
+                        ? String.valueOf(tablePartitioning.getInterval().toMillis())
+                        : "NUMTODSINTERVAL(" + tablePartitioning.getInterval().getSeconds() + ", 'SECOND')";
+                    return Collections.singletonList(ddl + " partition by range (execution_time) interval (" + interval + ") " +
+                        "(partition " + tableName.substring(tableName.lastIndexOf('.') + 1) + "_p0 values less than (" +
+                        (compact ? "0" : "TIMESTAMP '1970-01-01 00:00:00'") + ")) enable row movement");
+                }
+                return Collections.singletonList(ddl + " partition by list (task_name) automatic " +
+                    "(partition " + tableName.substring(tableName.lastIndexOf('.') + 1) + "_p0 values (" + (compact ? "0" : "'-'") + "))");
+            }
+
+            @Override
+            String partitionedIndex(String ddl) {
+                return ddl + " local";
+            }
+        },
+        MSSQL("create table %s (" +
+            "task_name varchar(250) not null, " +
+            "task_instance varchar(250) not null, " +
+            "task_data nvarchar(max), " +
+            "execution_time datetimeoffset not null, " +
+            "picked bit, " +
+            "picked_by text, " +
+            "last_success datetimeoffset, " +
+            "last_failure datetimeoffset, " +
+            "consecutive_failures INT, " +
+            "last_heartbeat datetimeoffset, " +
+            "[version] BIGINT not null, " +
+            "partition_number INT, " +
+            "priority INT, " +
+            "PRIMARY KEY (task_name, task_instance))", "INT", "BIGINT"),
+        HSQL("create table %s (" +
+            "task_name varchar(100), " +
+            "task_instance varchar(100), " +
+            "task_data blob, " +
+            "execution_time TIMESTAMP WITH TIME ZONE, " +
+            "picked BIT, " +
+            "picked_by varchar(50), " +
+            "last_success TIMESTAMP WITH TIME ZONE, " +
+            "last_failure TIMESTAMP WITH TIME ZONE, " +
+            "consecutive_failures INT, " +
+            "last_heartbeat TIMESTAMP WITH TIME ZONE, " +
+            "version BIGINT, " +
+            "partition_number INT, " +
+            "priority INT, " +
+            "PRIMARY KEY (task_name, task_instance))", "INT", "BIGINT");
+
+        private final String createTable;
+        private final String intType;
+        private final String bigintType;
+
+        Schema(String createTable, String intType, String bigintType) {
+            this.createTable = createTable;
+            this.intType = intType;
+            this.bigintType = bigintType;
+        }
+
+        String createTable(String tableName) {
+            return String.format(createTable, tableName);
+        }
+
+        /**
+         * The regular table, with task_name as an integer id and instants as epoch-milliseconds.
+         */
+        String createCompactTable(String tableName) {
+            String ddl = compactColumn(createTable(tableName), "task_name", intType);
+            for (String column : Arrays.asList(EXECUTION_TIME, "last_success", "last_failure", LAST_HEARTBEAT)) {
+                ddl = compactColumn(ddl, column, bigintType);
+            }
+            return ddl;
+        }
+
+        private static String compactColumn(String ddl, String column, String type) {
+            // keeps any null-constraint following the type
+            return ddl.replaceFirst("\\b" + column + " [^,]*?( not null| null)?,", column + " " + type + "$1,");
+        }
+
+        /**
+         * Statements creating the table partitioned, given the statement creating it unpartitioned.
+         */
+        List<String> createPartitionedTable(String ddl, String tableName, TablePartitioning tablePartitioning, boolean compact) {
+            throw new UnsupportedOperationException("Table partitioning is not supported for " + name());
+        }
+
+        String partitionedIndex(String ddl) {
+            return ddl;
+        }
+
+        /**
+         * Indexes led by picked, matching the condition of both queries, and an index matching the order of due
+         * executions when priorities are enabled.
+         */
+        List<Index> indexes(String tableName) {
+            return Arrays.asList(
+                index(tableName, "exec_time_idx", EXECUTION_TIME, "(picked, execution_time)"),
+                index(tableName, "heartbeat_idx", LAST_HEARTBEAT, "(picked, last_heartbeat)"),
+                index(tableName, "priority_idx", PRIORITY, "(priority desc, execution_time)"));
+        }
+
+        static Index index(String tableName, String suffix, String column, String definition) {
+            // index names are not schema-qualified, and kept within 30 characters for older Oracle versions
+            final String name = tableName.substring(tableName.lastIndexOf('.') + 1) + "_" + suffix;
+            return new Index(name, column, "create index " + name + " on " + tableName + " " + definition);
+        }
+    }
+}
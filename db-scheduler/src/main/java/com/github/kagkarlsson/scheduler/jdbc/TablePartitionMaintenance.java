@@ -0,0 +1,213 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import com.github.kagkarlsson.jdbc.SQLRuntimeException;
+import com.github.kagkarlsson.scheduler.CompactSchema;
+import com.github.kagkarlsson.scheduler.TablePartitioning;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization.ORACLE;
+import static com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization.POSTGRESQL;
+
+/**
+ * Creates partitions of a {@link TablePartitioning partitioned} executions-table before they are needed. Only does
+ * anything for PostgreSQL, Oracle creates partitions itself for the interval- and automatic list-partitioning set up
+ * by {@link SchemaManager}.
+ *
+ * <p>Partitions are named after the table, {@code <table>_p<yyyyMMddHHmm>} for the start of a range in UTC and
+ * {@code <table>_t<task-name>} for a task-name, and only partitions with those names are recognized. If the table
+ * has a default partition, rows belonging to a new partition are moved out of it in the same transaction as the
+ * partition is attached.
+ */
+public class TablePartitionMaintenance {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TablePartitionMaintenance.class);
+    private static final DateTimeFormatter RANGE_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmm").withZone(ZoneOffset.UTC);
+
+    private final DataSource dataSource;
+    private final String tableName;
+    private final TablePartitioning tablePartitioning;
+    private final TaskNameDictionary taskNameDictionary;
+
+    public TablePartitionMaintenance(DataSource dataSource, String tableName, TablePartitioning tablePartitioning) {
+        this(dataSource, tableName, tablePartitioning, CompactSchema.DISABLED);
+    }
+
+    public TablePartitionMaintenance(DataSource dataSource, String tableName, TablePartitioning tablePartitioning, CompactSchema compactSchema) {
+        this.dataSource = dataSource;
+        this.tableName = tableName;
+        this.tablePartitioning = tablePartitioning;
+        this.taskNameDictionary = compactSchema.isEnabled() ? new TaskNameDictionary(dataSource, compactSchema.getTaskNamesTableName()) : null;
+    }
+
+    /**
+     * Creates the range-partition covering {@code now}, and the configured number of partitions after it. Does nothing
+     * unless range-partitioned by execution_time.
+     *
+     * @return names of the partitions created
+     */
+    public List<String> createUpcomingPartitions(Instant now) {
+        final List<String> created = new ArrayList<>();
+        if (!tablePartitioning.isByExecutionTime() || !isPostgres()) {
+            return created;
+        }
+        Instant start = tablePartitioning.partitionStart(now);
+        for (int i = 0; i <= tablePartitioning.getPartitionsAhead(); i++) {
+            final Instant end = start.plus(tablePartitioning.getInterval());
+            final String partition = tableName + "_p" + RANGE_SUFFIX.format(start);
+            if (createPartition(partition, "from (" + literal(start) + ") to (" + literal(end) + ")",
+                "execution_time >= " + literal(start) + " and execution_time < " + literal(end))) {
+                created.add(partition);
+            }
+            start = end;
+        }
+        return created;
+    }
+
+    /**
+     * Creates a list-partition for each of the task-names not already having one. Does nothing unless
+     * list-partitioned by task_name.
+     *
+     * @return names of the partitions created
+     */
+    public List<String> createPartitions(Collection<String> taskNames) {
+        final List<String> created = new ArrayList<>();
+        if (!tablePartitioning.isByTaskName() || !isPostgres()) {
+            return created;
+        }
+        for (String taskName : taskNames) {
+            final String value = taskNameDictionary != null ? String.valueOf(taskNameDictionary.idOf(taskName)) : quote(taskName);
+            final String partition = tableName + "_t" + (taskNameDictionary != null ? value : identifierPart(taskName));
+            if (createPartition(partition, "in (" + value + ")", "task_name = " + value)) {
+                created.add(partition);
+            }
+        }
+        return created;
+    }
+
+    private boolean createPartition(String partition, String bound, String condition) {
+        return withConnection(c -> {
+            if (exists(c, partition)) {
+                return false;
+            }
+            final Optional<String> defaultPartition = defaultPartition(c);
+            final boolean originalAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try {
+                if (defaultPartition.isPresent()) {
+                    // creating the partition directly fails if the default partition holds any of its rows
+                    execute(c, "create table " + partition + " (like " + tableName + " including defaults)");
+                    execute(c, "insert into " + partition + " select * from " + defaultPartition.get() + " where " + condition);
+                    execute(c, "delete from " + defaultPartition.get() + " where " + condition);
+                    execute(c, "alter table " + tableName + " attach partition " + partition + " for values " + bound);
+                } else {
+                    execute(c, "create table " + partition + " partition of " + tableName + " for values " + bound);
+                }
+                c.commit();
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(originalAutoCommit);
+            }
+            LOG.info("Created partition {} of table {} for values {}.", partition, tableName, bound);
+            return true;
+        });
+    }
+
+    private boolean exists(Connection c, String relation) throws SQLException {
+        try (PreparedStatement select = c.prepareStatement("select to_regclass(?) is not null")) {
+            select.setString(1, relation);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Default partitions were added in PostgreSQL 11.
+     */
+    private Optional<String> defaultPartition(Connection c) throws SQLException {
+        if (c.getMetaData().getDatabaseMajorVersion() < 11) {
+            return Optional.empty();
+        }
+        try (PreparedStatement select = c.prepareStatement(
+            "select cast(cast(partdefid as regclass) as text) from pg_partitioned_table where partrelid = cast(? as regclass) and partdefid <> 0")) {
+            select.setString(1, tableName);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? Optional.of(rs.getString(1)) : Optional.empty();
+            }
+        }
+    }
+
+    private String literal(Instant instant) {
+        return taskNameDictionary != null ? String.valueOf(instant.toEpochMilli()) : quote(instant.toString());
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    private static String identifierPart(String taskName) {
+        final String sanitized = taskName.toLowerCase().replaceAll("[^a-z0-9_]", "_");
+        // PostgreSQL identifiers are at most 63 characters, keep names distinct when truncated or sanitized
+        return (sanitized.length() > 20 ? sanitized.substring(0, 20) : sanitized) + "_" + Integer.toHexString(taskName.hashCode());
+    }
+
+    private boolean isPostgres() {
+        final String databaseProductName = withConnection(c -> c.getMetaData().getDatabaseProductName());
+        if (databaseProductName.equals(POSTGRESQL)) {
+            return true;
+        } else if (databaseProductName.equals(ORACLE)) {
+            LOG.debug("Partitions of table {} are created by the database.", tableName);
+            return false;
+        }
+        throw new UnsupportedOperationException("Table partitioning is not supported for database " + databaseProductName);
+    }
+
+    private static void execute(Connection c, String sql) throws SQLException {
+        try (PreparedStatement statement = c.prepareStatement(sql)) {
+            statement.execute();
+        }
+    }
+
+    private <T> T withConnection(WithConnection<T> withConnection) {
+        try (Connection c = dataSource.getConnection()) {
+            return withConnection.apply(c);
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    private interface WithConnection<T> {
+        T apply(Connection c) throws SQLException;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.RowMapper;
+import com.github.kagkarlsson.jdbc.SQLRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.kagkarlsson.jdbc.PreparedStatementSetter.NOOP;
+
+/**
+ * Interns task-names as integer ids, stored in a table with the columns {@code id} (primary key) and
+ * {@code task_name} (unique). Used by the compact schema, where the column {@code task_name} of the executions-table
+ * holds the id. Ids are never changed or reused once assigned, so they are cached for the life of the dictionary.
+ *
+ * <p>Ids are only assigned when creating executions, using {@link #idOf(String)} before any transaction is opened.
+ * Everything else uses {@link #findId(Connection, String)}, which never writes.
+ */
+public class TaskNameDictionary {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskNameDictionary.class);
+    private static final int MAX_CREATE_ATTEMPTS = 10;
+    /**
+     * Assigned ids are positive, so this id matches no rows.
+     */
+    public static final int NO_ID = -1;
+
+    private final String tableName;
+    private final JdbcRunner jdbcRunner;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    public TaskNameDictionary(DataSource dataSource, String tableName) {
+        this.tableName = tableName;
+        this.jdbcRunner = new JdbcRunner(dataSource);
+    }
+
+    /**
+     * The id of the task-name, assigning one if it has none. Uses a connection of its own, so must not be called
+     * while holding another connection from a small pool.
+     */
+    public int idOf(String taskName) {
+        final Integer id = ids.get(taskName);
+        return id != null ? id : lookupOrCreate(taskName);
+    }
+
+    /**
+     * The id of the task-name, if it has been assigned one. Looked up using the given connection, so it can be
+     * used within an ongoing transaction.
+     */
+    public OptionalInt findId(Connection c, String taskName) throws SQLException {
+        final Integer cached = ids.get(taskName);
+        if (cached != null) {
+            return OptionalInt.of(cached);
+        }
+        try (PreparedStatement p = c.prepareStatement("select id from " + tableName + " where task_name = ?")) {
+            p.setString(1, taskName);
+            try (ResultSet rs = p.executeQuery()) {
+                if (!rs.next()) {
+                    return OptionalInt.empty();
+                }
+                final int id = rs.getInt("id");
+                cache(taskName, id);
+                return OptionalInt.of(id);
+            }
+        }
+    }
+
+    public String nameOf(int id) {
+        final String cached = names.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final List<String> found = jdbcRunner.query("select task_name from " + tableName + " where id = ?",
+            (PreparedStatement p) -> p.setInt(1, id),
+            (RowMapper<String>) rs -> rs.getString("task_name"));
+        if (found.isEmpty()) {
+            throw new IllegalStateException("No task-name with id " + id + " in " + tableName + ".");
+        }
+        cache(found.get(0), id);
+        return found.get(0);
+    }
+
+    private synchronized int lookupOrCreate(String taskName) {
+        for (int attempt = 1; attempt <= MAX_CREATE_ATTEMPTS; attempt++) {
+            final List<Integer> found = jdbcRunner.query("select id from " + tableName + " where task_name = ?",
+                (PreparedStatement p) -> p.setString(1, taskName),
+                (RowMapper<Integer>) rs -> rs.getInt("id"));
+            if (!found.isEmpty()) {
+                cache(taskName, found.get(0));
+                return found.get(0);
+            }
+
+            final Integer maxId = jdbcRunner.query("select max(id) as max_id from " + tableName, NOOP,
+                (RowMapper<Integer>) rs -> rs.getInt("max_id")).get(0);
+            try {
+                jdbcRunner.execute("insert into " + tableName + "(id, task_name) values(?, ?)", (PreparedStatement p) -> {
+                    p.setInt(1, maxId + 1);
+                    p.setString(2, taskName);
+                });
+                LOG.info("Assigned id {} to task-name '{}'.", maxId + 1, taskName);
+                cache(taskName, maxId + 1);
+                return maxId + 1;
+            } catch (SQLRuntimeException e) {
+                // another scheduler took the id, or added the task-name
+                LOG.debug("Failed to assign id {} to task-name '{}'. Attempt {} of {}.", maxId + 1, taskName, attempt, MAX_CREATE_ATTEMPTS, e);
+            }
+        }
+        throw new IllegalStateException("Failed to assign an id to task-name '" + taskName + "' after " + MAX_CREATE_ATTEMPTS + " attempts.");
+    }
+
+    private void cache(String taskName, int id) {
+        ids.put(taskName, id);
+        names.put(id, taskName);
+    }
+}
@@ -55,6 +55,13 @@ public final class Execution {
         return picked;
     }
 
+    /**
+     * The state of this execution after being successfully picked, i.e. as it is persisted in the database.
+     */
+    public Execution updateToPicked(String newPickedBy, Instant timePicked) {
+        return new Execution(executionTime, taskInstance, true, newPickedBy, lastSuccess, lastFailure, consecutiveFailures, timePicked, version + 1);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -15,6 +15,8 @@
  */
 package com.github.kagkarlsson.scheduler.task;
 
+import com.github.kagkarlsson.scheduler.CompletionPipeline;
+import com.github.kagkarlsson.scheduler.CompletionWrite;
 import com.github.kagkarlsson.scheduler.TaskRepository;
 
 import java.time.Instant;
@@ -22,31 +24,54 @@ import java.time.Instant;
 public class ExecutionOperations<T> {
 
     private final TaskRepository taskRepository;
+    private final CompletionPipeline completionPipeline;
     private final Execution execution;
 
     public ExecutionOperations(TaskRepository taskRepository, Execution execution) {
+        this(taskRepository, null, execution);
+    }
+
+    /**
+     * @param completionPipeline if not null, writes are handed to the pipeline instead of being applied directly
+     */
+    public ExecutionOperations(TaskRepository taskRepository, CompletionPipeline completionPipeline, Execution execution) {
         this.taskRepository = taskRepository;
+        this.completionPipeline = completionPipeline;
         this.execution = execution;
     }
 
     public void stop() {
-        taskRepository.remove(execution);
+        if (completionPipeline != null) {
+            completionPipeline.submit(CompletionWrite.remove(execution));
+        } else {
+            taskRepository.remove(execution);
+        }
     }
 
     public void reschedule(ExecutionComplete completed, Instant nextExecutionTime) {
         if (completed.getResult() == ExecutionComplete.Result.OK) {
-            taskRepository.reschedule(execution, nextExecutionTime, completed.getTimeDone(), execution.lastFailure, 0);
+            reschedule(CompletionWrite.reschedule(execution, nextExecutionTime, completed.getTimeDone(), execution.lastFailure, 0));
         } else {
-            taskRepository.reschedule(execution, nextExecutionTime, execution.lastSuccess, completed.getTimeDone(), execution.consecutiveFailures + 1);
+            reschedule(CompletionWrite.reschedule(execution, nextExecutionTime, execution.lastSuccess, completed.getTimeDone(), execution.consecutiveFailures + 1));
         }
 
     }
 
     public void reschedule(ExecutionComplete completed, Instant nextExecutionTime, T newData) {
         if (completed.getResult() == ExecutionComplete.Result.OK) {
-            taskRepository.reschedule(execution, nextExecutionTime, newData, completed.getTimeDone(), execution.lastFailure, 0);
+            reschedule(CompletionWrite.reschedule(execution, nextExecutionTime, newData, completed.getTimeDone(), execution.lastFailure, 0));
+        } else {
+            reschedule(CompletionWrite.reschedule(execution, nextExecutionTime, newData, execution.lastSuccess, completed.getTimeDone(), execution.consecutiveFailures + 1));
+        }
+    }
+
+    private void reschedule(CompletionWrite write) {
+        if (completionPipeline != null) {
+            completionPipeline.submit(write);
+        } else if (write.hasNewData()) {
+            taskRepository.reschedule(execution, write.getNextExecutionTime(), write.getNewData(), write.getLastSuccess(), write.getLastFailure(), write.getConsecutiveFailures());
         } else {
-            taskRepository.reschedule(execution, nextExecutionTime, newData, execution.lastSuccess, completed.getTimeDone(), execution.consecutiveFailures + 1);
+            taskRepository.reschedule(execution, write.getNextExecutionTime(), write.getLastSuccess(), write.getLastFailure(), write.getConsecutiveFailures());
         }
     }
 
@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.task;
+
+/**
+ * Priority of an execution. When priorities are enabled for the scheduler, due executions with a higher priority are
+ * fetched and executed before executions with a lower priority. Any int may be used, these are just suggestions.
+ */
+public final class Priority {
+
+    public static final int HIGHEST = 100;
+    public static final int HIGH = 50;
+    public static final int DEFAULT = 0;
+    public static final int LOW = -50;
+    public static final int LOWEST = -100;
+
+    private Priority() {
+    }
+}
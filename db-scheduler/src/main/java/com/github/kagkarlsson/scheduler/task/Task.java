@@ -15,17 +15,25 @@
  */
 package com.github.kagkarlsson.scheduler.task;
 
+import com.github.kagkarlsson.scheduler.ExecutorGroup;
+
 public abstract class Task<T> implements ExecutionHandler<T> {
     protected final String name;
     private final FailureHandler<T> failureHandler;
     private final DeadExecutionHandler<T> deadExecutionHandler;
     private final Class<T> dataClass;
+    private final int defaultPriority;
 
     public Task(String name, Class<T> dataClass, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler) {
+        this(name, dataClass, failureHandler, deadExecutionHandler, Priority.DEFAULT);
+    }
+
+    public Task(String name, Class<T> dataClass, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler, int defaultPriority) {
         this.name = name;
         this.dataClass = dataClass;
         this.failureHandler = failureHandler;
         this.deadExecutionHandler = deadExecutionHandler;
+        this.defaultPriority = defaultPriority;
     }
 
     public String getName() {
@@ -36,12 +44,28 @@ public abstract class Task<T> implements ExecutionHandler<T> {
         return dataClass;
     }
 
+    /**
+     * Priority of instances created using {@link #instance(String)}, unless overridden using
+     * {@link TaskInstance#withPriority(int)}.
+     */
+    public int getDefaultPriority() {
+        return defaultPriority;
+    }
+
+    /**
+     * Name of the {@link ExecutorGroup} to execute this task on. Override to isolate the task from tasks in other
+     * groups. The group must be configured for the scheduler.
+     */
+    public String getExecutorGroup() {
+        return ExecutorGroup.DEFAULT_NAME;
+    }
+
     public TaskInstance<T> instance(String id) {
-        return new TaskInstance<>(this.name, id);
+        return instance(id, null);
     }
 
     public TaskInstance<T> instance(String id, T data) {
-        return new TaskInstance<>(this.name, id, data);
+        return new TaskInstance<>(this.name, id, () -> data, defaultPriority);
     }
 
     public abstract CompletionHandler<T> execute(TaskInstance<T> taskInstance, ExecutionContext executionContext);
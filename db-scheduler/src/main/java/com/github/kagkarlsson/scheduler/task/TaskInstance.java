@@ -22,6 +22,7 @@ public final class TaskInstance<T> implements TaskInstanceId {
     private final String taskName;
     private final String id;
     private final Supplier<T> dataSupplier;
+    private final int priority;
 
     public TaskInstance(String taskName, String id) {
         this(taskName, id, (T) null);
@@ -32,9 +33,21 @@ public final class TaskInstance<T> implements TaskInstanceId {
     }
 
     public TaskInstance(String taskName, String id, Supplier<T> dataSupplier) {
+        this(taskName, id, dataSupplier, Priority.DEFAULT);
+    }
+
+    public TaskInstance(String taskName, String id, Supplier<T> dataSupplier, int priority) {
         this.taskName = taskName;
         this.id = id;
         this.dataSupplier = dataSupplier;
+        this.priority = priority;
+    }
+
+    /**
+     * A copy of this instance with the given priority. See {@link Priority}.
+     */
+    public TaskInstance<T> withPriority(int priority) {
+        return new TaskInstance<>(taskName, id, dataSupplier, priority);
     }
 
     public String getTaskAndInstance() {
@@ -55,6 +68,10 @@ public final class TaskInstance<T> implements TaskInstanceId {
         return dataSupplier.get();
     }
 
+    public int getPriority() {
+        return priority;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.task;
+
+import java.time.Instant;
+
+/**
+ * A task-instance and the time it should be executed, for scheduling executions in bulk.
+ */
+public class TaskInstanceWithTime<T> {
+    private final TaskInstance<T> taskInstance;
+    private final Instant executionTime;
+
+    public TaskInstanceWithTime(TaskInstance<T> taskInstance, Instant executionTime) {
+        this.taskInstance = taskInstance;
+        this.executionTime = executionTime;
+    }
+
+    public static <T> TaskInstanceWithTime<T> of(TaskInstance<T> taskInstance, Instant executionTime) {
+        return new TaskInstanceWithTime<>(taskInstance, executionTime);
+    }
+
+    public TaskInstance<T> getTaskInstance() {
+        return taskInstance;
+    }
+
+    public Instant getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskInstanceWithTime: " + taskInstance.getTaskAndInstance() + ", executionTime=" + executionTime;
+    }
+}
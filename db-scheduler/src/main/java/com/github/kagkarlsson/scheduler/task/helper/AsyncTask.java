@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) Gustav Karlsson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.kagkarlsson.scheduler.task.helper;
+
+import com.github.kagkarlsson.scheduler.task.AsyncExecutionHandler;
+import com.github.kagkarlsson.scheduler.task.CompletionHandler;
+import com.github.kagkarlsson.scheduler.task.DeadExecutionHandler;
+import com.github.kagkarlsson.scheduler.task.ExecutionContext;
+import com.github.kagkarlsson.scheduler.task.FailureHandler;
+import com.github.kagkarlsson.scheduler.task.Priority;
+import com.github.kagkarlsson.scheduler.task.TaskInstance;
+
+/**
+ * Task for non-blocking executions. The scheduler releases the executor-thread as soon as
+ * {@link #executeAsync(TaskInstance, ExecutionContext)} has returned, and keeps heartbeating the execution until the
+ * returned stage completes. The {@link CompletionHandler}, or the {@link FailureHandler} if the stage completes
+ * exceptionally, is invoked on the thread completing the stage. Since these update the database, complete the stage
+ * on a thread that may block (e.g. using {@code thenApplyAsync(..)}) rather than on an event-loop.
+ */
+public abstract class AsyncTask<T> extends CustomTask<T> implements AsyncExecutionHandler<T> {
+
+    public AsyncTask(String name, Class<T> dataClass, ScheduleOnStartup<T> scheduleOnStartup, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler) {
+        this(name, dataClass, scheduleOnStartup, failureHandler, deadExecutionHandler, Priority.DEFAULT);
+    }
+
+    public AsyncTask(String name, Class<T> dataClass, ScheduleOnStartup<T> scheduleOnStartup, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler, int defaultPriority) {
+        super(name, dataClass, scheduleOnStartup, failureHandler, deadExecutionHandler, defaultPriority);
+    }
+
+    /**
+     * Blocks until the stage returned by {@link #executeAsync(TaskInstance, ExecutionContext)} completes. Not used by
+     * the scheduler.
+     */
+    @Override
+    public CompletionHandler<T> execute(TaskInstance<T> taskInstance, ExecutionContext executionContext) {
+        return executeAsync(taskInstance, executionContext).toCompletableFuture().join();
+    }
+
+}
@@ -20,13 +20,18 @@ import com.github.kagkarlsson.scheduler.Scheduler;
 import com.github.kagkarlsson.scheduler.task.DeadExecutionHandler;
 import com.github.kagkarlsson.scheduler.task.FailureHandler;
 import com.github.kagkarlsson.scheduler.task.OnStartup;
+import com.github.kagkarlsson.scheduler.task.Priority;
 import com.github.kagkarlsson.scheduler.task.Task;
 
 public abstract class CustomTask<T> extends Task<T> implements OnStartup {
     private ScheduleOnStartup<T> scheduleOnStartup;
 
     public CustomTask(String name, Class<T> dataClass, ScheduleOnStartup<T> scheduleOnStartup, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler) {
-        super(name, dataClass, failureHandler, deadExecutionHandler);
+        this(name, dataClass, scheduleOnStartup, failureHandler, deadExecutionHandler, Priority.DEFAULT);
+    }
+
+    public CustomTask(String name, Class<T> dataClass, ScheduleOnStartup<T> scheduleOnStartup, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler, int defaultPriority) {
+        super(name, dataClass, failureHandler, deadExecutionHandler, defaultPriority);
         this.scheduleOnStartup = scheduleOnStartup;
     }
 
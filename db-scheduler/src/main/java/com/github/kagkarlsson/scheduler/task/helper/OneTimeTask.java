@@ -29,7 +29,11 @@ public abstract class OneTimeTask<T> extends Task<T> {
     }
 
     public OneTimeTask(String name, Class<T> dataClass, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler) {
-        super(name, dataClass, failureHandler, deadExecutionHandler);
+        this(name, dataClass, failureHandler, deadExecutionHandler, Priority.DEFAULT);
+    }
+
+    public OneTimeTask(String name, Class<T> dataClass, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler, int defaultPriority) {
+        super(name, dataClass, failureHandler, deadExecutionHandler, defaultPriority);
     }
 
     @Override
@@ -37,7 +37,11 @@ public abstract class RecurringTask<T> extends Task<T> implements OnStartup {
     }
 
     public RecurringTask(String name, Schedule schedule, Class<T> dataClass, ScheduleOnStartup<T> scheduleOnStartup, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler) {
-        super(name, dataClass, failureHandler, deadExecutionHandler);
+        this(name, schedule, dataClass, scheduleOnStartup, failureHandler, deadExecutionHandler, Priority.DEFAULT);
+    }
+
+    public RecurringTask(String name, Schedule schedule, Class<T> dataClass, ScheduleOnStartup<T> scheduleOnStartup, FailureHandler<T> failureHandler, DeadExecutionHandler<T> deadExecutionHandler, int defaultPriority) {
+        super(name, dataClass, failureHandler, deadExecutionHandler, defaultPriority);
         onComplete = new OnCompleteReschedule<>(schedule);
         this.scheduleOnStartup = scheduleOnStartup;
     }
@@ -15,11 +15,13 @@
  */
 package com.github.kagkarlsson.scheduler.task.helper;
 
+import com.github.kagkarlsson.scheduler.ExecutorGroup;
 import com.github.kagkarlsson.scheduler.task.*;
 import com.github.kagkarlsson.scheduler.task.schedule.Schedule;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -54,6 +56,8 @@ public class Tasks {
         private FailureHandler<T> onFailure;
         private DeadExecutionHandler<T> onDeadExecution;
         private ScheduleOnStartup<T> scheduleOnStartup;
+        private int defaultPriority = Priority.DEFAULT;
+        private String executorGroup = ExecutorGroup.DEFAULT_NAME;
 
         public RecurringTaskBuilder(String name, Schedule schedule, Class<T> dataClass) {
             this.name = name;
@@ -89,8 +93,23 @@ public class Tasks {
             return this;
         }
 
+        public RecurringTaskBuilder<T> defaultPriority(int defaultPriority) {
+            this.defaultPriority = defaultPriority;
+            return this;
+        }
+
+        public RecurringTaskBuilder<T> executorGroup(String executorGroup) {
+            this.executorGroup = executorGroup;
+            return this;
+        }
+
         public RecurringTask<T> execute(VoidExecutionHandler<T> executionHandler) {
-            return new RecurringTask<T>(name, schedule, dataClass, scheduleOnStartup, onFailure, onDeadExecution) {
+            final String executorGroup = this.executorGroup;
+            return new RecurringTask<T>(name, schedule, dataClass, scheduleOnStartup, onFailure, onDeadExecution, defaultPriority) {
+                @Override
+                public String getExecutorGroup() {
+                    return executorGroup;
+                }
 
                 @Override
                 public void executeRecurringly(TaskInstance<T> taskInstance, ExecutionContext executionContext) {
@@ -105,6 +124,8 @@ public class Tasks {
         private Class<T> dataClass;
         private FailureHandler<T> onFailure;
         private DeadExecutionHandler<T> onDeadExecution;
+        private int defaultPriority = Priority.DEFAULT;
+        private String executorGroup = ExecutorGroup.DEFAULT_NAME;
 
         public OneTimeTaskBuilder(String name, Class<T> dataClass) {
             this.name = name;
@@ -133,8 +154,24 @@ public class Tasks {
             return this;
         }
 
+        public OneTimeTaskBuilder<T> defaultPriority(int defaultPriority) {
+            this.defaultPriority = defaultPriority;
+            return this;
+        }
+
+        public OneTimeTaskBuilder<T> executorGroup(String executorGroup) {
+            this.executorGroup = executorGroup;
+            return this;
+        }
+
         public OneTimeTask<T> execute(VoidExecutionHandler<T> executionHandler) {
-            return new OneTimeTask<T>(name, dataClass, onFailure, onDeadExecution) {
+            final String executorGroup = this.executorGroup;
+            return new OneTimeTask<T>(name, dataClass, onFailure, onDeadExecution, defaultPriority) {
+                @Override
+                public String getExecutorGroup() {
+                    return executorGroup;
+                }
+
                 @Override
                 public void executeOnce(TaskInstance<T> taskInstance, ExecutionContext executionContext) {
                     executionHandler.execute(taskInstance, executionContext);
@@ -149,6 +186,8 @@ public class Tasks {
         private FailureHandler<T> onFailure;
         private DeadExecutionHandler<T> onDeadExecution;
         private ScheduleOnStartup<T> onStartup;
+        private int defaultPriority = Priority.DEFAULT;
+        private String executorGroup = ExecutorGroup.DEFAULT_NAME;
 
         public TaskBuilder(String name, Class<T> dataClass) {
             this.name = name;
@@ -182,8 +221,24 @@ public class Tasks {
             return this;
         }
 
+        public TaskBuilder<T> defaultPriority(int defaultPriority) {
+            this.defaultPriority = defaultPriority;
+            return this;
+        }
+
+        public TaskBuilder<T> executorGroup(String executorGroup) {
+            this.executorGroup = executorGroup;
+            return this;
+        }
+
         public CustomTask<T> execute(ExecutionHandler<T> executionHandler) {
-            return new CustomTask<T>(name, dataClass, onStartup, onFailure, onDeadExecution) {
+            final String executorGroup = this.executorGroup;
+            return new CustomTask<T>(name, dataClass, onStartup, onFailure, onDeadExecution, defaultPriority) {
+                @Override
+                public String getExecutorGroup() {
+                    return executorGroup;
+                }
+
                 @Override
                 public CompletionHandler<T> execute(TaskInstance<T> taskInstance, ExecutionContext executionContext) {
                     return executionHandler.execute(taskInstance, executionContext);
@@ -191,6 +246,21 @@ public class Tasks {
             };
         }
 
+        public AsyncTask<T> executeAsync(AsyncExecutionHandler<T> executionHandler) {
+            final String executorGroup = this.executorGroup;
+            return new AsyncTask<T>(name, dataClass, onStartup, onFailure, onDeadExecution, defaultPriority) {
+                @Override
+                public String getExecutorGroup() {
+                    return executorGroup;
+                }
+
+                @Override
+                public CompletionStage<CompletionHandler<T>> executeAsync(TaskInstance<T> taskInstance, ExecutionContext executionContext) {
+                    return executionHandler.executeAsync(taskInstance, executionContext);
+                }
+            };
+        }
+
     }
 
 }
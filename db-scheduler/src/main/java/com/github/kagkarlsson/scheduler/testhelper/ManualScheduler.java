@@ -30,8 +30,8 @@ public class ManualScheduler extends Scheduler {
     private static final Logger LOG = LoggerFactory.getLogger(ManualScheduler.class);
     private final SettableClock clock;
 
-    ManualScheduler(SettableClock clock, TaskRepository taskRepository, TaskResolver taskResolver, int maxThreads, ExecutorService executorService, SchedulerName schedulerName, Waiter waiter, Duration heartbeatInterval, boolean executeImmediately, StatsRegistry statsRegistry, int pollingLimit, Duration deleteUnresolvedAfter, List<OnStartup> onStartup) {
-        super(clock, taskRepository, taskResolver, maxThreads, executorService, schedulerName, waiter, heartbeatInterval, executeImmediately, statsRegistry, pollingLimit, deleteUnresolvedAfter, onStartup);
+    ManualScheduler(SettableClock clock, TaskRepository taskRepository, TaskResolver taskResolver, int maxThreads, ExecutorService executorService, SchedulerName schedulerName, Waiter waiter, Duration heartbeatInterval, boolean executeImmediately, StatsRegistry statsRegistry, int pollingLimit, PollingStrategy pollingStrategy, PollingController pollingController, boolean enableLookAhead, NotificationChannel notificationChannel, Duration deleteUnresolvedAfter, List<ExecutorGroup> executorGroups, boolean enablePriority, boolean threadPerExecution, int maxAsyncExecutionsInFlight, CompletionPipeline completionPipeline, FutureTableMover futureTableMover, List<OnStartup> onStartup) {
+        super(clock, taskRepository, taskResolver, maxThreads, executorService, schedulerName, waiter, heartbeatInterval, executeImmediately, statsRegistry, pollingLimit, pollingStrategy, pollingController, enableLookAhead, notificationChannel, deleteUnresolvedAfter, executorGroups, enablePriority, threadPerExecution, maxAsyncExecutionsInFlight, completionPipeline, futureTableMover, onStartup);
         this.clock = clock;
     }
 
@@ -15,6 +15,8 @@
  */
 package com.github.kagkarlsson.scheduler.testhelper;
 
+import com.github.kagkarlsson.scheduler.PollingController;
+import com.github.kagkarlsson.scheduler.PollingStrategy;
 import com.github.kagkarlsson.scheduler.SchedulerName;
 import com.github.kagkarlsson.scheduler.jdbc.DefaultJdbcCustomization;
 import com.github.kagkarlsson.scheduler.SchedulerBuilder;
@@ -64,11 +66,17 @@ public class TestHelper {
             return this;
         }
 
+        public ManualSchedulerBuilder pollingStrategy(PollingStrategy pollingStrategy) {
+            super.pollingStrategy(pollingStrategy);
+            return this;
+        }
+
         public ManualScheduler build() {
             final TaskResolver taskResolver = new TaskResolver(statsRegistry, clock, knownTasks);
-            final JdbcTaskRepository taskRepository = new JdbcTaskRepository(dataSource, new DefaultJdbcCustomization(), tableName, taskResolver, new SchedulerName.Fixed("manual"), serializer);
+            final JdbcTaskRepository taskRepository = new JdbcTaskRepository(dataSource, new DefaultJdbcCustomization(), tableName, taskResolver, new SchedulerName.Fixed("manual"),
+                JdbcTaskRepository.Settings.create().serializer(serializer).partitioning(partitioning).priorityOrdering(priorityOrdering));
 
-            return new ManualScheduler(clock, taskRepository, taskResolver, executorThreads, new DirectExecutorService(), schedulerName, waiter, heartbeatInterval, enableImmediateExecution, statsRegistry, pollingLimit, deleteUnresolvedAfter, startTasks);
+            return new ManualScheduler(clock, taskRepository, taskResolver, executorThreads, new DirectExecutorService(), schedulerName, waiter, heartbeatInterval, enableImmediateExecution, statsRegistry, pollingLimit, pollingStrategy, PollingController.NOOP, enableLookAhead, notificationChannel, deleteUnresolvedAfter, executorGroups, priorityOrdering.isEnabled(), false, Integer.MAX_VALUE, null, null, startTasks);
         }
 
         public ManualScheduler start() {
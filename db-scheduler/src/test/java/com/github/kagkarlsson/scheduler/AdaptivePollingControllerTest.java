@@ -0,0 +1,105 @@
+package com.github.kagkarlsson.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptivePollingControllerTest {
+
+    private static final int POLLING_LIMIT = 100;
+    private AdaptivePollingController controller;
+
+    @BeforeEach
+    public void setUp() {
+        controller = new AdaptivePollingController(Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(60), new Random(1));
+    }
+
+    @Test
+    public void should_back_off_exponentially_when_empty() {
+        controller.pollCompleted(0, POLLING_LIMIT);
+        assertEquals(Duration.ofSeconds(20), controller.getCurrentPollingInterval());
+        controller.pollCompleted(0, POLLING_LIMIT);
+        assertEquals(Duration.ofSeconds(40), controller.getCurrentPollingInterval());
+        controller.pollCompleted(0, POLLING_LIMIT);
+        assertEquals(Duration.ofSeconds(60), controller.getCurrentPollingInterval());
+    }
+
+    @Test
+    public void should_shorten_interval_on_full_batches_and_reset_on_partial() {
+        controller.pollCompleted(POLLING_LIMIT, POLLING_LIMIT);
+        assertEquals(Duration.ofSeconds(5), controller.getCurrentPollingInterval());
+        IntStream.range(0, 10).forEach(i -> controller.pollCompleted(POLLING_LIMIT, POLLING_LIMIT));
+        assertEquals(Duration.ofSeconds(1), controller.getCurrentPollingInterval());
+
+        controller.pollCompleted(POLLING_LIMIT / 2, POLLING_LIMIT);
+        assertEquals(Duration.ofSeconds(10), controller.getCurrentPollingInterval());
+    }
+
+    @Test
+    public void should_lower_limit_on_high_already_picked_ratio_and_recover() {
+        assertEquals(POLLING_LIMIT, controller.pollingLimit(POLLING_LIMIT));
+
+        registerCandidates(4, 6);
+        controller.pollCompleted(10, POLLING_LIMIT);
+        assertEquals(POLLING_LIMIT / 2, controller.pollingLimit(POLLING_LIMIT));
+
+        registerCandidates(10, 0);
+        controller.pollCompleted(10, POLLING_LIMIT / 2);
+        assertEquals(POLLING_LIMIT, controller.pollingLimit(POLLING_LIMIT));
+
+        registerCandidates(10, 0);
+        controller.pollCompleted(10, POLLING_LIMIT);
+        assertEquals(POLLING_LIMIT, controller.pollingLimit(POLLING_LIMIT), "Should never exceed configured limit");
+    }
+
+    @Test
+    public void should_lower_every_limit_by_the_same_fraction() {
+        registerCandidates(2, 8);
+        controller.pollCompleted(10, POLLING_LIMIT);
+        registerCandidates(2, 8);
+        controller.pollCompleted(10, POLLING_LIMIT);
+
+        assertEquals(POLLING_LIMIT / 4, controller.pollingLimit(POLLING_LIMIT));
+        assertEquals(5, controller.pollingLimit(20));
+        assertEquals(1, controller.pollingLimit(2), "Should not go below 1");
+        assertEquals(0, controller.pollingLimit(0), "Should not raise a limit of executor-groups at max concurrency");
+    }
+
+    @Test
+    public void should_not_adjust_limit_on_too_few_candidates() {
+        controller.pollingLimit(POLLING_LIMIT);
+        registerCandidates(0, AdaptivePollingController.MIN_CANDIDATES_FOR_RATIO - 1);
+        controller.pollCompleted(5, POLLING_LIMIT);
+        assertEquals(POLLING_LIMIT, controller.pollingLimit(POLLING_LIMIT));
+    }
+
+    @Test
+    public void should_add_jitter_to_interval() {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 100; i++) {
+            long millis = controller.nextPollingInterval().toMillis();
+            assertTrue(millis >= 9_000 && millis <= 11_000, "Interval outside jitter bounds: " + millis);
+            min = Math.min(min, millis);
+            max = Math.max(max, millis);
+        }
+        assertTrue(max > min, "Expected intervals to vary");
+    }
+
+    @Test
+    public void should_not_allow_min_greater_than_max() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePollingController(Duration.ofSeconds(10), Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    }
+
+    private void registerCandidates(int picked, int alreadyPicked) {
+        IntStream.range(0, picked).forEach(i -> controller.candidatePicked());
+        IntStream.range(0, alreadyPicked).forEach(i -> controller.candidateAlreadyPicked());
+    }
+}
@@ -19,14 +19,18 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.greaterThan;
 
 
 public class ClusterTest {
@@ -38,6 +42,34 @@ public class ClusterTest {
 
     @Test
     public void test_concurrency() throws InterruptedException {
+        testConcurrencyForPollingStrategy(PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE);
+    }
+
+    @Test
+    public void test_concurrency_lock_and_fetch() throws InterruptedException {
+        testConcurrencyForPollingStrategy(PollingStrategy.LOCK_AND_FETCH);
+    }
+
+    @Test
+    public void test_concurrency_fetch_and_pick_batch() throws InterruptedException {
+        testConcurrencyForPollingStrategy(PollingStrategy.FETCH_AND_PICK_BATCH);
+    }
+
+    @Test
+    public void test_concurrency_partitioned_polling() throws InterruptedException {
+        testConcurrencyForPollingStrategy(PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE, true);
+    }
+
+    @Test
+    public void test_concurrency_partitioned_polling_lock_and_fetch() throws InterruptedException {
+        testConcurrencyForPollingStrategy(PollingStrategy.LOCK_AND_FETCH, true);
+    }
+
+    private void testConcurrencyForPollingStrategy(PollingStrategy pollingStrategy) {
+        testConcurrencyForPollingStrategy(pollingStrategy, false);
+    }
+
+    private void testConcurrencyForPollingStrategy(PollingStrategy pollingStrategy, boolean partitioned) {
         Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
 
             final List<String> ids = IntStream.range(1, 1001).mapToObj(String::valueOf).collect(toList());
@@ -48,16 +80,22 @@ public class ClusterTest {
             final Task<Void> task = ComposableTask.customTask("Custom", Void.class, completed, new TestTasks.SleepingHandler<>(1));
 
             final TestTasks.SimpleStatsRegistry stats = new TestTasks.SimpleStatsRegistry();
-            final Scheduler scheduler1 = createScheduler("scheduler1", task, stats);
-            final Scheduler scheduler2 = createScheduler("scheduler2", task, stats);
+            final Scheduler scheduler1 = createScheduler("scheduler1", task, stats, pollingStrategy, partitioned ? 0 : null);
+            final Scheduler scheduler2 = createScheduler("scheduler2", task, stats, pollingStrategy, partitioned ? 1 : null);
 
             stopScheduler.register(scheduler1, scheduler2);
+            if (partitioned) {
+                // scheduled up front, so that own partitions are not emptied by the schedulers outpacing the scheduling
+                ids.forEach(id -> scheduler1.schedule(task.instance(id), Instant.now()));
+            }
             scheduler1.start();
             scheduler2.start();
 
-            ids.forEach(id -> {
-                scheduler1.schedule(task.instance(id), Instant.now());
-            });
+            if (!partitioned) {
+                ids.forEach(id -> {
+                    scheduler1.schedule(task.instance(id), Instant.now());
+                });
+            }
 
             completeAllIds.await();
             scheduler1.stop();
@@ -69,6 +107,18 @@ public class ClusterTest {
             assertThat(stats.unexpectedErrors.get(), is(0));
             assertThat(scheduler1.getCurrentlyExecuting(), hasSize(0));
             assertThat(scheduler2.getCurrentlyExecuting(), hasSize(0));
+
+            if (partitioned) {
+                final Partitioning partitioning = Partitioning.of(2);
+                final Map<Integer, List<String>> idsByPartition = ids.stream()
+                    .collect(groupingBy(id -> partitioning.partitionOf(task.instance(id))));
+                idsByPartition.forEach((partition, partitionIds) -> {
+                    final String owner = "scheduler" + (partition + 1);
+                    final long executedByOwner = partitionIds.stream().filter(id -> owner.equals(completed.executedBy.get(id))).count();
+                    // only the tail of a partition may be taken by the other scheduler, once it has emptied its own
+                    assertThat("Executed by owner of partition " + partition, executedByOwner, greaterThan(partitionIds.size() / 2L));
+                });
+            }
         });
 
     }
@@ -100,10 +150,15 @@ public class ClusterTest {
         });
     }
 
-    private Scheduler createScheduler(String name, Task<?> task, TestTasks.SimpleStatsRegistry stats) {
-        return Scheduler.create(DB.getDataSource(), Lists.newArrayList(task))
+    private Scheduler createScheduler(String name, Task<?> task, TestTasks.SimpleStatsRegistry stats, PollingStrategy pollingStrategy, Integer ownPartition) {
+        final SchedulerBuilder builder = Scheduler.create(DB.getDataSource(), Lists.newArrayList(task))
             .schedulerName(new SchedulerName.Fixed(name)).pollingInterval(Duration.ofMillis(0))
-            .heartbeatInterval(Duration.ofMillis(100)).statsRegistry(stats).build();
+            .pollingStrategy(pollingStrategy)
+            .heartbeatInterval(Duration.ofMillis(100)).statsRegistry(stats);
+        if (ownPartition != null) {
+            builder.partitionedPolling(2, Collections.singletonList(ownPartition));
+        }
+        return builder.build();
     }
 
     private Scheduler createSchedulerRecurring(String name, RecurringTask<?> task, TestTasks.SimpleStatsRegistry stats) {
@@ -119,6 +174,7 @@ public class ClusterTest {
 
         private final List<String> ok = Collections.synchronizedList(new ArrayList<>());
         private final List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, String> executedBy = new ConcurrentHashMap<>();
         private final Consumer<String> onComplete;
 
         RecordResultAndStopExecutionOnComplete(Consumer<String> onComplete) {
@@ -128,6 +184,7 @@ public class ClusterTest {
         @Override
         public void complete(ExecutionComplete executionComplete, ExecutionOperations<T> executionOperations) {
             final String instanceId = executionComplete.getExecution().taskInstance.getId();
+            executedBy.put(instanceId, executionComplete.getExecution().pickedBy);
             if (executionComplete.getResult() == ExecutionComplete.Result.OK) {
                 ok.add(instanceId);
             } else {
@@ -0,0 +1,184 @@
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.Mappers;
+import com.github.kagkarlsson.jdbc.RowMapper;
+import com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.CompactSchemaMigration;
+import com.github.kagkarlsson.scheduler.jdbc.SchemaManager;
+import com.github.kagkarlsson.scheduler.stats.StatsRegistry;
+import com.github.kagkarlsson.scheduler.task.Execution;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static com.github.kagkarlsson.jdbc.PreparedStatementSetter.NOOP;
+import static com.github.kagkarlsson.scheduler.JdbcTaskRepository.DEFAULT_TABLE_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactSchemaTest {
+
+    private static final String TABLE_NAME = "compact_tasks";
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension DB = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    private OneTimeTask<String> oneTimeTask;
+    private OneTimeTask<String> otherTask;
+    private TaskResolver taskResolver;
+    private JdbcTaskRepository taskRepository;
+
+    @BeforeEach
+    public void setUp() {
+        new SchemaManager(DB.getDataSource(), TABLE_NAME, CompactSchema.enabled()).createIfNotExists();
+        oneTimeTask = TestTasks.oneTime("OneTime", String.class, new TestTasks.DoNothingHandler<>());
+        otherTask = TestTasks.oneTime("Other", String.class, new TestTasks.DoNothingHandler<>());
+        taskResolver = new TaskResolver(StatsRegistry.NOOP, new ArrayList<>(Arrays.asList(oneTimeTask, otherTask)));
+        taskRepository = repository(TABLE_NAME, CompactSchema.enabled());
+    }
+
+    @AfterEach
+    public void dropCompactTables() {
+        new JdbcRunner(DB.getDataSource()).execute("drop table if exists " + TABLE_NAME, NOOP);
+        new JdbcRunner(DB.getDataSource()).execute("drop table if exists " + CompactSchema.DEFAULT_TASK_NAMES_TABLE_NAME, NOOP);
+    }
+
+    @Test
+    public void should_store_task_names_as_ids_and_times_as_epoch_millis() {
+        final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        assertTrue(taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1", "data1"))));
+        assertTrue(taskRepository.createIfNotExists(new Execution(now.plusSeconds(1), otherTask.instance("1"))));
+        assertFalse(taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1"))));
+
+        assertThat(new JdbcRunner(DB.getDataSource()).query("select n.task_name, t.execution_time from " + TABLE_NAME + " t join " +
+                CompactSchema.DEFAULT_TASK_NAMES_TABLE_NAME + " n on n.id = t.task_name order by t.execution_time", NOOP,
+            (RowMapper<String>) rs -> rs.getString(1) + "@" + rs.getLong(2)),
+            contains("OneTime@" + now.toEpochMilli(), "Other@" + now.plusSeconds(1).toEpochMilli()));
+
+        final Execution due = taskRepository.getDue(now, 10).get(0);
+        assertThat(due.taskInstance.getTaskName(), is("OneTime"));
+        assertThat(due.executionTime, is(now));
+        final Execution picked = taskRepository.pick(due, now).get();
+        taskRepository.updateHeartbeat(picked, now.plusSeconds(2));
+        assertThat(taskRepository.getExecution(oneTimeTask.instance("1")).get().lastHeartbeat, is(now.plusSeconds(2)));
+
+        assertTrue(taskRepository.reschedule(picked, now.plusSeconds(10), now, null, 0));
+        final Execution rescheduled = taskRepository.getExecution(oneTimeTask.instance("1")).get();
+        assertThat(rescheduled.executionTime, is(now.plusSeconds(10)));
+        assertThat(rescheduled.lastSuccess, is(now));
+        assertThat(rescheduled.taskInstance.getData(), is("data1"));
+
+        final List<String> scheduled = new ArrayList<>();
+        taskRepository.getScheduledExecutions(otherTask.getName(),
+            e -> scheduled.add(e.taskInstance.getTaskAndInstance()));
+        assertThat(scheduled, contains("Other_1"));
+
+        taskRepository.remove(rescheduled);
+        assertThat(taskRepository.getExecution(oneTimeTask.instance("1")), is(Optional.empty()));
+        assertThat(taskRepository.removeExecutions(otherTask.getName()), is(1));
+    }
+
+    @Test
+    public void should_not_register_task_names_when_reading() {
+        assertThat(taskRepository.getExecution(oneTimeTask.instance("1")), is(Optional.empty()));
+        final List<Execution> scheduled = new ArrayList<>();
+        taskRepository.getScheduledExecutions(otherTask.getName(), scheduled::add);
+        assertThat(scheduled, hasSize(0));
+        assertThat(taskRepository.removeExecutions("Unknown"), is(0));
+
+        assertThat(new JdbcRunner(DB.getDataSource()).query("select count(*) from " + CompactSchema.DEFAULT_TASK_NAMES_TABLE_NAME, NOOP,
+            Mappers.SINGLE_INT), is(0));
+    }
+
+    @Test
+    public void should_look_up_task_name_ids_on_the_reading_connection() {
+        final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        assertTrue(taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1", "data1"))));
+
+        final HikariConfig config = new HikariConfig();
+        config.setDataSource(DB.getUnpooledDataSource());
+        config.setMaximumPoolSize(1);
+        config.setConnectionTimeout(1000);
+        try (HikariDataSource singleConnection = new HikariDataSource(config)) {
+            final JdbcTaskRepository repository = new JdbcTaskRepository(singleConnection, new AutodetectJdbcCustomization(singleConnection), TABLE_NAME,
+                taskResolver, new SchedulerName.Fixed("scheduler1"), JdbcTaskRepository.Settings.create().compactSchema(CompactSchema.enabled()));
+
+            final List<String> scheduled = new ArrayList<>();
+            repository.getScheduledExecutions(oneTimeTask.getName(), e -> scheduled.add(e.taskInstance.getTaskAndInstance()));
+            assertThat(scheduled, contains("OneTime_1"));
+        }
+    }
+
+    @Test
+    public void should_migrate_executions_from_regular_table() {
+        final JdbcTaskRepository regularRepository = repository(DEFAULT_TABLE_NAME, CompactSchema.DISABLED);
+        final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 5; i++) {
+            regularRepository.createIfNotExists(new Execution(now.plusSeconds(i), (i % 2 == 0 ? oneTimeTask : otherTask).instance("id" + i, "data" + i)));
+        }
+        final Execution picked = regularRepository.pick(regularRepository.getExecution(otherTask.instance("id1")).get(), now).get();
+        regularRepository.updateHeartbeat(picked, now.plusSeconds(1));
+
+        final CompactSchemaMigration migration = new CompactSchemaMigration(DB.getDataSource(), DEFAULT_TABLE_NAME, TABLE_NAME, CompactSchema.enabled());
+        assertThat(migration.migrate(2), is(5));
+        assertThat(migration.migrate(2), is(0));
+
+        assertThat(taskRepository.getDue(now.plusSeconds(10), 10), hasSize(4));
+        final Execution migrated = taskRepository.getExecution(otherTask.instance("id1")).get();
+        assertThat(migrated.executionTime, is(now.plusSeconds(1)));
+        assertThat(migrated.taskInstance.getData(), is("data1"));
+        assertTrue(migrated.picked);
+        assertThat(migrated.pickedBy, is("scheduler1"));
+        assertThat(migrated.lastHeartbeat, is(now.plusSeconds(1)));
+        assertThat(migrated.version, is(picked.version));
+    }
+
+    @Test
+    public void scheduler_should_execute_using_compact_schema() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final CountDownLatch executed = new CountDownLatch(1);
+            final List<String> received = new ArrayList<>();
+            final OneTimeTask<String> task = TestTasks.oneTime("OneTime", String.class, (taskInstance, executionContext) -> {
+                received.add(taskInstance.getData());
+                executed.countDown();
+            });
+            final Scheduler scheduler = Scheduler.create(DB.getDataSource(), task)
+                .tableName(TABLE_NAME)
+                .pollingInterval(Duration.ofMillis(50))
+                .enableCompactSchema()
+                .build();
+            stopScheduler.register(scheduler);
+
+            scheduler.schedule(task.instance("1", "data1"), Instant.now());
+            scheduler.start();
+            executed.await();
+            assertThat(received, contains("data1"));
+        });
+    }
+
+    private JdbcTaskRepository repository(String tableName, CompactSchema compactSchema) {
+        return new JdbcTaskRepository(DB.getDataSource(), new AutodetectJdbcCustomization(DB.getDataSource()), tableName,
+            taskResolver, new SchedulerName.Fixed("scheduler1"), JdbcTaskRepository.Settings.create().compactSchema(compactSchema));
+    }
+}
@@ -26,7 +26,12 @@ public class DbUtils {
             final JdbcRunner jdbcRunner = new JdbcRunner(dataSource);
             try {
                 final String statements = CharStreams.toString(new InputStreamReader(DbUtils.class.getResourceAsStream(resource)));
-                jdbcRunner.execute(statements, NOOP);
+                // not all drivers execute more than the first of multiple statements
+                for (String statement : statements.split(";")) {
+                    if (!statement.trim().isEmpty()) {
+                        jdbcRunner.execute(statement, NOOP);
+                    }
+                }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
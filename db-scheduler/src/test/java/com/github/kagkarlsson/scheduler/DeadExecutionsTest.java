@@ -70,7 +70,17 @@ public class DeadExecutionsTest {
             false,
             StatsRegistry.NOOP,
             POLLING_LIMIT,
+            PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE,
+            PollingController.NOOP,
+            false,
+            NotificationChannel.NOOP,
             Duration.ofDays(14),
+            new ArrayList<>(),
+            false,
+            false,
+            Integer.MAX_VALUE,
+            null,
+            null,
             new ArrayList<>());
 
     }
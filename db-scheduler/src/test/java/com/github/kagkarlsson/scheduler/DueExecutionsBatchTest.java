@@ -30,6 +30,14 @@ public class DueExecutionsBatchTest {
         assertTrigger(0, HAPPY_NUMBER_ADDED_LAST_TIME, staleBatch(HAPPY_THREADPOOL_SIZE, HAPPY_NUMBER_ADDED_LAST_TIME, HAPPY_LIKELY_MORE_IN_DB));
     }
 
+    @Test
+    public void test_trigger_check_for_more_due_thread_per_execution() {
+        assertTrigger(0, 9, DueExecutionsBatch.forThreadPerExecution(HAPPY_GENERATION_NUMBER, 20, HAPPY_LIKELY_MORE_IN_DB));
+        assertTrigger(1, 10, DueExecutionsBatch.forThreadPerExecution(HAPPY_GENERATION_NUMBER, 20, HAPPY_LIKELY_MORE_IN_DB));
+        assertTrigger(1, 100, DueExecutionsBatch.forThreadPerExecution(HAPPY_GENERATION_NUMBER, 200, HAPPY_LIKELY_MORE_IN_DB));
+        assertTrigger(0, 20, DueExecutionsBatch.forThreadPerExecution(HAPPY_GENERATION_NUMBER, 20, false));
+    }
+
     private void assertTrigger(int timesTriggered, int afterExeutionsHandled, DueExecutionsBatch batch) {
         AtomicInteger triggered = new AtomicInteger(0);
         IntStream.range(0, afterExeutionsHandled).forEach(val -> batch.oneExecutionDone(() -> {
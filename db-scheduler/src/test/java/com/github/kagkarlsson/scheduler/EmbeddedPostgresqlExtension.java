@@ -51,6 +51,10 @@ public class EmbeddedPostgresqlExtension implements AfterEachCallback {
         return dataSource;
     }
 
+    public DataSource getUnpooledDataSource() {
+        return embeddedPostgresql.getDatabase("test", "test");
+    }
+
     private EmbeddedPostgres initPostgres() throws IOException {
         final EmbeddedPostgres newEmbeddedPostgresql = EmbeddedPostgres.builder().start();
 
@@ -0,0 +1,197 @@
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.RowMapper;
+import com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.SchemaManager;
+import com.github.kagkarlsson.scheduler.stats.StatsRegistry;
+import com.github.kagkarlsson.scheduler.task.Execution;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.kagkarlsson.jdbc.PreparedStatementSetter.NOOP;
+import static com.github.kagkarlsson.scheduler.JdbcTaskRepository.DEFAULT_TABLE_NAME;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FutureTableTest {
+
+    private static final Duration HORIZON = Duration.ofHours(1);
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension DB = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    private OneTimeTask<Void> oneTimeTask;
+    private JdbcTaskRepository taskRepository;
+
+    @BeforeEach
+    public void setUp() {
+        new SchemaManager(DB.getDataSource(), FutureTable.DEFAULT_TABLE_NAME).createIfNotExists();
+        oneTimeTask = TestTasks.oneTime("OneTime", Void.class, TestTasks.DO_NOTHING);
+        final TaskResolver taskResolver = new TaskResolver(StatsRegistry.NOOP, new ArrayList<>(Arrays.asList(oneTimeTask)));
+        taskRepository = new JdbcTaskRepository(DB.getDataSource(), new AutodetectJdbcCustomization(DB.getDataSource()), DEFAULT_TABLE_NAME,
+            taskResolver, new SchedulerName.Fixed("scheduler1"), JdbcTaskRepository.Settings.create().futureTable(FutureTable.of(HORIZON)));
+    }
+
+    @AfterEach
+    public void dropFutureTable() {
+        new JdbcRunner(DB.getDataSource()).execute("drop table if exists " + FutureTable.DEFAULT_TABLE_NAME, NOOP);
+    }
+
+    @Test
+    public void executions_beyond_horizon_should_be_stored_in_future_table_and_visible() {
+        final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        assertTrue(taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("near"))));
+        assertTrue(taskRepository.createIfNotExists(new Execution(now.plus(Duration.ofDays(1)), oneTimeTask.instance("far"))));
+
+        assertThat(idsIn(DEFAULT_TABLE_NAME), contains("near"));
+        assertThat(idsIn(FutureTable.DEFAULT_TABLE_NAME), contains("far"));
+        assertThat(taskRepository.getDue(now.plus(Duration.ofDays(2)), 10), hasSize(1));
+
+        assertTrue(taskRepository.getExecution(oneTimeTask.instance("far")).isPresent());
+        final List<String> scheduled = new ArrayList<>();
+        taskRepository.getScheduledExecutions(e -> scheduled.add(e.taskInstance.getId()));
+        assertThat(scheduled, contains("near", "far"));
+
+        assertFalse(taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("far"))));
+        assertFalse(taskRepository.createIfNotExists(new Execution(now.plus(Duration.ofDays(1)), oneTimeTask.instance("near"))));
+        assertThat(taskRepository.createBatchIfNotExists(Arrays.asList(
+            new Execution(now, oneTimeTask.instance("far")),
+            new Execution(now.plus(Duration.ofDays(1)), oneTimeTask.instance("near")),
+            new Execution(now.plus(Duration.ofDays(1)), oneTimeTask.instance("far2")))), hasSize(1));
+        assertThat(idsIn(FutureTable.DEFAULT_TABLE_NAME), containsInAnyOrder("far", "far2"));
+    }
+
+    @Test
+    public void should_move_executions_coming_within_horizon() {
+        final Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now.plus(Duration.ofHours(2)), oneTimeTask.instance("1")));
+        taskRepository.createIfNotExists(new Execution(now.plus(Duration.ofHours(3)), oneTimeTask.instance("2")));
+        taskRepository.createIfNotExists(new Execution(now.plus(Duration.ofHours(4)), oneTimeTask.instance("3")));
+
+        assertThat(taskRepository.moveFutureExecutions(now.plus(Duration.ofHours(1)), 10), is(0));
+        assertThat(taskRepository.moveFutureExecutions(now.plus(Duration.ofMinutes(210)), 1), is(1));
+        assertThat(taskRepository.moveFutureExecutions(now.plus(Duration.ofMinutes(210)), 10), is(1));
+
+        assertThat(idsIn(DEFAULT_TABLE_NAME), containsInAnyOrder("1", "2"));
+        assertThat(idsIn(FutureTable.DEFAULT_TABLE_NAME), contains("3"));
+        final Execution moved = taskRepository.getExecution(oneTimeTask.instance("1")).get();
+        assertThat(taskRepository.getDue(moved.executionTime, 10), hasSize(1));
+    }
+
+    @Test
+    public void concurrent_creation_on_both_sides_of_horizon_should_create_task_instance_once() throws InterruptedException {
+        final Instant now = Instant.now();
+        final int instances = 50;
+        final AtomicInteger created = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (Instant executionTime : Arrays.asList(now, now.plus(Duration.ofDays(1)))) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                for (int i = 0; i < instances; i++) {
+                    if (taskRepository.createIfNotExists(new Execution(executionTime, oneTimeTask.instance(String.valueOf(i))))) {
+                        created.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(created.get(), is(instances));
+        assertThat(idsIn(DEFAULT_TABLE_NAME).size() + idsIn(FutureTable.DEFAULT_TABLE_NAME).size(), is(instances));
+    }
+
+    @Test
+    public void execution_in_both_tables_should_be_kept_in_executions_table_when_moved() {
+        final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final JdbcTaskRepository futureTableOnly = new JdbcTaskRepository(DB.getDataSource(), new AutodetectJdbcCustomization(DB.getDataSource()),
+            FutureTable.DEFAULT_TABLE_NAME, new TaskResolver(StatsRegistry.NOOP, new ArrayList<>(Arrays.asList(oneTimeTask))), new SchedulerName.Fixed("scheduler1"));
+        assertTrue(taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1"))));
+        assertTrue(futureTableOnly.createIfNotExists(new Execution(now.plus(Duration.ofDays(1)), oneTimeTask.instance("1"))));
+
+        assertThat(taskRepository.moveFutureExecutions(now.plus(Duration.ofDays(2)), 10), is(0));
+        assertThat(idsIn(DEFAULT_TABLE_NAME), contains("1"));
+        assertThat(idsIn(FutureTable.DEFAULT_TABLE_NAME), empty());
+        assertThat(taskRepository.getExecution(oneTimeTask.instance("1")).get().executionTime, is(now));
+    }
+
+    @Test
+    public void should_reschedule_and_remove_executions_in_future_table() {
+        final Instant now = Instant.now();
+        final SchedulerClient client = SchedulerClient.Builder.create(DB.getDataSource(), oneTimeTask)
+            .enableFutureTable(HORIZON)
+            .build();
+        client.schedule(oneTimeTask.instance("1"), now.plus(Duration.ofDays(1)));
+        client.schedule(oneTimeTask.instance("2"), now.plus(Duration.ofDays(1)));
+
+        client.reschedule(oneTimeTask.instance("1"), now.plus(Duration.ofDays(2)));
+        assertThat(idsIn(FutureTable.DEFAULT_TABLE_NAME), containsInAnyOrder("1", "2"));
+
+        client.reschedule(oneTimeTask.instance("1"), now);
+        assertThat(idsIn(DEFAULT_TABLE_NAME), contains("1"));
+        assertThat(idsIn(FutureTable.DEFAULT_TABLE_NAME), contains("2"));
+
+        client.cancel(oneTimeTask.instance("2"));
+        assertThat(idsIn(FutureTable.DEFAULT_TABLE_NAME), empty());
+        final List<ScheduledExecution<Object>> scheduled = new ArrayList<>();
+        client.getScheduledExecutions(scheduled::add);
+        assertThat(scheduled, hasSize(1));
+    }
+
+    @Test
+    public void scheduler_should_execute_executions_moved_from_future_table() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final CountDownLatch executed = new CountDownLatch(1);
+            final OneTimeTask<Void> task = TestTasks.oneTime("OneTime", Void.class, (taskInstance, executionContext) -> executed.countDown());
+            final Scheduler scheduler = Scheduler.create(DB.getDataSource(), task)
+                .pollingInterval(Duration.ofMillis(50))
+                .enableFutureTable(FutureTable.of(FutureTable.DEFAULT_TABLE_NAME, Duration.ofSeconds(1), Duration.ofMillis(50), 10))
+                .build();
+            stopScheduler.register(scheduler);
+
+            scheduler.schedule(task.instance("1"), Instant.now().plus(Duration.ofSeconds(2)));
+            assertThat(idsIn(FutureTable.DEFAULT_TABLE_NAME), contains("1"));
+
+            scheduler.start();
+            executed.await();
+            assertThat(idsIn(FutureTable.DEFAULT_TABLE_NAME), empty());
+        });
+    }
+
+    private List<String> idsIn(String table) {
+        return new JdbcRunner(DB.getDataSource()).query("select task_instance from " + table, NOOP,
+            (RowMapper<String>) rs -> rs.getString("task_instance")).stream().sorted().collect(toList());
+    }
+}
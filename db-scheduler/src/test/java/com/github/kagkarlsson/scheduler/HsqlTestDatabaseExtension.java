@@ -40,7 +40,11 @@ public class HsqlTestDatabaseExtension implements BeforeEachCallback, AfterEachC
             try {
                 Statement statement = c.createStatement();
                 String createTables = CharStreams.toString(new InputStreamReader(getClass().getResourceAsStream("/hsql_tables.sql")));
-                statement.execute(createTables);
+                for (String createTable : createTables.split(";")) {
+                    if (!createTable.trim().isEmpty()) {
+                        statement.execute(createTable);
+                    }
+                }
                 statement.close();
             } catch (SQLException e) {
                 throw new RuntimeException(e);
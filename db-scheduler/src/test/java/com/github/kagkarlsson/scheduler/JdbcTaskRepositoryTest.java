@@ -2,9 +2,12 @@ package com.github.kagkarlsson.scheduler;
 
 import com.github.kagkarlsson.scheduler.helper.TestableRegistry;
 import com.github.kagkarlsson.scheduler.jdbc.DefaultJdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.PostgreSqlJdbcCustomization;
 import com.github.kagkarlsson.scheduler.stats.StatsRegistry.SchedulerStatsEvent;
 import com.github.kagkarlsson.scheduler.task.Execution;
+import com.github.kagkarlsson.scheduler.task.Priority;
 import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import com.github.kagkarlsson.scheduler.task.helper.Tasks;
 import com.github.kagkarlsson.scheduler.task.Task;
 import com.github.kagkarlsson.scheduler.task.TaskInstance;
 
@@ -15,6 +18,8 @@ import java.util.*;
 import java.util.stream.IntStream;
 
 import static com.github.kagkarlsson.scheduler.JdbcTaskRepository.DEFAULT_TABLE_NAME;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 
@@ -23,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -70,6 +76,42 @@ public class JdbcTaskRepositoryTest {
         assertTrue(taskRepository.createIfNotExists(new Execution(now, instance2)));
     }
 
+    @Test
+    public void test_createIfNotExists_without_native_insert_if_not_exists() {
+        final JdbcTaskRepository defaultRepository = new JdbcTaskRepository(DB.getDataSource(), new DefaultJdbcCustomization(),
+            DEFAULT_TABLE_NAME, taskResolver, new SchedulerName.Fixed(SCHEDULER_NAME));
+        Instant now = Instant.now();
+
+        TaskInstance<Void> instance1 = oneTimeTask.instance("id1");
+
+        assertTrue(defaultRepository.createIfNotExists(new Execution(now, instance1)));
+        assertFalse(defaultRepository.createIfNotExists(new Execution(now, instance1)));
+        assertFalse(taskRepository.createIfNotExists(new Execution(now, instance1)));
+    }
+
+    @Test
+    public void create_batch_should_check_existing_executions_by_task_and_instance_pair() {
+        Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1")));
+        taskRepository.createIfNotExists(new Execution(now, alternativeOneTimeTask.instance("2")));
+
+        // larger than one existence-check, with pairs crossing the existing ones
+        List<Execution> batch = IntStream.range(0, JdbcTaskRepository.MAX_EXISTENCE_CHECK_SIZE + 100)
+            .boxed()
+            .flatMap(i -> Arrays.asList(
+                new Execution(now, oneTimeTask.instance(String.valueOf(i))),
+                new Execution(now, alternativeOneTimeTask.instance(String.valueOf(i)))).stream())
+            .collect(toList());
+
+        List<Execution> created = taskRepository.createBatchIfNotExists(batch);
+        assertThat(created, hasSize(batch.size() - 2));
+        List<String> createdIds = created.stream().map(e -> e.taskInstance.getTaskAndInstance()).collect(toList());
+        assertThat(createdIds, not(hasItem(oneTimeTask.instance("1").getTaskAndInstance())));
+        assertThat(createdIds, not(hasItem(alternativeOneTimeTask.instance("2").getTaskAndInstance())));
+        assertThat(createdIds, hasItems(oneTimeTask.instance("2").getTaskAndInstance(), alternativeOneTimeTask.instance("1").getTaskAndInstance()));
+        assertThat(taskRepository.getDue(now.plusSeconds(1), POLLING_LIMIT), hasSize(batch.size()));
+    }
+
     @Test
     public void get_due_should_only_include_due_executions() {
         Instant now = Instant.now();
@@ -89,6 +131,55 @@ public class JdbcTaskRepositoryTest {
         assertThat(taskRepository.getDue(now, 2), hasSize(2));
     }
 
+    @Test
+    public void get_due_should_honor_max_results_limit_without_explicit_query_limit() {
+        final JdbcTaskRepository defaultRepository = new JdbcTaskRepository(DB.getDataSource(), new DefaultJdbcCustomization(),
+            DEFAULT_TABLE_NAME, taskResolver, new SchedulerName.Fixed(SCHEDULER_NAME));
+        Instant now = Instant.now();
+
+        defaultRepository.createIfNotExists(new Execution(now.minusSeconds(1), oneTimeTask.instance("id1")));
+        defaultRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("id2")));
+        assertThat(defaultRepository.getDue(now, 1), hasSize(1));
+        assertThat(defaultRepository.getDue(now, 1).get(0).taskInstance.getId(), is("id1"));
+        assertThat(defaultRepository.getDue(now, 2), hasSize(2));
+    }
+
+    @Test
+    public void get_due_should_load_data_on_first_access() {
+        Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTaskWithData.instance("id1", 1)));
+
+        final List<Execution> due = taskRepository.getDue(now, POLLING_LIMIT);
+        assertThat(due, hasSize(1));
+        final Optional<Execution> picked = taskRepository.pick(due.get(0), now);
+        assertTrue(picked.isPresent());
+        assertEquals(1, picked.get().taskInstance.getData());
+
+        final List<Execution> dead = taskRepository.getDeadExecutions(now.plusSeconds(1));
+        assertThat(dead, hasSize(1));
+        assertEquals(1, dead.get(0).taskInstance.getData());
+
+        taskRepository.reschedule(picked.get(), now, 2, null, null, 0);
+        final List<Execution> scheduled = new ArrayList<>();
+        taskRepository.getScheduledExecutions(scheduled::add);
+        assertThat(scheduled, hasSize(1));
+        assertEquals(2, scheduled.get(0).taskInstance.getData());
+    }
+
+    @Test
+    public void get_due_should_not_load_data_of_execution_modified_since_fetched() {
+        Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTaskWithData.instance("id1", 1)));
+
+        final Execution due = taskRepository.getDue(now, POLLING_LIMIT).get(0);
+        final Execution picked = taskRepository.pick(taskRepository.getDue(now, POLLING_LIMIT).get(0), now).get();
+        taskRepository.reschedule(picked, now, 2, null, null, 0);
+
+        final RuntimeException e = Assertions.assertThrows(RuntimeException.class, () -> due.taskInstance.getData());
+        assertThat(e.getMessage(), containsString("modified"));
+        assertEquals(2, taskRepository.getDue(now, POLLING_LIMIT).get(0).taskInstance.getData());
+    }
+
     @Test
     public void get_due_should_be_sorted() {
         Instant now = Instant.now();
@@ -136,6 +227,25 @@ public class JdbcTaskRepositoryTest {
         assertEquals(3, testableRegistry.getCount(SchedulerStatsEvent.UNRESOLVED_TASK));
     }
 
+    @Test
+    public void get_due_should_include_executions_no_longer_unresolved() {
+        Instant now = Instant.now();
+        final OneTimeTask<Void> unresolved = TestTasks.oneTime("unresolved", Void.class, TestTasks.DO_NOTHING);
+
+        taskRepository.createIfNotExists(new Execution(now, unresolved.instance("id")));
+        assertThat(taskRepository.getDue(now, POLLING_LIMIT), hasSize(0));
+        final List<String> unresolvedTaskNames = taskResolver.getUnresolvedTaskNames();
+        assertThat(unresolvedTaskNames, contains("unresolved"));
+
+        assertThat(taskRepository.getDue(now, POLLING_LIMIT), hasSize(0));
+        assertThat(taskResolver.getUnresolvedTaskNames(), sameInstance(unresolvedTaskNames));
+
+        taskResolver.addTask(unresolved);
+        taskResolver.clearUnresolved("unresolved");
+        assertThat(taskResolver.getUnresolvedTaskNames(), empty());
+        assertThat(taskRepository.getDue(now, POLLING_LIMIT), hasSize(1));
+    }
+
     @Test
     public void picked_executions_should_not_be_returned_as_due() {
         Instant now = Instant.now();
@@ -180,6 +290,190 @@ public class JdbcTaskRepositoryTest {
         assertThat(taskRepository.pick(pickedExecution.get(), now).isPresent(), is(false));
     }
 
+    @Test
+    public void pick_batch_should_only_return_executions_won() {
+        Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now.minusSeconds(2), oneTimeTask.instance("id1")));
+        taskRepository.createIfNotExists(new Execution(now.minusSeconds(1), oneTimeTask.instance("id2")));
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("id3")));
+
+        List<Execution> due = taskRepository.getDue(now, POLLING_LIMIT);
+        assertThat(due, hasSize(3));
+        assertThat(taskRepository.pick(due.get(1), now).isPresent(), is(true));
+
+        List<Execution> picked = taskRepository.pickBatch(due, now);
+        assertThat(picked, hasSize(2));
+        assertThat(picked.get(0).taskInstance.getId(), is("id1"));
+        assertThat(picked.get(1).taskInstance.getId(), is("id3"));
+        picked.forEach(e -> {
+            assertThat(e.picked, is(true));
+            assertThat(e.pickedBy, is(SCHEDULER_NAME));
+            assertThat(e.version, is(2L));
+        });
+
+        assertThat(taskRepository.getDue(now, POLLING_LIMIT), hasSize(0));
+        assertThat(taskRepository.pickBatch(due, now), hasSize(0));
+        assertThat(taskRepository.pickBatch(new ArrayList<>(), now), hasSize(0));
+    }
+
+    @Test
+    public void update_heartbeats_should_report_executions_not_updated() {
+        Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now.minusSeconds(2), oneTimeTask.instance("id1")));
+        taskRepository.createIfNotExists(new Execution(now.minusSeconds(1), oneTimeTask.instance("id2")));
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("id3")));
+
+        List<Execution> picked = taskRepository.pickBatch(taskRepository.getDue(now, POLLING_LIMIT), now);
+        assertThat(picked, hasSize(3));
+        taskRepository.reschedule(picked.get(1), now.plusSeconds(60), now, null, 0);
+        assertThat(taskRepository.getDeadExecutions(now.plusSeconds(5)), hasSize(2));
+
+        List<Execution> notUpdated = taskRepository.updateHeartbeats(picked, now.plusSeconds(10));
+        assertThat(notUpdated, hasSize(1));
+        assertThat(notUpdated.get(0).taskInstance.getId(), is("id2"));
+        assertThat(taskRepository.getDeadExecutions(now.plusSeconds(5)), hasSize(0));
+
+        assertThat(taskRepository.updateHeartbeats(new ArrayList<>(), now), hasSize(0));
+    }
+
+    @Test
+    public void lock_and_fetch_should_pick_due_executions() {
+        Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now.minusSeconds(1), oneTimeTask.instance("id1")));
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("id2")));
+        taskRepository.createIfNotExists(new Execution(now.plusSeconds(1), oneTimeTask.instance("id3")));
+
+        List<Execution> picked = taskRepository.lockAndFetch(now, POLLING_LIMIT);
+        assertThat(picked, hasSize(2));
+        picked.forEach(e -> {
+            assertThat(e.picked, is(true));
+            assertThat(e.pickedBy, is(SCHEDULER_NAME));
+            assertThat(e.lastHeartbeat, is(now));
+            assertThat(e.version, is(2L));
+        });
+
+        assertThat(taskRepository.getDue(now, POLLING_LIMIT), hasSize(0));
+        assertThat(taskRepository.lockAndFetch(now, POLLING_LIMIT), hasSize(0));
+
+        final Execution persisted = taskRepository.getExecution(oneTimeTask.instance("id1")).get();
+        assertThat(persisted.picked, is(true));
+        assertThat(persisted.pickedBy, is(SCHEDULER_NAME));
+        assertThat(persisted.version, is(2L));
+    }
+
+    @Test
+    public void lock_and_fetch_should_honor_limit_and_order() {
+        Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now.minusSeconds(1), oneTimeTask.instance("id1")));
+        taskRepository.createIfNotExists(new Execution(now.minusSeconds(3), oneTimeTask.instance("id2")));
+        taskRepository.createIfNotExists(new Execution(now.minusSeconds(2), oneTimeTask.instance("id3")));
+
+        List<Execution> picked = taskRepository.lockAndFetch(now, 2);
+        assertThat(picked, hasSize(2));
+        assertThat(picked.get(0).taskInstance.getId(), is("id2"));
+        assertThat(picked.get(1).taskInstance.getId(), is("id3"));
+
+        assertThat(taskRepository.getDue(now, POLLING_LIMIT), hasSize(1));
+    }
+
+    @Test
+    public void picked_executions_should_be_possible_to_reschedule_after_lock_and_fetch() {
+        Instant now = Instant.now();
+        final TaskInstance<Void> instance = oneTimeTask.instance("id1");
+        taskRepository.createIfNotExists(new Execution(now, instance));
+
+        List<Execution> picked = taskRepository.lockAndFetch(now, POLLING_LIMIT);
+        assertThat(picked, hasSize(1));
+        taskRepository.reschedule(picked.get(0), now.plusSeconds(1), now, null, 0);
+
+        assertThat(taskRepository.getExecution(instance).get().picked, is(false));
+    }
+
+    @Test
+    public void partitioned_polling_should_only_steal_from_other_partitions_when_own_are_empty() {
+        final Partitioning partitioning = Partitioning.of(2, Collections.singletonList(0));
+        final JdbcTaskRepository partitionedRepository = new JdbcTaskRepository(DB.getDataSource(), new PostgreSqlJdbcCustomization(),
+            DEFAULT_TABLE_NAME, taskResolver, new SchedulerName.Fixed(SCHEDULER_NAME), JdbcTaskRepository.Settings.create().partitioning(partitioning));
+
+        final List<TaskInstance<Void>> instances = IntStream.range(0, 20)
+            .mapToObj(i -> oneTimeTask.instance("id" + i)).collect(toList());
+        final TaskInstance<Void> own = instances.stream().filter(i -> partitioning.partitionOf(i) == 0).findFirst().get();
+        final TaskInstance<Void> other = instances.stream().filter(i -> partitioning.partitionOf(i) == 1).findFirst().get();
+
+        Instant now = Instant.now();
+        partitionedRepository.createIfNotExists(new Execution(now.minusSeconds(3), other));
+        taskRepository.createIfNotExists(new Execution(now.minusSeconds(2), oneTimeTask.instance("unpartitioned")));
+        partitionedRepository.createIfNotExists(new Execution(now.minusSeconds(1), own));
+
+        final List<Execution> ownDue = partitionedRepository.getDue(now, POLLING_LIMIT);
+        assertThat(ownDue, hasSize(1));
+        assertThat(ownDue.get(0).taskInstance.getId(), is(own.getId()));
+
+        final List<Execution> pickedOwn = partitionedRepository.lockAndFetch(now, POLLING_LIMIT);
+        assertThat(pickedOwn, hasSize(1));
+        assertThat(pickedOwn.get(0).taskInstance.getId(), is(own.getId()));
+
+        // nothing due in own partitions, steal from the others
+        final List<Execution> otherDue = partitionedRepository.getDue(now, POLLING_LIMIT);
+        assertThat(otherDue, hasSize(2));
+        assertThat(otherDue.get(0).taskInstance.getId(), is(other.getId()));
+        assertThat(otherDue.get(1).taskInstance.getId(), is("unpartitioned"));
+
+        final List<Execution> pickedOther = partitionedRepository.lockAndFetch(now, 1);
+        assertThat(pickedOther, hasSize(1));
+        assertThat(pickedOther.get(0).taskInstance.getId(), is(other.getId()));
+    }
+
+    @Test
+    public void get_due_should_order_by_priority_when_enabled() {
+        final OneTimeTask<Void> highPriorityTask = Tasks.oneTime("HighPriority").defaultPriority(Priority.HIGH).execute(TestTasks.DO_NOTHING);
+        final TaskResolver resolver = new TaskResolver(testableRegistry, Arrays.asList(oneTimeTask, highPriorityTask));
+        final JdbcTaskRepository priorityRepository = new JdbcTaskRepository(DB.getDataSource(), new PostgreSqlJdbcCustomization(),
+            DEFAULT_TABLE_NAME, resolver, new SchedulerName.Fixed(SCHEDULER_NAME), JdbcTaskRepository.Settings.create().priorityOrdering(PriorityOrdering.enabled()));
+
+        Instant now = Instant.now();
+        priorityRepository.createIfNotExists(new Execution(now.minusSeconds(3), oneTimeTask.instance("default")));
+        priorityRepository.createIfNotExists(new Execution(now.minusSeconds(2), oneTimeTask.instance("low").withPriority(Priority.LOW)));
+        priorityRepository.createIfNotExists(new Execution(now.minusSeconds(1), highPriorityTask.instance("high")));
+
+        final List<Execution> due = priorityRepository.getDue(now, POLLING_LIMIT);
+        assertThat(due.stream().map(e -> e.taskInstance.getId()).collect(toList()), contains("high", "default", "low"));
+        assertThat(due.get(0).taskInstance.getPriority(), is(Priority.HIGH));
+        assertThat(priorityRepository.lockAndFetch(now, 1).get(0).taskInstance.getId(), is("high"));
+    }
+
+    @Test
+    public void get_due_should_use_default_priority_of_task_for_executions_created_without_priority() {
+        final OneTimeTask<Void> highPriorityTask = Tasks.oneTime("HighPriority").defaultPriority(Priority.HIGH).execute(TestTasks.DO_NOTHING);
+        final TaskResolver resolver = new TaskResolver(testableRegistry, Arrays.asList(oneTimeTask, highPriorityTask));
+        final JdbcTaskRepository withoutPriority = new JdbcTaskRepository(DB.getDataSource(), DEFAULT_TABLE_NAME, resolver, new SchedulerName.Fixed(SCHEDULER_NAME));
+        final JdbcTaskRepository priorityRepository = new JdbcTaskRepository(DB.getDataSource(), new PostgreSqlJdbcCustomization(),
+            DEFAULT_TABLE_NAME, resolver, new SchedulerName.Fixed(SCHEDULER_NAME), JdbcTaskRepository.Settings.create().priorityOrdering(PriorityOrdering.enabled()));
+
+        Instant now = Instant.now();
+        withoutPriority.createIfNotExists(new Execution(now.minusSeconds(2), highPriorityTask.instance("without-priority")));
+        priorityRepository.createIfNotExists(new Execution(now.minusSeconds(1), oneTimeTask.instance("low").withPriority(Priority.LOW)));
+
+        final List<Execution> due = priorityRepository.getDue(now, POLLING_LIMIT);
+        assertThat(due.stream().map(e -> e.taskInstance.getId()).collect(toList()), contains("low", "without-priority"));
+        assertThat(due.get(1).taskInstance.getPriority(), is(Priority.HIGH));
+    }
+
+    @Test
+    public void get_due_should_order_aged_executions_first() {
+        final JdbcTaskRepository priorityRepository = new JdbcTaskRepository(DB.getDataSource(), new PostgreSqlJdbcCustomization(),
+            DEFAULT_TABLE_NAME, taskResolver, new SchedulerName.Fixed(SCHEDULER_NAME), JdbcTaskRepository.Settings.create().priorityOrdering(PriorityOrdering.withAging(Duration.ofMinutes(1))));
+
+        Instant now = Instant.now();
+        priorityRepository.createIfNotExists(new Execution(now.minus(Duration.ofMinutes(2)), oneTimeTask.instance("aged-low").withPriority(Priority.LOW)));
+        priorityRepository.createIfNotExists(new Execution(now.minus(Duration.ofMinutes(3)), oneTimeTask.instance("aged-lowest").withPriority(Priority.LOWEST)));
+        priorityRepository.createIfNotExists(new Execution(now.minusSeconds(2), oneTimeTask.instance("low").withPriority(Priority.LOW)));
+        priorityRepository.createIfNotExists(new Execution(now.minusSeconds(1), oneTimeTask.instance("high").withPriority(Priority.HIGH)));
+
+        final List<Execution> due = priorityRepository.getDue(now, POLLING_LIMIT);
+        assertThat(due.stream().map(e -> e.taskInstance.getId()).collect(toList()), contains("aged-lowest", "aged-low", "high", "low"));
+    }
+
     @Test
     public void reschedule_should_move_execution_in_time() {
         Instant now = Instant.now();
@@ -237,6 +531,35 @@ public class JdbcTaskRepositoryTest {
         assertEquals(rescheduled.taskInstance.getData(), 2);
     }
 
+    @Test
+    public void write_completions_should_apply_writes_and_report_failures() {
+        Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("remove")));
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("reschedule")));
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTaskWithData.instance("reschedule-data", 1)));
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("stale")));
+        final Execution stale = taskRepository.getExecution(oneTimeTask.instance("stale")).get();
+        final List<Execution> picked = taskRepository.pickBatch(taskRepository.getDue(now, POLLING_LIMIT), now);
+        assertThat(picked, hasSize(4));
+        final Map<String, Execution> byId = picked.stream().collect(toMap(e -> e.taskInstance.getId(), e -> e));
+
+        final Instant nextExecutionTime = now.plus(Duration.ofMinutes(1));
+        final List<CompletionWrite> failed = taskRepository.writeCompletions(Arrays.asList(
+            CompletionWrite.remove(byId.get("remove")),
+            CompletionWrite.reschedule(byId.get("reschedule"), nextExecutionTime, now, null, 0),
+            CompletionWrite.reschedule(byId.get("reschedule-data"), nextExecutionTime, 2, now, null, 0),
+            CompletionWrite.remove(stale)));
+
+        assertThat(failed, hasSize(1));
+        assertThat(failed.get(0).getExecution().taskInstance.getId(), is("stale"));
+        assertFalse(taskRepository.getExecution(oneTimeTask.instance("remove")).isPresent());
+        final Execution rescheduled = taskRepository.getExecution(oneTimeTask.instance("reschedule")).get();
+        assertThat(rescheduled.picked, is(false));
+        assertTrue(rescheduled.executionTime.isAfter(now));
+        assertEquals(taskRepository.getExecution(oneTimeTaskWithData.instance("reschedule-data")).get().taskInstance.getData(), 2);
+        assertThat(taskRepository.getExecution(oneTimeTask.instance("stale")).get().picked, is(true));
+    }
+
     @Test
     public void test_get_failing_executions() {
         Instant now = Instant.now();
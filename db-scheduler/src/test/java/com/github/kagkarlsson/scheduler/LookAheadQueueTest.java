@@ -0,0 +1,90 @@
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.scheduler.task.Execution;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class LookAheadQueueTest {
+
+    private final OneTimeTask<Void> task = TestTasks.oneTime("OneTime", Void.class, TestTasks.DO_NOTHING);
+    private final LookAheadQueue queue = new LookAheadQueue(new SystemClock());
+    private final List<String> dispatched = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void stop() {
+        queue.stop();
+    }
+
+    @Test
+    public void should_return_due_executions_and_hold_upcoming() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            final Instant now = Instant.now();
+            final Execution due = new Execution(now.minusSeconds(1), task.instance("due"));
+            final Execution upcoming = new Execution(now.plusMillis(200), task.instance("upcoming"));
+
+            assertThat(queue.hold(Arrays.asList(due, upcoming), now, this::dispatch), contains(due));
+            assertThat(queue.size(), is(1));
+
+            awaitDispatched(1);
+            assertThat(dispatched, contains("upcoming"));
+            assertThat(queue.size(), is(0));
+        });
+    }
+
+    @Test
+    public void should_not_dispatch_held_executions_again_when_fetched_by_next_check() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            final Instant now = Instant.now();
+            final Execution upcoming = new Execution(now.plusMillis(300), task.instance("upcoming"));
+
+            assertThat(queue.hold(Arrays.asList(upcoming), now, this::dispatch), empty());
+            // the next check runs after the execution-time, before the timer has dispatched it
+            assertThat(queue.hold(Arrays.asList(upcoming), now.plusSeconds(1), this::dispatch), empty());
+            assertThat(queue.size(), is(1));
+
+            awaitDispatched(1);
+            Thread.sleep(300);
+            assertThat(dispatched, contains("upcoming"));
+        });
+    }
+
+    @Test
+    public void should_replace_held_executions_that_changed_or_are_no_longer_fetched() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            final Instant now = Instant.now();
+            final Execution rescheduled = new Execution(now.plusSeconds(10), task.instance("rescheduled"));
+            final Execution gone = new Execution(now.plusSeconds(10), task.instance("gone"));
+            queue.hold(Arrays.asList(rescheduled, gone), now, this::dispatch);
+
+            final Execution rescheduledEarlier = new Execution(now.plusMillis(200), task.instance("rescheduled"), false, null, null, null, 0, null, 2L);
+            assertThat(queue.hold(Arrays.asList(rescheduledEarlier), now, this::dispatch), empty());
+            assertThat(queue.size(), is(1));
+
+            awaitDispatched(1);
+            assertThat(dispatched, contains("rescheduled"));
+        });
+    }
+
+    private void dispatch(Execution execution) {
+        dispatched.add(execution.taskInstance.getId());
+    }
+
+    private void awaitDispatched(int count) throws InterruptedException {
+        while (dispatched.size() < count) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.github.kagkarlsson.scheduler.TestTasks.SavingHandler;
 import com.github.kagkarlsson.scheduler.task.ExecutionContext;
 import com.github.kagkarlsson.scheduler.task.TaskInstance;
 import com.github.kagkarlsson.scheduler.task.TaskInstanceId;
+import com.github.kagkarlsson.scheduler.task.TaskInstanceWithTime;
 import com.github.kagkarlsson.scheduler.task.VoidExecutionHandler;
 import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
 import com.github.kagkarlsson.scheduler.testhelper.ManualScheduler;
@@ -16,10 +17,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static java.time.Duration.ofSeconds;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 
@@ -85,6 +90,29 @@ public class SchedulerClientTest {
         assertThat(onetimeTaskHandlerA.timesExecuted, CoreMatchers.is(1));
     }
 
+    @Test
+    public void client_should_be_able_to_schedule_executions_in_batch() {
+        SchedulerClient client = SchedulerClient.Builder.create(DB.getDataSource(), oneTimeTaskA, oneTimeTaskB).build();
+        client.schedule(oneTimeTaskA.instance("2"), settableClock.now());
+
+        List<TaskInstanceWithTime<Void>> executions = IntStream.range(0, 10)
+            .mapToObj(i -> TaskInstanceWithTime.of(oneTimeTaskA.instance(String.valueOf(i)), settableClock.now()))
+            .collect(toList());
+        executions.add(TaskInstanceWithTime.of(oneTimeTaskB.instance("1"), settableClock.now()));
+        executions.add(TaskInstanceWithTime.of(oneTimeTaskA.instance("5"), settableClock.now()));
+
+        List<TaskInstanceId> scheduled = client.scheduleBatch(executions, 4);
+        assertThat(scheduled, hasSize(10));
+        assertThat(scheduled.stream().anyMatch(id -> id.getTaskName().equals(oneTimeTaskA.getName()) && id.getId().equals("2")), is(false));
+        assertThat(countExecutionsForTask(client, oneTimeTaskA.getName(), Void.class), is(10));
+        assertThat(countExecutionsForTask(client, oneTimeTaskB.getName(), Void.class), is(1));
+
+        assertThat(client.scheduleBatch(executions), hasSize(0));
+
+        scheduler.runAnyDueExecutions();
+        assertThat(onetimeTaskHandlerA.timesExecuted, CoreMatchers.is(10));
+    }
+
     @Test
     public void client_should_be_able_to_fetch_executions_for_task() {
         SchedulerClient client = SchedulerClient.Builder.create(DB.getDataSource(), oneTimeTaskA, oneTimeTaskB).build();
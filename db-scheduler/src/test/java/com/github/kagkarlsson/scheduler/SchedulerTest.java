@@ -49,7 +49,7 @@ public class SchedulerTest {
         final StatsRegistry statsRegistry = StatsRegistry.NOOP;
         TaskResolver taskResolver = new TaskResolver(statsRegistry, clock, Arrays.asList(tasks));
         JdbcTaskRepository taskRepository = new JdbcTaskRepository(postgres.getDataSource(), DEFAULT_TABLE_NAME, taskResolver, new SchedulerName.Fixed("scheduler1"));
-        return new Scheduler(clock, taskRepository, taskResolver, 1, executor, new SchedulerName.Fixed("name"), new Waiter(Duration.ZERO), Duration.ofSeconds(1), false, statsRegistry, 10_000, Duration.ofDays(14), new ArrayList<>());
+        return new Scheduler(clock, taskRepository, taskResolver, 1, executor, new SchedulerName.Fixed("name"), new Waiter(Duration.ZERO), Duration.ofSeconds(1), false, statsRegistry, 10_000, PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE, PollingController.NOOP, false, NotificationChannel.NOOP, Duration.ofDays(14), new ArrayList<>(), false, false, Integer.MAX_VALUE, null, null, new ArrayList<>());
     }
 
     @Test
@@ -143,6 +143,33 @@ public class SchedulerTest {
         pausingHandler.waitInExecuteUntil.countDown();
     }
 
+    @Test
+    public void scheduler_should_only_update_heartbeats_older_than_heartbeat_interval() throws InterruptedException {
+        TestTasks.PausingHandler<Void> pausingHandler = new TestTasks.PausingHandler<>();
+        OneTimeTask<Void> oneTimeTask = TestTasks.oneTime("OneTime", Void.class, pausingHandler);
+        Scheduler scheduler = schedulerFor(Executors.newSingleThreadExecutor(), oneTimeTask);
+        TaskResolver taskResolver = new TaskResolver(StatsRegistry.NOOP, clock, Arrays.asList(oneTimeTask));
+        JdbcTaskRepository taskRepository = new JdbcTaskRepository(postgres.getDataSource(), DEFAULT_TABLE_NAME, taskResolver, new SchedulerName.Fixed("scheduler1"));
+
+        Instant timePicked = clock.now();
+        scheduler.schedule(oneTimeTask.instance("1"), timePicked);
+        scheduler.executeDue();
+        pausingHandler.waitForExecute.await();
+
+        clock.set(timePicked.plus(Duration.ofMillis(500)));
+        scheduler.updateHeartbeats();
+        assertThat(taskRepository.getDeadExecutions(timePicked), hasSize(1));
+        assertThat(scheduler.getCurrentlyExecuting().get(0).getLastHeartbeat(), is(timePicked));
+
+        Instant heartbeatDue = timePicked.plus(Duration.ofSeconds(1));
+        clock.set(heartbeatDue);
+        scheduler.updateHeartbeats();
+        assertThat(taskRepository.getDeadExecutions(timePicked), hasSize(0));
+        assertThat(scheduler.getCurrentlyExecuting().get(0).getLastHeartbeat(), is(heartbeatDue));
+
+        pausingHandler.waitInExecuteUntil.countDown();
+    }
+
     @Test
     public void should_expose_cause_of_failure_to_completion_handler() throws InterruptedException {
         TestTasks.ResultRegisteringFailureHandler<Void> failureHandler = new TestTasks.ResultRegisteringFailureHandler<>();
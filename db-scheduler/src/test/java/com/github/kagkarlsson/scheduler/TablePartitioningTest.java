@@ -0,0 +1,219 @@
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.RowMapper;
+import com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.DefaultJdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.JdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.TablePartitionMaintenance;
+import com.github.kagkarlsson.scheduler.stats.StatsRegistry;
+import com.github.kagkarlsson.scheduler.task.Execution;
+import com.github.kagkarlsson.scheduler.task.TaskInstanceId;
+import com.github.kagkarlsson.scheduler.task.TaskInstanceWithTime;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import com.github.kagkarlsson.scheduler.task.helper.RecurringTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.kagkarlsson.jdbc.PreparedStatementSetter.NOOP;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TablePartitioningTest {
+
+    private static final String TABLE_NAME = "partitioned_tasks";
+    // PostgreSQL 10 does not support primary keys, indexes or default partitions on partitioned tables
+    private static final String CREATE_TABLE = "create table " + TABLE_NAME + " (" +
+        "task_name text not null, task_instance text not null, task_data bytea, execution_time timestamp with time zone not null, " +
+        "picked BOOLEAN not null, picked_by text, last_success timestamp with time zone, last_failure timestamp with time zone, " +
+        "consecutive_failures INT, last_heartbeat timestamp with time zone, version BIGINT not null) ";
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension DB = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    private final OneTimeTask<Void> oneTimeTask = TestTasks.oneTime("OneTime", Void.class, TestTasks.DO_NOTHING);
+    private final OneTimeTask<Void> otherTask = TestTasks.oneTime("Other.Task", Void.class, TestTasks.DO_NOTHING);
+
+    @AfterEach
+    public void dropTable() {
+        new JdbcRunner(DB.getDataSource()).execute("drop table if exists " + TABLE_NAME + " cascade", NOOP);
+    }
+
+    @Test
+    public void should_create_upcoming_range_partitions() {
+        final TablePartitioning tablePartitioning = TablePartitioning.byExecutionTime(Duration.ofDays(1), 2);
+        new JdbcRunner(DB.getDataSource()).execute(CREATE_TABLE + "partition by range (execution_time)", NOOP);
+        final TablePartitionMaintenance maintenance = new TablePartitionMaintenance(DB.getDataSource(), TABLE_NAME, tablePartitioning);
+
+        final Instant now = Instant.parse("2026-10-17T10:15:00Z");
+        assertThat(maintenance.createUpcomingPartitions(now),
+            contains(TABLE_NAME + "_p202610170000", TABLE_NAME + "_p202610180000", TABLE_NAME + "_p202610190000"));
+        assertThat(maintenance.createUpcomingPartitions(now), empty());
+        assertThat(maintenance.createUpcomingPartitions(now.plus(Duration.ofDays(1))), contains(TABLE_NAME + "_p202610200000"));
+        assertThat(maintenance.createPartitions(Arrays.asList(oneTimeTask.getName())), empty());
+    }
+
+    @Test
+    public void should_not_create_task_instance_twice_across_range_partitions() {
+        final TablePartitioning tablePartitioning = TablePartitioning.byExecutionTime(Duration.ofDays(1), 3);
+        new JdbcRunner(DB.getDataSource()).execute(CREATE_TABLE + "partition by range (execution_time)", NOOP);
+        final Instant now = Instant.now();
+        new TablePartitionMaintenance(DB.getDataSource(), TABLE_NAME, tablePartitioning).createUpcomingPartitions(now);
+        final JdbcTaskRepository taskRepository = repository(tablePartitioning);
+
+        assertTrue(taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1"))));
+        assertFalse(taskRepository.createIfNotExists(new Execution(now.plus(Duration.ofDays(2)), oneTimeTask.instance("1"))));
+        assertThat(taskRepository.createBatchIfNotExists(Arrays.asList(
+            new Execution(now.plus(Duration.ofDays(1)), oneTimeTask.instance("1")),
+            new Execution(now.plus(Duration.ofDays(1)), oneTimeTask.instance("2")),
+            new Execution(now.plus(Duration.ofDays(2)), otherTask.instance("1")))), hasSize(2));
+        assertThat(partitionsOf(oneTimeTask.instance("1").getTaskAndInstance()), hasSize(1));
+
+        final Execution due = taskRepository.getDue(now, 10).get(0);
+        assertThat(due.taskInstance.getId(), is("1"));
+        assertTrue(taskRepository.pick(due, now).isPresent());
+    }
+
+    @Test
+    public void concurrent_creates_in_different_range_partitions_should_create_one() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final TablePartitioning tablePartitioning = TablePartitioning.byExecutionTime(Duration.ofHours(1), 10);
+            new JdbcRunner(DB.getDataSource()).execute(CREATE_TABLE + "partition by range (execution_time)", NOOP);
+            final Instant now = Instant.now();
+            new TablePartitionMaintenance(DB.getDataSource(), TABLE_NAME, tablePartitioning).createUpcomingPartitions(now);
+            final JdbcTaskRepository taskRepository = repository(tablePartitioning);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(8);
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final Instant executionTime = now.plus(Duration.ofHours(i));
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return taskRepository.createIfNotExists(new Execution(executionTime, oneTimeTask.instance("1")));
+                }));
+            }
+            start.countDown();
+            int created = 0;
+            for (Future<Boolean> result : results) {
+                created += result.get() ? 1 : 0;
+            }
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+
+            assertThat(created, is(1));
+            assertThat(partitionsOf(oneTimeTask.instance("1").getTaskAndInstance()), hasSize(1));
+        });
+    }
+
+    @Test
+    public void clients_should_not_create_task_instance_twice_across_range_partitions() {
+        final TablePartitioning tablePartitioning = TablePartitioning.byExecutionTime(Duration.ofDays(1), 3);
+        new JdbcRunner(DB.getDataSource()).execute(CREATE_TABLE + "partition by range (execution_time)", NOOP);
+        final Instant now = Instant.now();
+        new TablePartitionMaintenance(DB.getDataSource(), TABLE_NAME, tablePartitioning).createUpcomingPartitions(now);
+        final SchedulerClient client1 = client(tablePartitioning);
+        final SchedulerClient client2 = client(tablePartitioning);
+
+        client1.schedule(oneTimeTask.instance("1"), now);
+        client2.schedule(oneTimeTask.instance("1"), now.plus(Duration.ofDays(2)));
+        assertThat(client2.scheduleBatch(Arrays.asList(
+            new TaskInstanceWithTime<>(oneTimeTask.instance("1"), now.plus(Duration.ofDays(1))),
+            new TaskInstanceWithTime<>(oneTimeTask.instance("2"), now.plus(Duration.ofDays(1))))), hasSize(1));
+
+        assertThat(partitionsOf(oneTimeTask.instance("1").getTaskAndInstance()), hasSize(1));
+    }
+
+    @Test
+    public void should_create_list_partitions_for_task_names() {
+        new JdbcRunner(DB.getDataSource()).execute(CREATE_TABLE + "partition by list (task_name)", NOOP);
+        final TablePartitionMaintenance maintenance = new TablePartitionMaintenance(DB.getDataSource(), TABLE_NAME, TablePartitioning.byTaskName());
+
+        assertThat(maintenance.createPartitions(Arrays.asList(oneTimeTask.getName(), otherTask.getName())), hasSize(2));
+        assertThat(maintenance.createPartitions(Arrays.asList(oneTimeTask.getName(), otherTask.getName())), empty());
+        assertThat(maintenance.createUpcomingPartitions(Instant.now()), empty());
+
+        // PostgreSQL 10 does not support ON CONFLICT for partitioned tables
+        final JdbcTaskRepository taskRepository = repository(TablePartitioning.byTaskName(), new DefaultJdbcCustomization());
+        final Instant now = Instant.now();
+        assertTrue(taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1"))));
+        assertTrue(taskRepository.createIfNotExists(new Execution(now, otherTask.instance("1"))));
+        assertThat(partitionsOf(oneTimeTask.instance("1").getTaskAndInstance()), contains(TABLE_NAME + "_tonetime_" + Integer.toHexString("OneTime".hashCode())));
+        assertThat(partitionsOf(otherTask.instance("1").getTaskAndInstance()), contains(TABLE_NAME + "_tother_task_" + Integer.toHexString("Other.Task".hashCode())));
+    }
+
+    @Test
+    public void scheduler_should_create_upcoming_partitions() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            new JdbcRunner(DB.getDataSource()).execute(CREATE_TABLE + "partition by range (execution_time)", NOOP);
+            final Instant now = Instant.now();
+            new TablePartitionMaintenance(DB.getDataSource(), TABLE_NAME, TablePartitioning.byExecutionTime(Duration.ofHours(1), 1)).createUpcomingPartitions(now);
+
+            final TablePartitioning tablePartitioning = TablePartitioning.byExecutionTime(Duration.ofHours(1), 3);
+            final Scheduler scheduler = Scheduler.create(DB.getDataSource(), oneTimeTask)
+                .tableName(TABLE_NAME)
+                .pollingInterval(Duration.ofMillis(50))
+                .enableTablePartitioning(tablePartitioning)
+                .build();
+            stopScheduler.register(scheduler);
+            scheduler.start();
+
+            final String lastPartition = TABLE_NAME + "_p" + DateTimeFormatter.ofPattern("yyyyMMddHHmm").withZone(ZoneOffset.UTC)
+                .format(tablePartitioning.partitionStart(now).plus(Duration.ofHours(3)));
+            while (!partitionExists(lastPartition)) {
+                Thread.sleep(50);
+            }
+            assertTrue(scheduler.getScheduledExecution(TaskInstanceId.of(TablePartitioning.MAINTENANCE_TASK_NAME, RecurringTask.INSTANCE)).isPresent());
+        });
+    }
+
+    private boolean partitionExists(String partition) {
+        return new JdbcRunner(DB.getDataSource()).query("select to_regclass(?) is not null", p -> p.setString(1, partition),
+            (RowMapper<Boolean>) rs -> rs.getBoolean(1)).get(0);
+    }
+
+    private SchedulerClient client(TablePartitioning tablePartitioning) {
+        return SchedulerClient.Builder.create(DB.getDataSource(), oneTimeTask, otherTask)
+            .tableName(TABLE_NAME)
+            .enableTablePartitioning(tablePartitioning)
+            .build();
+    }
+
+    private JdbcTaskRepository repository(TablePartitioning tablePartitioning) {
+        return repository(tablePartitioning, new AutodetectJdbcCustomization(DB.getDataSource()));
+    }
+
+    private JdbcTaskRepository repository(TablePartitioning tablePartitioning, JdbcCustomization jdbcCustomization) {
+        final TaskResolver taskResolver = new TaskResolver(StatsRegistry.NOOP, new ArrayList<>(Arrays.asList(oneTimeTask, otherTask)));
+        return new JdbcTaskRepository(DB.getDataSource(), jdbcCustomization, TABLE_NAME,
+            taskResolver, new SchedulerName.Fixed("scheduler1"), JdbcTaskRepository.Settings.create().tablePartitioning(tablePartitioning));
+    }
+
+    private List<String> partitionsOf(String taskAndInstance) {
+        return new JdbcRunner(DB.getDataSource()).query("select cast(cast(tableoid as regclass) as text) as partition from " + TABLE_NAME +
+                " where task_name || '_' || task_instance = ?", p -> p.setString(1, taskAndInstance),
+            (RowMapper<String>) rs -> rs.getString("partition"));
+    }
+}
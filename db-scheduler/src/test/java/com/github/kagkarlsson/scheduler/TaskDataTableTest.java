@@ -0,0 +1,165 @@
+package com.github.kagkarlsson.scheduler;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.RowMapper;
+import com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization;
+import com.github.kagkarlsson.scheduler.stats.StatsRegistry;
+import com.github.kagkarlsson.scheduler.task.Execution;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static com.github.kagkarlsson.jdbc.PreparedStatementSetter.NOOP;
+import static com.github.kagkarlsson.scheduler.JdbcTaskRepository.DEFAULT_TABLE_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class TaskDataTableTest {
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension DB = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    private OneTimeTask<String> oneTimeTask;
+    private JdbcTaskRepository taskRepository;
+
+    @BeforeEach
+    public void setUp() {
+        new JdbcRunner(DB.getDataSource()).execute("create table " + TaskDataTable.DEFAULT_TABLE_NAME + " (" +
+            "task_name text not null, task_instance text not null, task_data bytea, PRIMARY KEY (task_name, task_instance))", NOOP);
+        oneTimeTask = TestTasks.oneTime("OneTime", String.class, new TestTasks.DoNothingHandler<>());
+        final TaskResolver taskResolver = new TaskResolver(StatsRegistry.NOOP, new ArrayList<>(Arrays.asList(oneTimeTask)));
+        taskRepository = new JdbcTaskRepository(DB.getDataSource(), new AutodetectJdbcCustomization(DB.getDataSource()), DEFAULT_TABLE_NAME,
+            taskResolver, new SchedulerName.Fixed("scheduler1"), JdbcTaskRepository.Settings.create().taskDataTable(TaskDataTable.of(TaskDataTable.DEFAULT_TABLE_NAME)));
+    }
+
+    @AfterEach
+    public void dropTaskDataTable() {
+        new JdbcRunner(DB.getDataSource()).execute("drop table if exists " + TaskDataTable.DEFAULT_TABLE_NAME, NOOP);
+    }
+
+    @Test
+    public void data_should_be_stored_in_task_data_table() {
+        final Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1", "data1")));
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("2")));
+
+        assertThat(inlineData(), contains(nullValue(), nullValue()));
+        assertThat(dataRows(), contains("1"));
+        assertThat(taskRepository.getExecution(oneTimeTask.instance("1")).get().taskInstance.getData(), is("data1"));
+        assertThat(taskRepository.getExecution(oneTimeTask.instance("2")).get().taskInstance.getData(), nullValue());
+
+        final Execution due = taskRepository.getDue(now, 10).stream().filter(e -> e.taskInstance.getId().equals("1")).findFirst().get();
+        final Execution picked = taskRepository.pick(due, now).get();
+        taskRepository.updateHeartbeat(picked, now.plusSeconds(1));
+        assertThat(picked.taskInstance.getData(), is("data1"));
+    }
+
+    @Test
+    public void data_should_be_replaced_on_reschedule_with_new_data_and_removed_with_execution() {
+        final Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1", "data1")));
+
+        Execution execution = taskRepository.getExecution(oneTimeTask.instance("1")).get();
+        taskRepository.reschedule(execution, now.plusSeconds(10), null, null, 0);
+        execution = taskRepository.getExecution(oneTimeTask.instance("1")).get();
+        assertThat(execution.taskInstance.getData(), is("data1"));
+
+        taskRepository.reschedule(execution, now.plusSeconds(20), "data2", null, null, 0);
+        execution = taskRepository.getExecution(oneTimeTask.instance("1")).get();
+        assertThat(execution.taskInstance.getData(), is("data2"));
+
+        taskRepository.reschedule(execution, now.plusSeconds(30), null, null, null, 0);
+        execution = taskRepository.getExecution(oneTimeTask.instance("1")).get();
+        assertThat(execution.taskInstance.getData(), nullValue());
+        assertThat(dataRows(), empty());
+
+        taskRepository.reschedule(execution, now.plusSeconds(40), "data3", null, null, 0);
+        execution = taskRepository.getExecution(oneTimeTask.instance("1")).get();
+        taskRepository.remove(execution);
+        assertThat(dataRows(), empty());
+    }
+
+    @Test
+    public void data_should_not_be_loaded_for_execution_rescheduled_with_new_data_since_fetched() {
+        final Instant now = Instant.now();
+        taskRepository.createIfNotExists(new Execution(now, oneTimeTask.instance("1", "data1")));
+
+        final Execution fetched = taskRepository.getExecution(oneTimeTask.instance("1")).get();
+        taskRepository.reschedule(taskRepository.getExecution(oneTimeTask.instance("1")).get(), now, "data2", null, null, 0);
+
+        Assertions.assertThrows(RuntimeException.class, () -> fetched.taskInstance.getData());
+        assertThat(taskRepository.getExecution(oneTimeTask.instance("1")).get().taskInstance.getData(), is("data2"));
+    }
+
+    @Test
+    public void batched_writes_should_maintain_task_data_table() {
+        final Instant now = Instant.now();
+        assertThat(taskRepository.createBatchIfNotExists(Arrays.asList(
+            new Execution(now, oneTimeTask.instance("1", "data1")),
+            new Execution(now, oneTimeTask.instance("2", "data2")),
+            new Execution(now, oneTimeTask.instance("3", "data3")))), hasSize(3));
+        assertThat(dataRows(), contains("1", "2", "3"));
+
+        final Execution execution1 = taskRepository.getExecution(oneTimeTask.instance("1")).get();
+        final Execution execution2 = taskRepository.getExecution(oneTimeTask.instance("2")).get();
+        final Execution execution3 = taskRepository.getExecution(oneTimeTask.instance("3")).get();
+        final Execution stale = new Execution(now, oneTimeTask.instance("3"), false, null, null, null, 0, null, execution3.version + 1);
+        assertThat(taskRepository.writeCompletions(Arrays.asList(
+            CompletionWrite.remove(execution1),
+            CompletionWrite.reschedule(execution2, now.plusSeconds(10), "data2b", now, null, 0),
+            CompletionWrite.remove(stale))), hasSize(1));
+
+        assertThat(dataRows(), contains("2", "3"));
+        assertThat(taskRepository.getExecution(oneTimeTask.instance("2")).get().taskInstance.getData(), is("data2b"));
+        assertThat(taskRepository.removeExecutions(oneTimeTask.getName()), is(2));
+        assertThat(dataRows(), empty());
+    }
+
+    @Test
+    public void scheduler_should_execute_with_data_from_task_data_table() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final CountDownLatch executed = new CountDownLatch(1);
+            final List<String> received = new ArrayList<>();
+            final OneTimeTask<String> task = TestTasks.oneTime("OneTime", String.class, (taskInstance, executionContext) -> {
+                received.add(taskInstance.getData());
+                executed.countDown();
+            });
+            final Scheduler scheduler = Scheduler.create(DB.getDataSource(), task)
+                .pollingInterval(Duration.ofMillis(50))
+                .enableTaskDataTable()
+                .build();
+            stopScheduler.register(scheduler);
+
+            scheduler.schedule(task.instance("1", "data1"), Instant.now());
+            scheduler.start();
+            executed.await();
+            assertThat(received, contains("data1"));
+        });
+    }
+
+    private List<Object> inlineData() {
+        return new JdbcRunner(DB.getDataSource()).query("select task_data from " + DEFAULT_TABLE_NAME + " order by task_instance", NOOP,
+            (RowMapper<Object>) rs -> rs.getBytes("task_data"));
+    }
+
+    private List<String> dataRows() {
+        return new JdbcRunner(DB.getDataSource()).query("select task_instance from " + TaskDataTable.DEFAULT_TABLE_NAME + " order by task_instance", NOOP,
+            (RowMapper<String>) rs -> rs.getString("task_instance"));
+    }
+}
@@ -187,6 +187,7 @@ public class TestTasks {
 
     public static class SimpleStatsRegistry extends StatsRegistry.DefaultStatsRegistry {
         public final AtomicInteger unexpectedErrors = new AtomicInteger(0);
+        public final AtomicInteger alreadyPicked = new AtomicInteger(0);
 
         @Override
         public void register(SchedulerStatsEvent e) {
@@ -195,6 +196,14 @@ public class TestTasks {
             }
             super.register(e);
         }
+
+        @Override
+        public void register(CandidateStatsEvent e) {
+            if (e == CandidateStatsEvent.ALREADY_PICKED) {
+                alreadyPicked.incrementAndGet();
+            }
+            super.register(e);
+        }
     }
 
 }
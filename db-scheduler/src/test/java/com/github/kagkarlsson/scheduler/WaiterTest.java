@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.util.concurrent.*;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class WaiterTest {
@@ -59,6 +60,15 @@ public class WaiterTest {
         assertTrue(waitTime.get() >= 200L, "Waited: " + waitTime.get());
     }
 
+    @Test
+    public void should_apply_jitter_to_wait_but_not_to_wait_duration() throws ExecutionException, InterruptedException {
+        Waiter waiter = new Waiter(() -> Duration.ofMillis(100), d -> d.multipliedBy(2), new SystemClock());
+        assertEquals(Duration.ofMillis(100), waiter.getWaitDuration());
+
+        Future<Long> waitTime = executor.submit(new WaitForWaiter(waiter));
+        assertTrue(waitTime.get() >= 200L, "Waited: " + waitTime.get());
+    }
+
     private void sleep(int millis) {
         try {
             Thread.sleep(millis);
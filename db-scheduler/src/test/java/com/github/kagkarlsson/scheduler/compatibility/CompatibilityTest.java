@@ -35,8 +35,10 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @SuppressWarnings("ConstantConditions")
@@ -156,6 +158,24 @@ public abstract class CompatibilityTest {
         jdbcTaskRepository.remove(rescheduled.get());
     }
 
+    @Test
+    public void test_jdbc_repository_compatibility_create_if_not_exists() {
+        TaskResolver taskResolver = new TaskResolver(StatsRegistry.NOOP, new ArrayList<>());
+        taskResolver.addTask(oneTime);
+
+        final JdbcTaskRepository jdbcTaskRepository = new JdbcTaskRepository(getDataSource(), DEFAULT_TABLE_NAME, taskResolver, new SchedulerName.Fixed("scheduler1"));
+
+        final Instant now = Instant.now();
+        final TaskInstance<String> taskInstance = oneTime.instance("id1", "my data");
+
+        assertTrue(jdbcTaskRepository.createIfNotExists(new Execution(now, taskInstance)));
+        assertFalse(jdbcTaskRepository.createIfNotExists(new Execution(now.plusSeconds(1), oneTime.instance("id1", "other data"))));
+        assertTrue(jdbcTaskRepository.createIfNotExists(new Execution(now, oneTime.instance("id2"))));
+
+        final Execution stored = jdbcTaskRepository.getExecution(taskInstance).get();
+        assertThat(stored.taskInstance.getData(), is("my data"));
+    }
+
     @Test
     public void test_jdbc_repository_compatibility_set_data() {
         TaskResolver taskResolver = new TaskResolver(StatsRegistry.NOOP, new ArrayList<>());
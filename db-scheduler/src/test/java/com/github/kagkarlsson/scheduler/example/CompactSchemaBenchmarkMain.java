@@ -0,0 +1,98 @@
+package com.github.kagkarlsson.scheduler.example;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.RowMapper;
+import com.github.kagkarlsson.scheduler.CompactSchema;
+import com.github.kagkarlsson.scheduler.EmbeddedPostgresqlExtension;
+import com.github.kagkarlsson.scheduler.JdbcTaskRepository;
+import com.github.kagkarlsson.scheduler.SchedulerName;
+import com.github.kagkarlsson.scheduler.TaskResolver;
+import com.github.kagkarlsson.scheduler.TestTasks;
+import com.github.kagkarlsson.scheduler.jdbc.AutodetectJdbcCustomization;
+import com.github.kagkarlsson.scheduler.jdbc.SchemaManager;
+import com.github.kagkarlsson.scheduler.stats.StatsRegistry;
+import com.github.kagkarlsson.scheduler.task.Execution;
+import com.github.kagkarlsson.scheduler.task.Task;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.kagkarlsson.jdbc.PreparedStatementSetter.NOOP;
+import static com.github.kagkarlsson.scheduler.JdbcTaskRepository.DEFAULT_TABLE_NAME;
+
+/**
+ * Compares table- and index-size, and the latency of polling for due executions, between the regular and the compact
+ * table layout on an embedded PostgreSQL. Arguments: [executions] [polls].
+ */
+public class CompactSchemaBenchmarkMain {
+
+    private static final String COMPACT_TABLE_NAME = "scheduled_tasks_compact";
+    private static final int BATCH_SIZE = 1000;
+    private static final int POLLING_LIMIT = 100;
+
+    public static void main(String[] args) {
+        final int executions = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        final int polls = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        final DataSource dataSource = new EmbeddedPostgresqlExtension().getDataSource();
+        new SchemaManager(dataSource, COMPACT_TABLE_NAME, CompactSchema.enabled()).createIfNotExists();
+
+        final List<Task<?>> tasks = IntStream.range(0, 10)
+            .mapToObj(i -> TestTasks.oneTime("com.example.scheduling.tasks.SendCustomerNotificationTask" + i, Void.class, TestTasks.DO_NOTHING))
+            .collect(Collectors.toList());
+        final TaskResolver taskResolver = new TaskResolver(StatsRegistry.NOOP, new ArrayList<>(tasks));
+
+        try {
+            for (CompactSchema compactSchema : Arrays.asList(CompactSchema.DISABLED, CompactSchema.enabled())) {
+                final String tableName = compactSchema.isEnabled() ? COMPACT_TABLE_NAME : DEFAULT_TABLE_NAME;
+                final JdbcTaskRepository taskRepository = new JdbcTaskRepository(dataSource, new AutodetectJdbcCustomization(dataSource), tableName,
+                    taskResolver, new SchedulerName.Fixed("benchmark"), JdbcTaskRepository.Settings.create().compactSchema(compactSchema));
+                benchmark(dataSource, taskRepository, tableName, tasks, executions, polls);
+            }
+        } finally {
+            new JdbcRunner(dataSource).execute("drop table " + COMPACT_TABLE_NAME, NOOP);
+            new JdbcRunner(dataSource).execute("drop table " + CompactSchema.DEFAULT_TASK_NAMES_TABLE_NAME, NOOP);
+            new JdbcRunner(dataSource).execute("delete from " + DEFAULT_TABLE_NAME, NOOP);
+        }
+        System.exit(0);
+    }
+
+    private static void benchmark(DataSource dataSource, JdbcTaskRepository taskRepository, String tableName, List<Task<?>> tasks, int executions, int polls) {
+        final Instant now = Instant.now();
+        final List<Execution> batch = new ArrayList<>();
+        for (int i = 0; i < executions; i++) {
+            // spread over the next 24h, so that a poll only sees the earliest
+            batch.add(new Execution(now.plusMillis(i * (86_400_000L / executions)), tasks.get(i % tasks.size()).instance("instance-" + i)));
+            if (batch.size() == BATCH_SIZE || i == executions - 1) {
+                taskRepository.createBatchIfNotExists(batch);
+                batch.clear();
+            }
+        }
+        final JdbcRunner jdbcRunner = new JdbcRunner(dataSource);
+        jdbcRunner.execute("vacuum analyze " + tableName, NOOP);
+
+        final long tableSize = jdbcRunner.query("select pg_relation_size('" + tableName + "')", NOOP, (RowMapper<Long>) rs -> rs.getLong(1)).get(0);
+        final long indexesSize = jdbcRunner.query("select pg_indexes_size('" + tableName + "')", NOOP, (RowMapper<Long>) rs -> rs.getLong(1)).get(0);
+
+        final Instant dueTime = now.plusSeconds(3600);
+        for (int i = 0; i < polls / 10; i++) {
+            taskRepository.getDue(dueTime, POLLING_LIMIT);
+        }
+        final long[] latencies = new long[polls];
+        for (int i = 0; i < polls; i++) {
+            final long start = System.nanoTime();
+            taskRepository.getDue(dueTime, POLLING_LIMIT);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%-25s executions=%d table=%dkB indexes=%dkB poll(avg)=%.3fms poll(p99)=%.3fms%n",
+            tableName, executions, tableSize / 1024, indexesSize / 1024,
+            Arrays.stream(latencies).average().orElse(0) / 1_000_000, latencies[(int) (polls * 0.99)] / 1_000_000.0);
+    }
+}
@@ -0,0 +1,243 @@
+package com.github.kagkarlsson.scheduler.functional;
+
+import com.github.kagkarlsson.scheduler.EmbeddedPostgresqlExtension;
+import com.github.kagkarlsson.scheduler.ScheduledExecution;
+import com.github.kagkarlsson.scheduler.Scheduler;
+import com.github.kagkarlsson.scheduler.SchedulerName;
+import com.github.kagkarlsson.scheduler.StopSchedulerExtension;
+import com.github.kagkarlsson.scheduler.task.CompletionHandler;
+import com.github.kagkarlsson.scheduler.task.helper.AsyncTask;
+import com.github.kagkarlsson.scheduler.task.helper.Tasks;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+
+public class AsyncTaskTest {
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension postgres = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    @Test
+    public void should_release_executor_thread_while_execution_is_in_progress() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final ExecutorService completer = Executors.newCachedThreadPool();
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch completed = new CountDownLatch(20);
+            final List<String> completionThreads = Collections.synchronizedList(new ArrayList<>());
+
+            AsyncTask<Void> task = Tasks.custom("async", Void.class)
+                .executeAsync((taskInstance, executionContext) -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    return (CompletionHandler<Void>) (executionComplete, executionOperations) -> {
+                        completionThreads.add(Thread.currentThread().getName());
+                        executionOperations.stop();
+                        completed.countDown();
+                    };
+                }, completer));
+
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), task)
+                .threads(1)
+                .pollingLimit(20)
+                .pollingInterval(Duration.ofMillis(50))
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .build();
+            stopScheduler.register(scheduler);
+
+            Instant now = Instant.now();
+            IntStream.range(0, 20).forEach(i -> scheduler.schedule(task.instance("id" + i), now));
+            scheduler.start();
+
+            while (scheduler.getCurrentlyExecuting().size() < 20) {
+                Thread.sleep(10);
+            }
+
+            release.countDown();
+            completed.await();
+            while (!scheduler.getCurrentlyExecuting().isEmpty()) {
+                Thread.sleep(10);
+            }
+            List<ScheduledExecution<Object>> scheduled = new ArrayList<>();
+            scheduler.getScheduledExecutions(scheduled::add);
+            assertThat(scheduled, hasSize(0));
+            assertThat(completionThreads, everyItem(startsWith(Scheduler.THREAD_PREFIX)));
+            completer.shutdown();
+        });
+    }
+
+    @Test
+    public void should_treat_exceptionally_completed_stage_as_failure() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final CountDownLatch failed = new CountDownLatch(1);
+
+            AsyncTask<Void> task = Tasks.custom("async", Void.class)
+                .onFailure((executionComplete, executionOperations) -> {
+                    executionOperations.stop();
+                    failed.countDown();
+                })
+                .executeAsync((taskInstance, executionContext) -> {
+                    CompletableFuture<CompletionHandler<Void>> future = new CompletableFuture<>();
+                    future.completeExceptionally(new RuntimeException("failed"));
+                    return future;
+                });
+
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), task)
+                .pollingInterval(Duration.ofMillis(50))
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .build();
+            stopScheduler.register(scheduler);
+
+            scheduler.schedule(task.instance("1"), Instant.now());
+            scheduler.start();
+
+            failed.await();
+        });
+    }
+
+    @Test
+    public void should_complete_on_executor_threads_queued_by_priority() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final CountDownLatch completed = new CountDownLatch(5);
+
+            AsyncTask<Void> task = Tasks.custom("async", Void.class)
+                .executeAsync((taskInstance, executionContext) -> CompletableFuture.supplyAsync(() ->
+                    (executionComplete, executionOperations) -> {
+                        executionOperations.stop();
+                        completed.countDown();
+                    }));
+
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), task)
+                .threads(1)
+                .enablePriority()
+                .pollingInterval(Duration.ofMillis(50))
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .build();
+            stopScheduler.register(scheduler);
+
+            Instant now = Instant.now();
+            IntStream.range(0, 5).forEach(i -> scheduler.schedule(task.instance("id" + i), now));
+            scheduler.start();
+
+            completed.await();
+        });
+    }
+
+    @Test
+    public void should_count_in_flight_executions_against_max_concurrency_of_executor_group() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final ConcurrencyTracker tracker = new ConcurrencyTracker(10);
+            AsyncTask<Void> task = tracker.task(Tasks.custom("async", Void.class).executorGroup("async-group"));
+
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), task)
+                .executorGroup("async-group", 1, 3)
+                .pollingInterval(Duration.ofMillis(20))
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .build();
+            stopScheduler.register(scheduler);
+
+            tracker.runToCompletion(scheduler, task, 3);
+        });
+    }
+
+    @Test
+    public void should_limit_async_executions_in_flight() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final ConcurrencyTracker tracker = new ConcurrencyTracker(10);
+            AsyncTask<Void> task = tracker.task(Tasks.custom("async", Void.class));
+
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), task)
+                .threads(1)
+                .pollingLimit(20)
+                .maxAsyncExecutionsInFlight(4)
+                .pollingInterval(Duration.ofMillis(20))
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .build();
+            stopScheduler.register(scheduler);
+
+            tracker.runToCompletion(scheduler, task, 4);
+        });
+    }
+
+    /**
+     * Completes executions one at a time, recording the highest number in flight at the same time.
+     */
+    private static class ConcurrencyTracker {
+        private final int executions;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final List<CompletableFuture<CompletionHandler<Void>>> started = new ArrayList<>();
+        private final CountDownLatch completed;
+
+        ConcurrencyTracker(int executions) {
+            this.executions = executions;
+            this.completed = new CountDownLatch(executions);
+        }
+
+        AsyncTask<Void> task(Tasks.TaskBuilder<Void> builder) {
+            return builder.executeAsync((taskInstance, executionContext) -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                CompletableFuture<CompletionHandler<Void>> future = new CompletableFuture<>();
+                synchronized (started) {
+                    started.add(future);
+                }
+                return future;
+            });
+        }
+
+        void runToCompletion(Scheduler scheduler, AsyncTask<Void> task, int expectedMaxInFlight) throws InterruptedException {
+            Instant now = Instant.now();
+            IntStream.range(0, executions).forEach(i -> scheduler.schedule(task.instance("id" + i), now));
+            scheduler.start();
+
+            for (int i = 0; i < executions; i++) {
+                while (startedCount() <= i) {
+                    Thread.sleep(10);
+                }
+                // give the scheduler a few polls to (wrongly) start more executions
+                Thread.sleep(100);
+                final CompletableFuture<CompletionHandler<Void>> future;
+                synchronized (started) {
+                    future = started.get(i);
+                }
+                inFlight.decrementAndGet();
+                future.complete((executionComplete, executionOperations) -> {
+                    executionOperations.stop();
+                    completed.countDown();
+                });
+            }
+            completed.await();
+            assertThat(maxInFlight.get(), is(expectedMaxInFlight));
+        }
+
+        private int startedCount() {
+            synchronized (started) {
+                return started.size();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.github.kagkarlsson.scheduler.functional;
+
+import com.github.kagkarlsson.scheduler.DbUtils;
+import com.github.kagkarlsson.scheduler.EmbeddedPostgresqlExtension;
+import com.github.kagkarlsson.scheduler.Scheduler;
+import com.github.kagkarlsson.scheduler.SchedulerName;
+import com.github.kagkarlsson.scheduler.StopSchedulerExtension;
+import com.github.kagkarlsson.scheduler.TestTasks;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import com.github.kagkarlsson.scheduler.task.helper.RecurringTask;
+import com.github.kagkarlsson.scheduler.task.helper.Tasks;
+import com.github.kagkarlsson.scheduler.task.schedule.Schedules;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+
+public class CompletionPipelineTest {
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension postgres = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    @Test
+    public void should_write_completions_using_pipeline() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final CountDownLatch oneTimeExecuted = new CountDownLatch(100);
+            final CountDownLatch recurringExecuted = new CountDownLatch(3);
+
+            OneTimeTask<Void> oneTime = Tasks.oneTime("one-time")
+                .execute((taskInstance, executionContext) -> oneTimeExecuted.countDown());
+            RecurringTask<Void> recurring = Tasks.recurring("recurring", Schedules.fixedDelay(Duration.ofMillis(10)))
+                .execute((taskInstance, executionContext) -> recurringExecuted.countDown());
+
+            TestTasks.SimpleStatsRegistry stats = new TestTasks.SimpleStatsRegistry();
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), oneTime)
+                .startTasks(recurring)
+                .enableCompletionPipeline(Duration.ofMillis(5), 20)
+                .pollingInterval(Duration.ofMillis(50))
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .statsRegistry(stats)
+                .build();
+            stopScheduler.register(scheduler);
+
+            Instant now = Instant.now();
+            IntStream.range(0, 100).forEach(i -> scheduler.schedule(oneTime.instance("id" + i), now));
+            scheduler.start();
+
+            oneTimeExecuted.await();
+            recurringExecuted.await();
+            scheduler.stop();
+
+            // completions of one-time executions are all written on stop, leaving the recurring execution
+            assertThat(DbUtils.countExecutions(postgres.getDataSource()), is(1));
+            assertThat(stats.unexpectedErrors.get(), is(0));
+        });
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.kagkarlsson.scheduler.functional;
+
+import com.github.kagkarlsson.scheduler.EmbeddedPostgresqlExtension;
+import com.github.kagkarlsson.scheduler.PollingStrategy;
+import com.github.kagkarlsson.scheduler.Scheduler;
+import com.github.kagkarlsson.scheduler.SchedulerName;
+import com.github.kagkarlsson.scheduler.StopSchedulerExtension;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import com.github.kagkarlsson.scheduler.task.helper.Tasks;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+
+public class ExecutorGroupTest {
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension postgres = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    @Test
+    public void slow_executor_group_should_not_block_other_tasks() {
+        testIsolation(PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE);
+    }
+
+    @Test
+    public void slow_executor_group_should_not_block_other_tasks_lock_and_fetch() {
+        testIsolation(PollingStrategy.LOCK_AND_FETCH);
+    }
+
+    private void testIsolation(PollingStrategy pollingStrategy) {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final CountDownLatch releaseSlow = new CountDownLatch(1);
+            final CountDownLatch slowCompleted = new CountDownLatch(3);
+            final CountDownLatch fastCompleted = new CountDownLatch(5);
+            final AtomicInteger slowRunning = new AtomicInteger();
+            final AtomicInteger maxSlowRunning = new AtomicInteger();
+
+            OneTimeTask<Void> slowTask = Tasks.oneTime("slow")
+                .executorGroup("slow")
+                .execute((taskInstance, executionContext) -> {
+                    maxSlowRunning.accumulateAndGet(slowRunning.incrementAndGet(), Math::max);
+                    try {
+                        releaseSlow.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    slowRunning.decrementAndGet();
+                    slowCompleted.countDown();
+                });
+            OneTimeTask<Void> fastTask = Tasks.oneTime("fast")
+                .execute((taskInstance, executionContext) -> fastCompleted.countDown());
+
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), slowTask, fastTask)
+                .threads(2)
+                .executorGroup("slow", 2, 1)
+                .pollingStrategy(pollingStrategy)
+                .pollingInterval(Duration.ofMillis(50))
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .build();
+            stopScheduler.register(scheduler);
+
+            Instant now = Instant.now();
+            IntStream.range(0, 3).forEach(i -> scheduler.schedule(slowTask.instance("slow" + i), now));
+            IntStream.range(0, 5).forEach(i -> scheduler.schedule(fastTask.instance("fast" + i), now));
+            scheduler.start();
+
+            fastCompleted.await();
+            releaseSlow.countDown();
+            slowCompleted.await();
+
+            assertThat(maxSlowRunning.get(), is(1));
+        });
+    }
+
+    @Test
+    public void should_fail_for_task_declaring_unknown_executor_group() {
+        OneTimeTask<Void> task = Tasks.oneTime("task").executorGroup("unknown").execute((taskInstance, executionContext) -> {});
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Scheduler.create(postgres.getDataSource(), task).build());
+    }
+
+}
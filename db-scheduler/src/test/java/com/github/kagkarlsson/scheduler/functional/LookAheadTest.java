@@ -0,0 +1,82 @@
+package com.github.kagkarlsson.scheduler.functional;
+
+import co.unruly.matchers.TimeMatchers;
+import com.github.kagkarlsson.scheduler.EmbeddedPostgresqlExtension;
+import com.github.kagkarlsson.scheduler.PollingStrategy;
+import com.github.kagkarlsson.scheduler.Scheduler;
+import com.github.kagkarlsson.scheduler.SchedulerName;
+import com.github.kagkarlsson.scheduler.StopSchedulerExtension;
+import com.github.kagkarlsson.scheduler.TestTasks;
+import com.github.kagkarlsson.scheduler.helper.TestableRegistry;
+import com.github.kagkarlsson.scheduler.task.ExecutionComplete;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+
+
+public class LookAheadTest {
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension postgres = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    @Test
+    public void should_execute_upcoming_executions_at_execution_time_and_not_next_poll() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+
+            OneTimeTask<Void> task = TestTasks.oneTime("onetime-a", Void.class, TestTasks.DO_NOTHING);
+            TestableRegistry.Condition completedCondition = TestableRegistry.Conditions.completed(2);
+            TestableRegistry registry = TestableRegistry.create().waitConditions(completedCondition).build();
+
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), task)
+                .pollingInterval(Duration.ofMinutes(1))
+                .enableLookAhead()
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .statsRegistry(registry)
+                .build();
+            stopScheduler.register(scheduler);
+
+            Instant now = Instant.now();
+            Instant first = now.plusMillis(500);
+            Instant second = now.plusSeconds(2);
+            scheduler.schedule(task.instance("2"), second);
+            scheduler.schedule(task.instance("1"), first);
+
+            scheduler.start();
+            completedCondition.waitFor();
+
+            List<ExecutionComplete> completed = registry.getCompleted();
+            assertThat(completed, hasSize(2));
+            assertThat(completed.get(0).getExecution().taskInstance.getId(), is("1"));
+            assertThat(completed.get(1).getExecution().taskInstance.getId(), is("2"));
+            completed.forEach(e -> {
+                assertThat(e.getResult(), is(ExecutionComplete.Result.OK));
+                Instant executionTime = e.getExecution().executionTime;
+                assertThat(e.getTimeDone(), greaterThanOrEqualTo(executionTime));
+                assertThat(Duration.between(executionTime, e.getTimeDone()), TimeMatchers.shorterThan(Duration.ofSeconds(1)));
+            });
+            registry.assertNoFailures();
+        });
+    }
+
+    @Test
+    public void should_not_allow_look_ahead_when_picking_while_fetching() {
+        OneTimeTask<Void> task = TestTasks.oneTime("onetime-a", Void.class, TestTasks.DO_NOTHING);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Scheduler.create(postgres.getDataSource(), task)
+            .pollingStrategy(PollingStrategy.FETCH_AND_PICK_BATCH)
+            .enableLookAhead()
+            .build());
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.github.kagkarlsson.scheduler.functional;
+
+import co.unruly.matchers.TimeMatchers;
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.PreparedStatementSetter;
+import com.github.kagkarlsson.scheduler.EmbeddedPostgresqlExtension;
+import com.github.kagkarlsson.scheduler.NotificationChannel;
+import com.github.kagkarlsson.scheduler.Scheduler;
+import com.github.kagkarlsson.scheduler.SchedulerClient;
+import com.github.kagkarlsson.scheduler.SchedulerName;
+import com.github.kagkarlsson.scheduler.StopSchedulerExtension;
+import com.github.kagkarlsson.scheduler.TestTasks;
+import com.github.kagkarlsson.scheduler.helper.TestableRegistry;
+import com.github.kagkarlsson.scheduler.jdbc.ChangeCounterNotificationChannel;
+import com.github.kagkarlsson.scheduler.jdbc.PostgreSqlNotificationChannel;
+import com.github.kagkarlsson.scheduler.task.ExecutionComplete;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+
+
+public class NotificationChannelTest {
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension postgres = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    @Test
+    public void should_wake_scheduler_when_client_schedules_execution_to_run_directly() {
+        testWakeOnScheduleFromOtherClient(() -> new PostgreSqlNotificationChannel(postgres.getDataSource()));
+    }
+
+    @Test
+    public void should_wake_scheduler_when_change_counter_changes() {
+        new JdbcRunner(postgres.getDataSource()).execute("create table if not exists " + ChangeCounterNotificationChannel.DEFAULT_TABLE_NAME +
+            " (id INT not null, counter BIGINT not null, PRIMARY KEY (id))", PreparedStatementSetter.NOOP);
+        testWakeOnScheduleFromOtherClient(() -> new ChangeCounterNotificationChannel(postgres.getDataSource(),
+            ChangeCounterNotificationChannel.DEFAULT_TABLE_NAME, Duration.ofMillis(100)));
+    }
+
+    @Test
+    public void change_counter_should_be_created_on_first_notification() {
+        new JdbcRunner(postgres.getDataSource()).execute("create table if not exists " + ChangeCounterNotificationChannel.DEFAULT_TABLE_NAME +
+            " (id INT not null, counter BIGINT not null, PRIMARY KEY (id))", PreparedStatementSetter.NOOP);
+        new JdbcRunner(postgres.getDataSource()).execute("delete from " + ChangeCounterNotificationChannel.DEFAULT_TABLE_NAME, PreparedStatementSetter.NOOP);
+
+        ChangeCounterNotificationChannel channel = new ChangeCounterNotificationChannel(postgres.getDataSource());
+        assertThat(channel.readCounter(), is(0L));
+        channel.notifyExecutionsDue();
+        assertThat(channel.readCounter(), is(1L));
+        channel.notifyExecutionsDue();
+        assertThat(channel.readCounter(), is(2L));
+    }
+
+    private void testWakeOnScheduleFromOtherClient(Supplier<NotificationChannel> channelFactory) {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+
+            OneTimeTask<Void> task = TestTasks.oneTime("onetime-a", Void.class, TestTasks.DO_NOTHING);
+            TestableRegistry.Condition completedCondition = TestableRegistry.Conditions.completed(1);
+            TestableRegistry.Condition executeDueCondition = TestableRegistry.Conditions.ranExecuteDue(1);
+            TestableRegistry registry = TestableRegistry.create().waitConditions(executeDueCondition, completedCondition).build();
+
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), task)
+                .pollingInterval(Duration.ofMinutes(1))
+                .notificationChannel(channelFactory.get())
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .statsRegistry(registry)
+                .build();
+            stopScheduler.register(scheduler);
+
+            scheduler.start();
+            executeDueCondition.waitFor();
+            Thread.sleep(200); // let the listener start listening
+
+            // a separate client, as if on another node
+            SchedulerClient client = SchedulerClient.Builder.create(postgres.getDataSource(), task)
+                .notificationChannel(channelFactory.get())
+                .build();
+            Instant now = Instant.now();
+            client.schedule(task.instance("1"), now);
+            completedCondition.waitFor();
+
+            List<ExecutionComplete> completed = registry.getCompleted();
+            assertThat(completed, hasSize(1));
+            assertThat(completed.get(0).getResult(), is(ExecutionComplete.Result.OK));
+            assertThat(Duration.between(now, completed.get(0).getTimeDone()), TimeMatchers.shorterThan(Duration.ofSeconds(2)));
+            registry.assertNoFailures();
+        });
+    }
+
+    @Test
+    public void should_not_allow_invalid_channel_names() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new PostgreSqlNotificationChannel(postgres.getDataSource(), "drop table x;", Duration.ofMillis(100)));
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.kagkarlsson.scheduler.functional;
+
+import com.github.kagkarlsson.scheduler.EmbeddedPostgresqlExtension;
+import com.github.kagkarlsson.scheduler.PollingStrategy;
+import com.github.kagkarlsson.scheduler.TestTasks;
+import com.github.kagkarlsson.scheduler.helper.StatementCountingDataSource;
+import com.github.kagkarlsson.scheduler.helper.TestableRegistry;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import com.github.kagkarlsson.scheduler.testhelper.ManualScheduler;
+import com.github.kagkarlsson.scheduler.testhelper.SettableClock;
+import com.github.kagkarlsson.scheduler.testhelper.TestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the statements sent to the database for executing a batch of one-time tasks, to guard
+ * against extra round-trips sneaking into the hot path.
+ */
+public class StatementsPerExecutionTest {
+
+    private static final int EXECUTIONS = 50;
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension postgres = new EmbeddedPostgresqlExtension();
+
+    private SettableClock clock;
+    private StatementCountingDataSource countingDataSource;
+    private OneTimeTask<Void> task;
+    private TestableRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new SettableClock();
+        countingDataSource = new StatementCountingDataSource(postgres.getDataSource());
+        task = TestTasks.oneTime("onetime-a", Void.class, TestTasks.DO_NOTHING);
+        registry = TestableRegistry.create().build();
+    }
+
+    @Test
+    public void fetch_and_lock_on_execute_should_use_two_statements_per_execution() {
+        ManualScheduler scheduler = createScheduler(PollingStrategy.FETCH_AND_LOCK_ON_EXECUTE);
+        scheduleAndRun(scheduler);
+
+        // getDue + (pick + remove) per execution. Before picks were built locally this was 1 + 3 * n
+        assertEquals(1 + 2 * EXECUTIONS, countingDataSource.getStatementCount());
+    }
+
+    @Test
+    public void fetch_and_pick_batch_should_use_one_statement_per_execution() {
+        ManualScheduler scheduler = createScheduler(PollingStrategy.FETCH_AND_PICK_BATCH);
+        scheduleAndRun(scheduler);
+
+        // getDue + batch pick + remove per execution
+        assertEquals(2 + EXECUTIONS, countingDataSource.getStatementCount());
+    }
+
+    private ManualScheduler createScheduler(PollingStrategy pollingStrategy) {
+        TestHelper.ManualSchedulerBuilder builder = TestHelper.createManualScheduler(countingDataSource.getDataSource(), task)
+            .clock(clock)
+            .statsRegistry(registry)
+            .pollingStrategy(pollingStrategy);
+        builder.threads(EXECUTIONS);
+        return builder.build();
+    }
+
+    private void scheduleAndRun(ManualScheduler scheduler) {
+        IntStream.range(0, EXECUTIONS).forEach(i -> scheduler.schedule(task.instance(String.valueOf(i)), clock.now()));
+        countingDataSource.reset();
+
+        scheduler.runAnyDueExecutions();
+
+        assertEquals(EXECUTIONS, registry.getCompleted().size());
+        registry.assertNoFailures();
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.kagkarlsson.scheduler.functional;
+
+import com.github.kagkarlsson.scheduler.EmbeddedPostgresqlExtension;
+import com.github.kagkarlsson.scheduler.Scheduler;
+import com.github.kagkarlsson.scheduler.SchedulerName;
+import com.github.kagkarlsson.scheduler.StopSchedulerExtension;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import com.github.kagkarlsson.scheduler.task.helper.Tasks;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+
+public class VirtualThreadsTest {
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension postgres = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public StopSchedulerExtension stopScheduler = new StopSchedulerExtension();
+
+    @Test
+    public void should_execute_all_and_respect_max_concurrent_executions() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            final CountDownLatch completed = new CountDownLatch(50);
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+
+            OneTimeTask<Void> task = Tasks.oneTime("blocking")
+                .execute((taskInstance, executionContext) -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    running.decrementAndGet();
+                    completed.countDown();
+                });
+
+            // on JVMs without virtual threads this falls back to the platform thread-pool
+            Scheduler scheduler = Scheduler.create(postgres.getDataSource(), task)
+                .threads(2)
+                .enableVirtualThreads(10)
+                .pollingInterval(Duration.ofMillis(50))
+                .schedulerName(new SchedulerName.Fixed("test"))
+                .build();
+            stopScheduler.register(scheduler);
+
+            Instant now = Instant.now();
+            IntStream.range(0, 50).forEach(i -> scheduler.schedule(task.instance("id" + i), now));
+            scheduler.start();
+
+            completed.await();
+            assertThat(maxRunning.get(), lessThanOrEqualTo(10));
+        });
+    }
+
+    @Test
+    public void should_fail_when_combined_with_external_executor_service() {
+        OneTimeTask<Void> task = Tasks.oneTime("task").execute((taskInstance, executionContext) -> {});
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Scheduler.create(postgres.getDataSource(), task)
+            .executorService(Executors.newSingleThreadExecutor())
+            .enableVirtualThreads(10)
+            .build());
+    }
+
+}
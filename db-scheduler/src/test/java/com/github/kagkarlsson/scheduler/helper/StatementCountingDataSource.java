@@ -0,0 +1,69 @@
+package com.github.kagkarlsson.scheduler.helper;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps a DataSource and counts the number of statements prepared through its connections.
+ */
+public class StatementCountingDataSource {
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final DataSource dataSource;
+
+    public StatementCountingDataSource(DataSource delegate) {
+        this.dataSource = proxy(DataSource.class, delegate, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("getConnection")) {
+                return countingConnection((Connection) result);
+            }
+            return result;
+        });
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public int getStatementCount() {
+        return statements.get();
+    }
+
+    public void reset() {
+        statements.set(0);
+    }
+
+    private Connection countingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            if (method.getName().equals("prepareStatement")
+                || method.getName().equals("prepareCall")
+                || method.getName().equals("createStatement")) {
+                statements.incrementAndGet();
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, TargetInvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+            (proxy, method, args) -> handler.invoke(target, method, args));
+    }
+
+    private interface TargetInvocationHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.kagkarlsson.scheduler.jdbc;
+
+import com.github.kagkarlsson.jdbc.JdbcRunner;
+import com.github.kagkarlsson.jdbc.RowMapper;
+import com.github.kagkarlsson.scheduler.CompactSchema;
+import com.github.kagkarlsson.scheduler.EmbeddedPostgresqlExtension;
+import com.github.kagkarlsson.scheduler.HsqlTestDatabaseExtension;
+import com.github.kagkarlsson.scheduler.JdbcTaskRepository;
+import com.github.kagkarlsson.scheduler.SchedulerName;
+import com.github.kagkarlsson.scheduler.TablePartitioning;
+import com.github.kagkarlsson.scheduler.TaskResolver;
+import com.github.kagkarlsson.scheduler.TestTasks;
+import com.github.kagkarlsson.scheduler.stats.StatsRegistry;
+import com.github.kagkarlsson.scheduler.task.Execution;
+import com.github.kagkarlsson.scheduler.task.helper.OneTimeTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static com.github.kagkarlsson.jdbc.PreparedStatementSetter.NOOP;
+import static com.github.kagkarlsson.scheduler.JdbcTaskRepository.DEFAULT_TABLE_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchemaManagerTest {
+
+    private static final String TABLE_NAME = "schema_manager_tasks";
+
+    @RegisterExtension
+    public EmbeddedPostgresqlExtension postgres = new EmbeddedPostgresqlExtension();
+    @RegisterExtension
+    public HsqlTestDatabaseExtension hsql = new HsqlTestDatabaseExtension();
+
+    @AfterEach
+    public void dropTable() {
+        new JdbcRunner(postgres.getDataSource()).execute("drop table if exists " + TABLE_NAME, NOOP);
+    }
+
+    @Test
+    public void should_create_table_and_indexes_for_postgresql() {
+        assertCreatesUsableTable(postgres.getDataSource());
+    }
+
+    @Test
+    public void should_create_table_and_indexes_for_hsql() {
+        assertCreatesUsableTable(hsql.getDataSource());
+    }
+
+    @Test
+    public void should_create_compact_table_for_hsql() {
+        final DataSource dataSource = hsql.getDataSource();
+        new SchemaManager(dataSource, TABLE_NAME, CompactSchema.enabled()).createIfNotExists();
+
+        final OneTimeTask<Void> task = TestTasks.oneTime("OneTime", Void.class, TestTasks.DO_NOTHING);
+        final JdbcTaskRepository taskRepository = new JdbcTaskRepository(dataSource, new AutodetectJdbcCustomization(dataSource), TABLE_NAME,
+            new TaskResolver(StatsRegistry.NOOP, task), new SchedulerName.Fixed("scheduler1"), JdbcTaskRepository.Settings.create().compactSchema(CompactSchema.enabled()));
+        final Instant now = Instant.now();
+        assertTrue(taskRepository.createIfNotExists(new Execution(now, task.instance("id1"))));
+        assertThat(taskRepository.getDue(now, 10), hasSize(1));
+        assertThat(new JdbcRunner(dataSource).query("select execution_time from " + TABLE_NAME, NOOP,
+            (RowMapper<Long>) rs -> rs.getLong(1)), contains(now.toEpochMilli()));
+    }
+
+    @Test
+    public void should_create_partitioned_table_definitions() {
+        final String postgresql = SchemaManager.Schema.POSTGRESQL.createTable(TABLE_NAME);
+        assertThat(SchemaManager.Schema.POSTGRESQL.createPartitionedTable(postgresql, TABLE_NAME, TablePartitioning.byExecutionTime(Duration.ofDays(1)), false), contains(
+            postgresql.replace("PRIMARY KEY (task_name, task_instance))", "PRIMARY KEY (task_name, task_instance, execution_time)) partition by range (execution_time)"),
+            "create table " + TABLE_NAME + "_default partition of " + TABLE_NAME + " default"));
+        assertThat(SchemaManager.Schema.POSTGRESQL.createPartitionedTable(postgresql, TABLE_NAME, TablePartitioning.byTaskName(), false).get(0),
+            is(postgresql + " partition by list (task_name)"));
+
+        final String oracle = SchemaManager.Schema.ORACLE.createTable(TABLE_NAME);
+        assertThat(SchemaManager.Schema.ORACLE.createPartitionedTable(oracle, TABLE_NAME, TablePartitioning.byExecutionTime(Duration.ofDays(1)), false), contains(
+            oracle + " partition by range (execution_time) interval (NUMTODSINTERVAL(86400, 'SECOND')) " +
+                "(partition " + TABLE_NAME + "_p0 values less than (TIMESTAMP '1970-01-01 00:00:00')) enable row movement"));
+        assertThat(SchemaManager.Schema.ORACLE.createPartitionedTable(oracle, TABLE_NAME, TablePartitioning.byExecutionTime(Duration.ofHours(6)), true).get(0),
+            endsWith(" interval (21600000) (partition " + TABLE_NAME + "_p0 values less than (0)) enable row movement"));
+        assertThat(SchemaManager.Schema.ORACLE.createPartitionedTable(oracle, TABLE_NAME, TablePartitioning.byTaskName(), false).get(0),
+            endsWith(" partition by list (task_name) automatic (partition " + TABLE_NAME + "_p0 values ('-'))"));
+        assertThat(SchemaManager.Schema.ORACLE.partitionedIndex("create index i on t (picked, execution_time)"), endsWith(" local"));
+
+        assertThrows(UnsupportedOperationException.class, () -> new SchemaManager(hsql.getDataSource(), TABLE_NAME, CompactSchema.DISABLED, TablePartitioning.byTaskName()).createIfNotExists());
+    }
+
+    @Test
+    public void should_report_missing_indexes() {
+        new JdbcRunner(postgres.getDataSource()).execute("create table " + TABLE_NAME + " (" +
+            "task_name text not null, task_instance text not null, execution_time timestamp with time zone not null, " +
+            "last_heartbeat timestamp with time zone, PRIMARY KEY (task_name, task_instance))", NOOP);
+        final SchemaManager schemaManager = new SchemaManager(postgres.getDataSource(), TABLE_NAME);
+        assertTrue(schemaManager.tableExists());
+        assertThat(schemaManager.getMissingIndexColumns(), contains(SchemaManager.EXECUTION_TIME, SchemaManager.LAST_HEARTBEAT));
+
+        new JdbcRunner(postgres.getDataSource()).execute("create index " + TABLE_NAME + "_idx on " + TABLE_NAME + " (execution_time)", NOOP);
+        assertThat(schemaManager.getMissingIndexColumns(), contains(SchemaManager.LAST_HEARTBEAT));
+    }
+
+    @Test
+    public void should_not_count_trailing_primary_key_column_of_partitioned_layout_as_index() {
+        for (DataSource dataSource : Arrays.asList(postgres.getDataSource(), hsql.getDataSource())) {
+            // same primary key as a table partitioned by execution-time, created unpartitioned for older test databases
+            new JdbcRunner(dataSource).execute("create table " + TABLE_NAME + " (" +
+                "task_name varchar(100) not null, task_instance varchar(100) not null, execution_time timestamp with time zone not null, " +
+                "picked boolean not null, last_heartbeat timestamp with time zone, PRIMARY KEY (task_name, task_instance, execution_time))", NOOP);
+            final SchemaManager schemaManager = new SchemaManager(dataSource, TABLE_NAME);
+            assertThat(schemaManager.getMissingIndexColumns(), contains(SchemaManager.EXECUTION_TIME, SchemaManager.LAST_HEARTBEAT));
+
+            new JdbcRunner(dataSource).execute("create index " + TABLE_NAME + "_hb_idx on " + TABLE_NAME + " (picked, last_heartbeat)", NOOP);
+            new JdbcRunner(dataSource).execute("create index " + TABLE_NAME + "_name_idx on " + TABLE_NAME + " (task_name, execution_time)", NOOP);
+            assertThat(schemaManager.getMissingIndexColumns(), contains(SchemaManager.EXECUTION_TIME));
+        }
+    }
+
+    @Test
+    public void shipped_table_definitions_should_include_indexes() {
+        assertThat(new SchemaManager(postgres.getDataSource(), DEFAULT_TABLE_NAME).getMissingIndexColumns(), empty());
+        assertThat(new SchemaManager(hsql.getDataSource(), DEFAULT_TABLE_NAME).getMissingIndexColumns(), empty());
+    }
+
+    private void assertCreatesUsableTable(DataSource dataSource) {
+        final SchemaManager schemaManager = new SchemaManager(dataSource, TABLE_NAME);
+        assertFalse(schemaManager.tableExists());
+        schemaManager.warnIfIncomplete();
+
+        schemaManager.createIfNotExists();
+        assertTrue(schemaManager.tableExists());
+        assertThat(schemaManager.getMissingIndexColumns(), empty());
+
+        // no-op when already created
+        schemaManager.createIfNotExists();
+
+        final OneTimeTask<Void> task = TestTasks.oneTime("OneTime", Void.class, TestTasks.DO_NOTHING);
+        final JdbcTaskRepository taskRepository = new JdbcTaskRepository(dataSource, TABLE_NAME,
+            new TaskResolver(StatsRegistry.NOOP, task), new SchedulerName.Fixed("scheduler1"));
+        final Instant now = Instant.now();
+        assertTrue(taskRepository.createIfNotExists(new Execution(now, task.instance("id1"))));
+        assertThat(taskRepository.getDue(now, 10), hasSize(1));
+    }
+}
@@ -10,5 +10,11 @@ create table test.scheduled_tasks (
   consecutive_failures INT,
   last_heartbeat timestamp(6) null,
   version BIGINT not null,
+  partition_number INT,
+  priority INT,
   PRIMARY KEY (task_name, task_instance)
-)
+);
+
+create index scheduled_tasks_exec_time_idx on test.scheduled_tasks (picked, execution_time);
+create index scheduled_tasks_heartbeat_idx on test.scheduled_tasks (picked, last_heartbeat);
+create index scheduled_tasks_priority_idx on test.scheduled_tasks (priority desc, execution_time);
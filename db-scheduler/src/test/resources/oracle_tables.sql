@@ -10,5 +10,11 @@ create table scheduled_tasks (
     consecutive_failures NUMBER(19,0),
   last_heartbeat TIMESTAMP(6),
     version NUMBER(19,0),
+    partition_number NUMBER(10,0),
+    priority NUMBER(10,0),
     PRIMARY KEY (task_name, task_instance)
 );
+
+create index scheduled_tasks_exec_time_idx on scheduled_tasks (picked, execution_time);
+create index scheduled_tasks_heartbeat_idx on scheduled_tasks (picked, last_heartbeat);
+create index scheduled_tasks_priority_idx on scheduled_tasks (priority desc, execution_time);
@@ -10,5 +10,11 @@ create table scheduled_tasks (
   consecutive_failures INT,
   last_heartbeat timestamp with time zone,
   version BIGINT not null,
+  partition_number INT,
+  priority INT,
   PRIMARY KEY (task_name, task_instance)
-)
\ No newline at end of file
+);
+
+create index scheduled_tasks_exec_time_idx on scheduled_tasks (execution_time) where picked = false;
+create index scheduled_tasks_heartbeat_idx on scheduled_tasks (last_heartbeat) where picked = true;
+create index scheduled_tasks_priority_idx on scheduled_tasks (priority desc nulls last, execution_time) where picked = false;